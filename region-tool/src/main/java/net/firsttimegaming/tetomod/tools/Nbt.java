@@ -0,0 +1,337 @@
+package net.firsttimegaming.tetomod.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal reader and writer for Minecraft's named binary tag format.
+ * <p>
+ * Tags are read into plain Java values so the tool needs no Minecraft classes:
+ * compounds become insertion-ordered maps, lists become {@link ListTag}s, arrays stay
+ * primitive arrays and numbers are boxed with their exact width. Writing a value read by
+ * this class reproduces the original tag types.
+ */
+public final class Nbt {
+
+    // ==================== Class Variables ====================
+
+    /** Tag type marking the end of a compound. */
+    public static final byte TAG_END = 0;
+
+    /** Tag type of a signed byte, also used for booleans. */
+    public static final byte TAG_BYTE = 1;
+
+    /** Tag type of a short. */
+    public static final byte TAG_SHORT = 2;
+
+    /** Tag type of an int. */
+    public static final byte TAG_INT = 3;
+
+    /** Tag type of a long. */
+    public static final byte TAG_LONG = 4;
+
+    /** Tag type of a float. */
+    public static final byte TAG_FLOAT = 5;
+
+    /** Tag type of a double. */
+    public static final byte TAG_DOUBLE = 6;
+
+    /** Tag type of a byte array. */
+    public static final byte TAG_BYTE_ARRAY = 7;
+
+    /** Tag type of a string. */
+    public static final byte TAG_STRING = 8;
+
+    /** Tag type of a list. */
+    public static final byte TAG_LIST = 9;
+
+    /** Tag type of a compound. */
+    public static final byte TAG_COMPOUND = 10;
+
+    /** Tag type of an int array. */
+    public static final byte TAG_INT_ARRAY = 11;
+
+    /** Tag type of a long array. */
+    public static final byte TAG_LONG_ARRAY = 12;
+
+    /** Maximum nesting depth, matching the game's limit, so corrupt data cannot overflow the stack. */
+    private static final int MAX_DEPTH = 512;
+
+    // ==================== Constructor ====================
+
+    private Nbt() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Reads a root compound, discarding its name.
+     *
+     * @param in the tag source
+     * @return the root compound
+     * @throws IOException if the data is truncated or the root is not a compound
+     */
+    public static Map<String, Object> read(DataInput in) throws IOException {
+        byte type = in.readByte();
+        if (type != TAG_COMPOUND) {
+            throw new IOException("Root tag is not a compound but type " + type);
+        }
+        in.readUTF();
+        return readCompound(in, 0);
+    }
+
+    /**
+     * Writes a root compound with an empty name, as the game does for chunks.
+     *
+     * @param out  the tag destination
+     * @param root the root compound
+     * @throws IOException if writing fails
+     */
+    public static void write(DataOutput out, Map<String, Object> root) throws IOException {
+        out.writeByte(TAG_COMPOUND);
+        out.writeUTF("");
+        writeCompound(out, root);
+    }
+
+    /**
+     * Serializes a root compound to bytes.
+     *
+     * @param root the root compound
+     * @return the uncompressed tag bytes
+     * @throws IOException if a value cannot be written
+     */
+    public static byte[] toBytes(Map<String, Object> root) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(new DataOutputStream(bytes), root);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Gets a compound entry as an int, accepting any integral tag type.
+     *
+     * @param compound the compound
+     * @param key      the entry key
+     * @param fallback the value to use if the entry is absent or not integral
+     * @return the entry value
+     */
+    public static int getInt(Map<String, Object> compound, String key, int fallback) {
+        Object value = compound.get(key);
+        return value instanceof Number number && !(value instanceof Float || value instanceof Double)
+                ? number.intValue()
+                : fallback;
+    }
+
+    /**
+     * Gets a compound entry as a nested compound.
+     *
+     * @param compound the compound
+     * @param key      the entry key
+     * @return the nested compound, or null if the entry is absent or not a compound
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> getCompound(Map<String, Object> compound, String key) {
+        return compound.get(key) instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
+    }
+
+    /**
+     * Reads the entries of a compound up to its end tag.
+     *
+     * @param in    the tag source
+     * @param depth the current nesting depth
+     * @return the compound entries in file order
+     */
+    private static Map<String, Object> readCompound(DataInput in, int depth) throws IOException {
+        Map<String, Object> compound = new LinkedHashMap<>();
+        byte type;
+        while ((type = in.readByte()) != TAG_END) {
+            String name = in.readUTF();
+            compound.put(name, readPayload(in, type, depth + 1));
+        }
+        return compound;
+    }
+
+    /**
+     * Reads the payload of a tag of the given type.
+     *
+     * @param in    the tag source
+     * @param type  the tag type
+     * @param depth the nesting depth of the tag
+     * @return the tag value
+     */
+    private static Object readPayload(DataInput in, byte type, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tag nested deeper than " + MAX_DEPTH);
+        }
+
+        return switch (type) {
+            case TAG_BYTE -> in.readByte();
+            case TAG_SHORT -> in.readShort();
+            case TAG_INT -> in.readInt();
+            case TAG_LONG -> in.readLong();
+            case TAG_FLOAT -> in.readFloat();
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_BYTE_ARRAY -> {
+                byte[] array = new byte[readLength(in)];
+                in.readFully(array);
+                yield array;
+            }
+            case TAG_STRING -> in.readUTF();
+            case TAG_LIST -> {
+                byte elementType = in.readByte();
+                int length = readLength(in);
+                List<Object> values = new ArrayList<>(Math.min(length, 1024));
+                for (int i = 0; i < length; i++) {
+                    values.add(readPayload(in, elementType, depth + 1));
+                }
+                yield new ListTag(elementType, values);
+            }
+            case TAG_COMPOUND -> readCompound(in, depth);
+            case TAG_INT_ARRAY -> {
+                int[] array = new int[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                yield array;
+            }
+            case TAG_LONG_ARRAY -> {
+                long[] array = new long[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readLong();
+                }
+                yield array;
+            }
+            default -> throw new IOException("Unknown tag type " + type);
+        };
+    }
+
+    /**
+     * Reads a non-negative array or list length.
+     *
+     * @param in the tag source
+     * @return the length
+     */
+    private static int readLength(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative tag length " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Writes the entries of a compound followed by its end tag.
+     *
+     * @param out      the tag destination
+     * @param compound the compound entries
+     */
+    private static void writeCompound(DataOutput out, Map<String, Object> compound) throws IOException {
+        for (Map.Entry<String, Object> entry : compound.entrySet()) {
+            out.writeByte(typeOf(entry.getValue()));
+            out.writeUTF(entry.getKey());
+            writePayload(out, entry.getValue());
+        }
+        out.writeByte(TAG_END);
+    }
+
+    /**
+     * Writes the payload of a tag value.
+     *
+     * @param out   the tag destination
+     * @param value the tag value
+     */
+    @SuppressWarnings("unchecked")
+    private static void writePayload(DataOutput out, Object value) throws IOException {
+        if (value instanceof Byte b) {
+            out.writeByte(b);
+        } else if (value instanceof Short s) {
+            out.writeShort(s);
+        } else if (value instanceof Integer i) {
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeLong(l);
+        } else if (value instanceof Float f) {
+            out.writeFloat(f);
+        } else if (value instanceof Double d) {
+            out.writeDouble(d);
+        } else if (value instanceof byte[] array) {
+            out.writeInt(array.length);
+            out.write(array);
+        } else if (value instanceof String s) {
+            out.writeUTF(s);
+        } else if (value instanceof ListTag list) {
+            out.writeByte(list.values().isEmpty() ? TAG_END : list.elementType());
+            out.writeInt(list.values().size());
+            for (Object element : list.values()) {
+                writePayload(out, element);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            writeCompound(out, (Map<String, Object>) map);
+        } else if (value instanceof int[] array) {
+            out.writeInt(array.length);
+            for (int element : array) {
+                out.writeInt(element);
+            }
+        } else if (value instanceof long[] array) {
+            out.writeInt(array.length);
+            for (long element : array) {
+                out.writeLong(element);
+            }
+        } else {
+            throw new IOException("Cannot write " + value.getClass().getName() + " as a tag");
+        }
+    }
+
+    /**
+     * Gets the tag type a value is written as.
+     *
+     * @param value the tag value
+     * @return the tag type
+     */
+    private static byte typeOf(Object value) throws IOException {
+        if (value instanceof Byte) {
+            return TAG_BYTE;
+        } else if (value instanceof Short) {
+            return TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return TAG_INT;
+        } else if (value instanceof Long) {
+            return TAG_LONG;
+        } else if (value instanceof Float) {
+            return TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return TAG_DOUBLE;
+        } else if (value instanceof byte[]) {
+            return TAG_BYTE_ARRAY;
+        } else if (value instanceof String) {
+            return TAG_STRING;
+        } else if (value instanceof ListTag) {
+            return TAG_LIST;
+        } else if (value instanceof Map<?, ?>) {
+            return TAG_COMPOUND;
+        } else if (value instanceof int[]) {
+            return TAG_INT_ARRAY;
+        } else if (value instanceof long[]) {
+            return TAG_LONG_ARRAY;
+        }
+        throw new IOException("Cannot write " + value.getClass().getName() + " as a tag");
+    }
+
+    // ==================== Inner Classes ====================
+
+    /**
+     * A list tag, keeping its element type so empty lists round-trip unchanged.
+     *
+     * @param elementType the tag type of the elements
+     * @param values      the element values
+     */
+    public record ListTag(byte elementType, List<Object> values) {
+    }
+}
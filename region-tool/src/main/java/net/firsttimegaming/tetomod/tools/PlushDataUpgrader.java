@@ -0,0 +1,242 @@
+package net.firsttimegaming.tetomod.tools;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Offline copy of the plush block entity's NBT upgrade chain.
+ * <p>
+ * Mirrors {@code PlushBlockEntity.upgradeData} step for step, operating on the plain
+ * values produced by {@link Nbt}. The shared states of linked plush networks use the
+ * same layout and go through the same steps. When a data version is added to the mod, the same
+ * step has to be added here so migrated worlds load without running the in-game upgrade.
+ */
+public final class PlushDataUpgrader {
+
+    // ==================== Class Variables ====================
+
+    /** Registry ID of the plush block entity. */
+    public static final String BLOCK_ENTITY_ID = "tetomod:plush_block_entity";
+
+    /** The data version the mod currently writes. */
+    public static final int CURRENT_DATA_VERSION = 3;
+
+    /** The version assumed for tags without a data version. */
+    public static final int LEGACY_DATA_VERSION = 1;
+
+    /** Number of tiers, matching {@code PlushBlockEntity.MAX_TIER}. */
+    public static final int MAX_TIER = 5;
+
+    /** Number of inventory slots, matching {@code PlushBlockEntity.INVENTORY_SIZE}. */
+    private static final int INVENTORY_SIZE = 7;
+
+    /** Number of inventory slots stored by data version 2. */
+    private static final int VERSION_2_INVENTORY_SIZE = 4;
+
+    /** Upgrade steps keyed by the data version they upgrade from. */
+    private static final Map<Integer, UnaryOperator<Map<String, Object>>> UPGRADES = Map.of(
+            1, PlushDataUpgrader::upgradeLegacyData,
+            2, PlushDataUpgrader::upgradeQuestSlots
+    );
+
+    /** NBT key for the data version. */
+    public static final String NBT_DATA_VERSION = "DataVersion";
+
+    /** NBT key marking a pristine plush. */
+    public static final String NBT_PRISTINE = "Pristine";
+
+    /** NBT key for the inventory data. */
+    private static final String NBT_INVENTORY = "inventory";
+
+    /** NBT key for the slot count within the inventory data. */
+    private static final String NBT_INVENTORY_SIZE = "Size";
+
+    /** NBT key for the selected tier. */
+    private static final String NBT_SELECTED_TIER = "SelectedTier";
+
+    /** NBT key for the per-tier quest slot 0 requirements in data version 2 and earlier. */
+    private static final String NBT_CACHED_REWARDS = "CachedRewards";
+
+    /** NBT key for the requirements of every rolled quest slot. */
+    private static final String NBT_QUESTS = "Quests";
+
+    /** NBT key for the tier of a quest. */
+    private static final String NBT_QUEST_TIER = "Tier";
+
+    /** NBT key for the quest slot of a quest. */
+    private static final String NBT_QUEST_SLOT = "Slot";
+
+    /** NBT key for the tier completion counts. */
+    public static final String NBT_TIER_COMPLETIONS = "TierCompletions";
+
+    /** NBT key for the maximum unlocked tier. */
+    public static final String NBT_MAX_UNLOCKED_TIER = "MaxUnlockedTier";
+
+    /** NBT key prefix for per-tier entries. */
+    public static final String NBT_TIER_PREFIX = "tier_";
+
+    /** NBT key for the weight of a cached reward. */
+    private static final String NBT_ITEM_WEIGHT = "weight";
+
+    /** NBT key for the last reroll time. */
+    private static final String NBT_LAST_REOLL_TIME = "LastRerollTime";
+
+    // ==================== Constructor ====================
+
+    private PlushDataUpgrader() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Gets the data version of a plush tag.
+     *
+     * @param tag the block entity tag
+     * @return the data version, {@link #LEGACY_DATA_VERSION} if absent
+     */
+    public static int getDataVersion(Map<String, Object> tag) {
+        return Nbt.getInt(tag, NBT_DATA_VERSION, LEGACY_DATA_VERSION);
+    }
+
+    /**
+     * Checks if a plush tag is the pristine marker.
+     *
+     * @param tag the block entity tag
+     * @return true if the plush has never been traded with
+     */
+    public static boolean isPristine(Map<String, Object> tag) {
+        return Nbt.getInt(tag, NBT_PRISTINE, 0) != 0;
+    }
+
+    /**
+     * Upgrades a plush tag in place to {@link #CURRENT_DATA_VERSION}.
+     *
+     * @param tag the block entity tag
+     * @return true if the tag was changed
+     * @throws IllegalStateException if an upgrade step is missing
+     */
+    public static boolean upgrade(Map<String, Object> tag) {
+        int version = getDataVersion(tag);
+        if (version >= CURRENT_DATA_VERSION) {
+            return false;
+        }
+
+        while (version < CURRENT_DATA_VERSION) {
+            UnaryOperator<Map<String, Object>> step = UPGRADES.get(version);
+            if (step == null) {
+                throw new IllegalStateException("No upgrade from plush data version " + version);
+            }
+            step.apply(tag);
+            version++;
+        }
+
+        tag.put(NBT_DATA_VERSION, CURRENT_DATA_VERSION);
+        return true;
+    }
+
+    /**
+     * Writes the defaults the original layout left implicit.
+     *
+     * @param tag the version 1 tag
+     * @return the version 2 tag
+     */
+    private static Map<String, Object> upgradeLegacyData(Map<String, Object> tag) {
+        if (isPristine(tag)) {
+            return tag;
+        }
+
+        growInventory(tag, VERSION_2_INVENTORY_SIZE);
+
+        tag.putIfAbsent(NBT_SELECTED_TIER, 0);
+        tag.putIfAbsent(NBT_LAST_REOLL_TIME, 0L);
+        tag.putIfAbsent(NBT_MAX_UNLOCKED_TIER, 0);
+
+        Map<String, Object> cache = compound(tag, NBT_CACHED_REWARDS);
+        for (Object reward : cache.values()) {
+            if (reward instanceof Map<?, ?>) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> rewardTag = (Map<String, Object>) reward;
+                rewardTag.putIfAbsent(NBT_ITEM_WEIGHT, 1);
+            }
+        }
+        compound(tag, NBT_TIER_COMPLETIONS);
+
+        return tag;
+    }
+
+    /**
+     * Adds the inventory slots for additional quests and moves the per-tier cached
+     * rewards into quest slot 0.
+     *
+     * @param tag the version 2 tag
+     * @return the version 3 tag
+     */
+    private static Map<String, Object> upgradeQuestSlots(Map<String, Object> tag) {
+        if (isPristine(tag)) {
+            return tag;
+        }
+
+        growInventory(tag, INVENTORY_SIZE);
+
+        Map<String, Object> cache = Nbt.getCompound(tag, NBT_CACHED_REWARDS);
+        List<Object> quests = new ArrayList<>();
+        if (cache != null) {
+            for (Map.Entry<String, Object> e : cache.entrySet()) {
+                if (!e.getKey().startsWith(NBT_TIER_PREFIX) || !(e.getValue() instanceof Map<?, ?>)) {
+                    continue;
+                }
+                try {
+                    int tier = Integer.parseInt(e.getKey().substring(NBT_TIER_PREFIX.length()));
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> quest = new LinkedHashMap<>((Map<String, Object>) e.getValue());
+                    quest.put(NBT_QUEST_TIER, tier);
+                    quest.put(NBT_QUEST_SLOT, 0);
+                    quests.add(quest);
+                } catch (NumberFormatException ignored) {
+                    // Malformed keys were dropped by the mod on load as well
+                }
+            }
+        }
+        tag.remove(NBT_CACHED_REWARDS);
+        tag.put(NBT_QUESTS, new Nbt.ListTag(Nbt.TAG_COMPOUND, quests));
+
+        return tag;
+    }
+
+    /**
+     * Raises the stored inventory size, since the mod resizes the inventory to it on load.
+     * Network states share the layout but have no inventory, and are left without one.
+     *
+     * @param tag  the block entity tag
+     * @param size the minimum slot count
+     */
+    private static void growInventory(Map<String, Object> tag, int size) {
+        Map<String, Object> inventory = Nbt.getCompound(tag, NBT_INVENTORY);
+        if (inventory == null) {
+            return;
+        }
+        if (Nbt.getInt(inventory, NBT_INVENTORY_SIZE, 0) < size) {
+            inventory.put(NBT_INVENTORY_SIZE, size);
+        }
+    }
+
+    /**
+     * Gets a nested compound, adding an empty one if it is absent.
+     *
+     * @param tag the parent compound
+     * @param key the entry key
+     * @return the nested compound
+     */
+    private static Map<String, Object> compound(Map<String, Object> tag, String key) {
+        Map<String, Object> nested = Nbt.getCompound(tag, key);
+        if (nested == null) {
+            nested = new LinkedHashMap<>();
+            tag.put(key, nested);
+        }
+        return nested;
+    }
+}
@@ -0,0 +1,237 @@
+package net.firsttimegaming.tetomod.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A region ({@code .mca}) file opened for reading through a memory mapping.
+ * <p>
+ * A region file starts with a table of 1024 chunk locations, each a sector offset and
+ * sector count, followed by 1024 timestamps. Each chunk is stored as a length, a
+ * compression type and the compressed tag. Chunks are read straight from the mapping
+ * without copying the file. Rewritten chunks are always appended to fresh sectors at the
+ * end of the file and flushed before the location table points at them, so a crash
+ * mid-write leaves the old chunk intact. The game reuses the abandoned sectors once it
+ * saves the region again.
+ */
+public final class RegionFile implements Closeable {
+
+    // ==================== Class Variables ====================
+
+    /** Number of chunks in a region file. */
+    public static final int CHUNK_COUNT = 32 * 32;
+
+    /** Size of a sector, the allocation unit of region files. */
+    private static final int SECTOR_BYTES = 4096;
+
+    /** Number of sectors taken by the location and timestamp tables. */
+    private static final int HEADER_SECTORS = 2;
+
+    /** Size of the chunk header: a 4-byte length followed by the compression type. */
+    private static final int CHUNK_HEADER_BYTES = 5;
+
+    /** Largest sector count a location entry can hold. */
+    private static final int MAX_SECTOR_COUNT = 0xFF;
+
+    /** Compression type of gzip-compressed chunks. */
+    private static final byte COMPRESSION_GZIP = 1;
+
+    /** Compression type of zlib-compressed chunks, the game's default. */
+    private static final byte COMPRESSION_ZLIB = 2;
+
+    /** Compression type of uncompressed chunks. */
+    private static final byte COMPRESSION_NONE = 3;
+
+    /** Flag set on the compression type when the chunk is stored in a separate .mcc file. */
+    private static final int EXTERNAL_FLAG = 0x80;
+
+    /** The region file path. */
+    private final Path path;
+
+    /** The open file channel. */
+    private final FileChannel channel;
+
+    /** Read-only mapping of the file as it was when opened. */
+    private final MappedByteBuffer mapping;
+
+    /** Sector index at which the next appended chunk will be written. */
+    private int nextFreeSector;
+
+    /** Whether a chunk has been written, so the file has to be synced before closing. */
+    private boolean written;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Opens a region file.
+     *
+     * @param path     the region file
+     * @param writable whether chunks may be rewritten
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public RegionFile(Path path, boolean writable) throws IOException {
+        this.path = path;
+        this.channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        this.mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        this.nextFreeSector = (int) ((channel.size() + SECTOR_BYTES - 1) / SECTOR_BYTES);
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Checks if the file is too small to hold the header, as happens for freshly created regions.
+     *
+     * @return true if the file has no readable header
+     */
+    public boolean isEmpty() {
+        return mapping.capacity() < HEADER_SECTORS * SECTOR_BYTES;
+    }
+
+    /**
+     * Opens a stream over a chunk's uncompressed tag.
+     *
+     * @param index the chunk index within the region (0-1023)
+     * @return the tag stream, or null if the chunk has never been saved
+     * @throws IOException if the chunk is stored externally, compressed unsupportedly, or truncated
+     */
+    public DataInputStream openChunk(int index) throws IOException {
+        int location = mapping.getInt(index * Integer.BYTES);
+        if (location == 0) {
+            return null;
+        }
+
+        long start = (long) (location >>> 8) * SECTOR_BYTES;
+        if (start + CHUNK_HEADER_BYTES > mapping.capacity()) {
+            throw new IOException("Chunk " + index + " of " + path.getFileName() + " points past the end of the file");
+        }
+
+        int length = mapping.getInt((int) start);
+        byte compression = mapping.get((int) start + Integer.BYTES);
+        if ((compression & EXTERNAL_FLAG) != 0) {
+            throw new IOException("Chunk " + index + " of " + path.getFileName() + " is stored externally");
+        }
+        if (length <= 1 || start + Integer.BYTES + length > mapping.capacity()) {
+            throw new IOException("Chunk " + index + " of " + path.getFileName() + " is truncated");
+        }
+
+        ByteBuffer payload = mapping.slice((int) start + CHUNK_HEADER_BYTES, length - 1);
+        InputStream raw = new ByteBufferInputStream(payload);
+        InputStream decompressed = switch (compression) {
+            case COMPRESSION_GZIP -> new GZIPInputStream(raw);
+            case COMPRESSION_ZLIB -> new InflaterInputStream(raw);
+            case COMPRESSION_NONE -> raw;
+            default -> throw new IOException("Chunk " + index + " of " + path.getFileName()
+                    + " uses unsupported compression " + compression);
+        };
+        return new DataInputStream(decompressed);
+    }
+
+    /**
+     * Rewrites a chunk with zlib compression.
+     *
+     * @param index the chunk index within the region (0-1023)
+     * @param tag   the uncompressed chunk tag
+     * @throws IOException if the chunk does not fit a location entry or writing fails
+     */
+    public void writeChunk(int index, byte[] tag) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(tag.length / 2);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed)) {
+            out.write(tag);
+        }
+
+        int length = compressed.size() + 1;
+        int sectors = (Integer.BYTES + length + SECTOR_BYTES - 1) / SECTOR_BYTES;
+        if (sectors > MAX_SECTOR_COUNT) {
+            throw new IOException("Chunk " + index + " of " + path.getFileName() + " is too large to store inline");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(sectors * SECTOR_BYTES);
+        buffer.putInt(length);
+        buffer.put(COMPRESSION_ZLIB);
+        buffer.put(compressed.toByteArray());
+        buffer.rewind();
+
+        // Never overwrite the old copy: the location entry moves only once the new one is on disk
+        int sector = nextFreeSector;
+        nextFreeSector += sectors;
+        writeFully(buffer, (long) sector * SECTOR_BYTES);
+        channel.force(false);
+
+        writeFully(ByteBuffer.allocate(Integer.BYTES).putInt(0, (sector << 8) | sectors),
+                (long) index * Integer.BYTES);
+        written = true;
+    }
+
+    /**
+     * Writes a whole buffer at a file position.
+     *
+     * @param buffer   the data to write
+     * @param position the file position
+     */
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // ==================== Overridden Methods ====================
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (written) {
+                channel.force(true);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ==================== Inner Classes ====================
+
+    /**
+     * Input stream reading from a slice of the mapping without copying it.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        /** The remaining bytes to read. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructs a new ByteBufferInputStream.
+         *
+         * @param buffer the bytes to read
+         */
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package net.firsttimegaming.tetomod.tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Command-line tool that scans, and optionally migrates, plush data in a world's region
+ * files without a running server.
+ * <p>
+ * Usage: {@code region-tool <scan|migrate> <world directory> [threads]}. Every {@code .mca}
+ * file in a {@code region} directory of the overworld or any dimension is processed by
+ * its own worker. {@code scan} reports statistics about the plush block entities found.
+ * {@code migrate} additionally upgrades outdated plush tags to the current data version
+ * and writes the affected chunks back in place. The shared states of linked plush
+ * networks, saved per dimension in {@code data/tetomod_plush_networks.dat}, are scanned
+ * and upgraded the same way. Back up the world before migrating, and
+ * never run the tool on a world that is open in a server or client.
+ */
+public final class RegionTool {
+
+    // ==================== Class Variables ====================
+
+    /** Name of directories holding chunk region files. */
+    private static final String REGION_DIR = "region";
+
+    /** File name suffix of region files. */
+    private static final String REGION_SUFFIX = ".mca";
+
+    /** Name of directories holding saved data files. */
+    private static final String DATA_DIR = "data";
+
+    /** File name of a dimension's saved plush networks. */
+    private static final String NETWORKS_FILE = "tetomod_plush_networks.dat";
+
+    /** Suffix of the temporary file a rewritten networks file is written to first. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** Saved data tag key of the stored data. */
+    private static final String NBT_DATA = "data";
+
+    /** Networks tag key of the network list. */
+    private static final String NBT_NETWORKS = "Networks";
+
+    /** Network tag key of the shared state. */
+    private static final String NBT_STATE = "State";
+
+    /** Chunk tag key of the block entity list. */
+    private static final String NBT_BLOCK_ENTITIES = "block_entities";
+
+    /** Block entity tag key of the registry ID. */
+    private static final String NBT_ID = "id";
+
+    /** Message printed for invalid arguments. */
+    private static final String USAGE = "Usage: region-tool <scan|migrate> <world directory> [threads]";
+
+    /** Exit code for invalid arguments. */
+    private static final int EXIT_USAGE = 2;
+
+    /** Exit code when some regions could not be processed. */
+    private static final int EXIT_ERRORS = 1;
+
+    // ==================== Constructor ====================
+
+    private RegionTool() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Runs the tool.
+     *
+     * @param args the command, world directory and optional thread count
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = args.length > 2 ? parseThreads(args[2]) : Runtime.getRuntime().availableProcessors();
+        if (args.length < 2 || !(args[0].equals("scan") || args[0].equals("migrate")) || threads < 1) {
+            System.err.println(USAGE);
+            System.exit(EXIT_USAGE);
+            return;
+        }
+
+        boolean migrate = args[0].equals("migrate");
+        Path world = Path.of(args[1]);
+
+        List<Path> regions = findRegionFiles(world);
+        System.out.printf("%s %d region files with %d threads%n",
+                migrate ? "Migrating" : "Scanning", regions.size(), threads);
+
+        long start = System.nanoTime();
+        ScanStats total = new ScanStats();
+        boolean failed = false;
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<ScanStats>> tasks = new ArrayList<>();
+            for (Path region : regions) {
+                tasks.add(() -> processRegion(region, migrate));
+            }
+            for (Future<ScanStats> result : workers.invokeAll(tasks)) {
+                try {
+                    total.merge(result.get());
+                } catch (ExecutionException e) {
+                    System.err.println("Worker failed: " + e.getCause());
+                    failed = true;
+                }
+            }
+        } finally {
+            workers.shutdown();
+        }
+
+        // Network files are few and small, so they are handled on the main thread
+        for (Path networks : findNetworkFiles(world)) {
+            processNetworks(networks, migrate, total);
+        }
+
+        total.print(System.out);
+        System.out.printf("Done in %.1f s%n", (System.nanoTime() - start) / 1.0e9);
+        if (failed) {
+            System.exit(EXIT_ERRORS);
+        }
+    }
+
+    /**
+     * Parses the thread count argument.
+     *
+     * @param arg the argument
+     * @return the thread count, or 0 if the argument is not a positive number
+     */
+    private static int parseThreads(String arg) {
+        try {
+            return Math.max(0, Integer.parseInt(arg));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Finds every chunk region file of a world, across all dimensions.
+     *
+     * @param world the world directory
+     * @return the region files
+     */
+    private static List<Path> findRegionFiles(Path world) throws IOException {
+        try (Stream<Path> files = Files.walk(world)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(REGION_SUFFIX))
+                    .filter(path -> path.getParent() != null
+                            && path.getParent().getFileName().toString().equals(REGION_DIR))
+                    .toList();
+        }
+    }
+
+    /**
+     * Finds the saved plush networks of every dimension of a world.
+     *
+     * @param world the world directory
+     * @return the network files
+     */
+    private static List<Path> findNetworkFiles(Path world) throws IOException {
+        try (Stream<Path> files = Files.walk(world)) {
+            return files.filter(path -> path.getFileName().toString().equals(NETWORKS_FILE))
+                    .filter(path -> path.getParent() != null
+                            && path.getParent().getFileName().toString().equals(DATA_DIR))
+                    .toList();
+        }
+    }
+
+    /**
+     * Scans one saved networks file, migrating its network states if requested. A
+     * changed file is written to a temporary file, forced to disk and then moved over
+     * the original, so an interrupted run leaves the original intact.
+     *
+     * @param path    the networks file
+     * @param migrate whether to upgrade outdated network states
+     * @param stats   the statistics to add to
+     */
+    private static void processNetworks(Path path, boolean migrate, ScanStats stats) {
+        try {
+            Map<String, Object> root;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new GZIPInputStream(Files.newInputStream(path))))) {
+                root = Nbt.read(in);
+            }
+
+            Map<String, Object> data = Nbt.getCompound(root, NBT_DATA);
+            if (data == null || !(data.get(NBT_NETWORKS) instanceof Nbt.ListTag networks)) {
+                return;
+            }
+
+            boolean changed = false;
+            for (Object element : networks.values()) {
+                if (!(element instanceof Map<?, ?> map)) {
+                    continue;
+                }
+
+                @SuppressWarnings("unchecked")
+                Map<String, Object> state = Nbt.getCompound((Map<String, Object>) map, NBT_STATE);
+                if (state == null) {
+                    continue;
+                }
+                stats.addNetworkState();
+                if (migrate && PlushDataUpgrader.upgrade(state)) {
+                    stats.addMigratedNetworkState();
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel));
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip));
+                    Nbt.write(out, root);
+                    out.flush();
+                    gzip.finish();
+                    channel.force(true);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            System.err.println(path + ": " + e.getMessage());
+            stats.addUnreadable();
+        }
+    }
+
+    /**
+     * Scans one region file, migrating its plushes if requested.
+     *
+     * @param path    the region file
+     * @param migrate whether to upgrade outdated plush tags in place
+     * @return the statistics for this region
+     */
+    private static ScanStats processRegion(Path path, boolean migrate) {
+        ScanStats stats = new ScanStats();
+        stats.addRegion();
+
+        try (RegionFile region = new RegionFile(path, migrate)) {
+            if (region.isEmpty()) {
+                return stats;
+            }
+
+            for (int index = 0; index < RegionFile.CHUNK_COUNT; index++) {
+                Map<String, Object> chunk;
+                try (DataInputStream in = region.openChunk(index)) {
+                    if (in == null) {
+                        continue;
+                    }
+                    chunk = Nbt.read(in);
+                } catch (IOException e) {
+                    System.err.println(path.getFileName() + ": " + e.getMessage());
+                    stats.addUnreadable();
+                    continue;
+                }
+
+                stats.addChunk();
+                if (processChunk(chunk, stats, migrate)) {
+                    region.writeChunk(index, Nbt.toBytes(chunk));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println(path + ": " + e.getMessage());
+            stats.addUnreadable();
+        }
+        return stats;
+    }
+
+    /**
+     * Records and optionally upgrades the plushes in one chunk.
+     *
+     * @param chunk   the chunk tag
+     * @param stats   the statistics to add to
+     * @param migrate whether to upgrade outdated plush tags
+     * @return true if the chunk tag was changed and must be written back
+     */
+    private static boolean processChunk(Map<String, Object> chunk, ScanStats stats, boolean migrate) {
+        if (!(chunk.get(NBT_BLOCK_ENTITIES) instanceof Nbt.ListTag blockEntities)) {
+            return false;
+        }
+
+        boolean changed = false;
+        for (Object element : blockEntities.values()) {
+            if (!(element instanceof Map<?, ?> map) || !PlushDataUpgrader.BLOCK_ENTITY_ID.equals(map.get(NBT_ID))) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> tag = (Map<String, Object>) map;
+            stats.addPlush(tag);
+            if (migrate && PlushDataUpgrader.upgrade(tag)) {
+                stats.addMigrated();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,158 @@
+package net.firsttimegaming.tetomod.tools;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Plush statistics gathered from one or more region files.
+ * <p>
+ * Each worker fills its own instance for the region it scans, and the results are
+ * merged once all workers have finished, so no counter is shared between threads.
+ */
+public final class ScanStats {
+
+    // ==================== Class Variables ====================
+
+    /** Number of region files scanned. */
+    private long regions = 0;
+
+    /** Number of chunks read. */
+    private long chunks = 0;
+
+    /** Number of chunks or regions that could not be read. */
+    private long unreadable = 0;
+
+    /** Number of plush block entities found. */
+    private long plushes = 0;
+
+    /** Number of plushes saved as pristine. */
+    private long pristine = 0;
+
+    /** Number of plushes rewritten to the current data version. */
+    private long migrated = 0;
+
+    /** Number of linked plush network states found. */
+    private long networkStates = 0;
+
+    /** Number of network states rewritten to the current data version. */
+    private long migratedNetworkStates = 0;
+
+    /** Number of plushes per data version. */
+    private final Map<Integer, Long> dataVersions = new TreeMap<>();
+
+    /** Total completions per tier across all plushes. */
+    private final long[] completionsPerTier = new long[PlushDataUpgrader.MAX_TIER];
+
+    /** Number of plushes per highest unlocked tier. */
+    private final long[] unlockedTiers = new long[PlushDataUpgrader.MAX_TIER];
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Counts a scanned region file.
+     */
+    public void addRegion() {
+        regions++;
+    }
+
+    /**
+     * Counts a chunk that was read.
+     */
+    public void addChunk() {
+        chunks++;
+    }
+
+    /**
+     * Counts a chunk or region that could not be read.
+     */
+    public void addUnreadable() {
+        unreadable++;
+    }
+
+    /**
+     * Counts a plush rewritten to the current data version.
+     */
+    public void addMigrated() {
+        migrated++;
+    }
+
+    /**
+     * Counts a linked plush network state.
+     */
+    public void addNetworkState() {
+        networkStates++;
+    }
+
+    /**
+     * Counts a network state rewritten to the current data version.
+     */
+    public void addMigratedNetworkState() {
+        migratedNetworkStates++;
+    }
+
+    /**
+     * Records a plush block entity tag, as found before any migration.
+     *
+     * @param tag the block entity tag
+     */
+    public void addPlush(Map<String, Object> tag) {
+        plushes++;
+        dataVersions.merge(PlushDataUpgrader.getDataVersion(tag), 1L, Long::sum);
+        if (PlushDataUpgrader.isPristine(tag)) {
+            pristine++;
+            return;
+        }
+
+        int unlocked = Nbt.getInt(tag, PlushDataUpgrader.NBT_MAX_UNLOCKED_TIER, 0);
+        unlockedTiers[Math.max(0, Math.min(unlocked, PlushDataUpgrader.MAX_TIER - 1))]++;
+
+        Map<String, Object> completions = Nbt.getCompound(tag, PlushDataUpgrader.NBT_TIER_COMPLETIONS);
+        if (completions == null) {
+            return;
+        }
+        for (int tier = 0; tier < PlushDataUpgrader.MAX_TIER; tier++) {
+            completionsPerTier[tier] += Nbt.getInt(completions, PlushDataUpgrader.NBT_TIER_PREFIX + tier, 0);
+        }
+    }
+
+    /**
+     * Adds another instance's counts to this one.
+     *
+     * @param other the statistics to add
+     */
+    public void merge(ScanStats other) {
+        regions += other.regions;
+        chunks += other.chunks;
+        unreadable += other.unreadable;
+        plushes += other.plushes;
+        pristine += other.pristine;
+        migrated += other.migrated;
+        networkStates += other.networkStates;
+        migratedNetworkStates += other.migratedNetworkStates;
+        other.dataVersions.forEach((version, count) -> dataVersions.merge(version, count, Long::sum));
+        for (int tier = 0; tier < PlushDataUpgrader.MAX_TIER; tier++) {
+            completionsPerTier[tier] += other.completionsPerTier[tier];
+            unlockedTiers[tier] += other.unlockedTiers[tier];
+        }
+    }
+
+    /**
+     * Prints a human-readable report.
+     *
+     * @param out the stream to print to
+     */
+    public void print(PrintStream out) {
+        out.printf("Regions scanned:    %d%n", regions);
+        out.printf("Chunks read:        %d%n", chunks);
+        out.printf("Unreadable:         %d%n", unreadable);
+        out.printf("Plushes found:      %d (%d pristine)%n", plushes, pristine);
+        out.printf("Plushes migrated:   %d%n", migrated);
+        out.printf("Network states:     %d (%d migrated)%n", networkStates, migratedNetworkStates);
+        dataVersions.forEach((version, count) -> out.printf("  data version %d:   %d%n", version, count));
+        for (int tier = 0; tier < PlushDataUpgrader.MAX_TIER; tier++) {
+            out.printf("Tier %d: %d completions, %d plushes unlocked up to here%n",
+                    tier + 1, completionsPerTier[tier], unlockedTiers[tier]);
+        }
+    }
+}
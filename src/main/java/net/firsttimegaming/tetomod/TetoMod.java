@@ -2,12 +2,22 @@ package net.firsttimegaming.tetomod;
 
 import net.firsttimegaming.tetomod.block.ModBlocks;
 import net.firsttimegaming.tetomod.block.entity.ModBlockEntities;
+import net.firsttimegaming.tetomod.block.entity.PlushNetworkData;
+import net.firsttimegaming.tetomod.block.entity.RerollCooldownNotifier;
+import net.firsttimegaming.tetomod.command.ModCommands;
+import net.firsttimegaming.tetomod.config.GeneratedTierPools;
 import net.firsttimegaming.tetomod.config.PlushTierConfigManager;
+import net.firsttimegaming.tetomod.config.PlushTierReloadListener;
 import net.firsttimegaming.tetomod.item.ModCreativeModeTabs;
+import net.firsttimegaming.tetomod.journal.TradeJournal;
 import net.firsttimegaming.tetomod.item.ModItems;
+import net.firsttimegaming.tetomod.network.ModPayloads;
 import net.firsttimegaming.tetomod.screen.ModMenuTypes;
 import net.firsttimegaming.tetomod.screen.PlushScreen;
 import net.firsttimegaming.tetomod.sound.ModSounds;
+import net.firsttimegaming.tetomod.sound.PlushAmbientSounds;
+import net.firsttimegaming.tetomod.util.TagMembershipCache;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
 import net.neoforged.neoforge.client.event.RegisterMenuScreensEvent;
 import org.slf4j.Logger;
 import com.mojang.logging.LogUtils;
@@ -22,8 +32,10 @@ import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.AddReloadListenerEvent;
 import net.neoforged.neoforge.event.BuildCreativeModeTabContentsEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 
 /**
  * Main mod class for the Teto Mod.
@@ -60,6 +72,15 @@ public class TetoMod {
         ModBlockEntities.register(modEventBus);
         ModMenuTypes.register(modEventBus);
         ModSounds.register(modEventBus);
+        ModPayloads.register(modEventBus);
+
+        NeoForge.EVENT_BUS.addListener(ModPayloads::onDatapackSync);
+        NeoForge.EVENT_BUS.addListener(TagMembershipCache::onTagsUpdated);
+        NeoForge.EVENT_BUS.addListener(GeneratedTierPools::onServerStarted);
+        NeoForge.EVENT_BUS.addListener(ModCommands::onRegisterCommands);
+        NeoForge.EVENT_BUS.addListener(RerollCooldownNotifier::onServerTick);
+        NeoForge.EVENT_BUS.addListener(PlushAmbientSounds::onPlayerLoggedOut);
+        NeoForge.EVENT_BUS.addListener(PlushNetworkData::onPlayerLoggedOut);
 
         PlushTierConfigManager.load();
 
@@ -91,7 +112,35 @@ public class TetoMod {
      */
     @SubscribeEvent
     public void onServerStarting(ServerStartingEvent event) {
-        // Server startup tasks can be added here
+        PlushTierConfigManager.decodeFilePrototypes(event.getServer().registryAccess());
+        TradeJournal.open(event.getServer());
+    }
+
+    /**
+     * Called when the server has stopped; drops the world's generated and datapack
+     * configurations and waits for queued config saves and journal records to reach disk.
+     *
+     * @param event the server stopped event
+     */
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        PlushTierConfigManager.applyGeneratedConfig(null);
+        PlushTierConfigManager.applyDatapackConfig(null);
+        PlushTierConfigManager.clearFilePrototypes();
+        PlushTierConfigManager.flushSaves();
+        TradeJournal.close();
+        RerollCooldownNotifier.clear();
+        PlushAmbientSounds.clear();
+    }
+
+    /**
+     * Registers datapack reload listeners.
+     *
+     * @param event the reload listener registration event
+     */
+    @SubscribeEvent
+    public void onAddReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(new PlushTierReloadListener(event.getRegistryAccess()));
     }
 
     /**
@@ -120,4 +169,21 @@ public class TetoMod {
             event.register(ModMenuTypes.PLUSH_MENU.get(), PlushScreen::new);
         }
     }
+
+    /**
+     * Client-side event subscriber for game events.
+     */
+    @EventBusSubscriber(modid = TetoMod.MOD_ID, bus = EventBusSubscriber.Bus.GAME, value = Dist.CLIENT)
+    static class ClientGameEvents {
+
+        /**
+         * Drops the server's tier configuration when leaving a server.
+         *
+         * @param event the logout event
+         */
+        @SubscribeEvent
+        static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+            PlushTierConfigManager.clearSyncedConfig();
+        }
+    }
 }
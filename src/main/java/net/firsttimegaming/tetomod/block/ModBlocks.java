@@ -28,6 +28,7 @@ public class ModBlocks {
     public static final DeferredBlock<Block> TETO_BLOCK = registerBlock("tetoblock",
             () -> new PlushBlock(BlockBehaviour.Properties.of()
                     .sound(SoundType.WOOL)
+                    .randomTicks()
                     .noOcclusion()
                     .isViewBlocking((state, level, pos) -> false)
             )
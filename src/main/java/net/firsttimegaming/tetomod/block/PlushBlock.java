@@ -4,15 +4,19 @@ import com.mojang.serialization.MapCodec;
 import net.firsttimegaming.tetomod.TetoMod;
 import net.firsttimegaming.tetomod.block.entity.PlushBlockEntity;
 import net.firsttimegaming.tetomod.sound.ModSounds;
+import net.firsttimegaming.tetomod.sound.PlushAmbientSounds;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.ItemInteractionResult;
 import net.minecraft.world.SimpleMenuProvider;
+import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.context.BlockPlaceContext;
@@ -23,6 +27,7 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+import net.minecraft.world.level.block.state.properties.BooleanProperty;
 import net.minecraft.world.level.block.state.properties.DirectionProperty;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.shapes.CollisionContext;
@@ -73,6 +78,9 @@ public class PlushBlock extends BaseEntityBlock {
     /** The facing direction property for the block. */
     public static final DirectionProperty FACING = BlockStateProperties.HORIZONTAL_FACING;
 
+    /** Whether the block is currently powered, used to detect rising redstone edges. */
+    public static final BooleanProperty TRIGGERED = BlockStateProperties.TRIGGERED;
+
 
     // ==================== Constructor ====================
 
@@ -83,7 +91,9 @@ public class PlushBlock extends BaseEntityBlock {
      */
     public PlushBlock(Properties properties) {
         super(properties);
-        this.registerDefaultState(this.stateDefinition.any().setValue(FACING, Direction.NORTH));
+        this.registerDefaultState(this.stateDefinition.any()
+                .setValue(FACING, Direction.NORTH)
+                .setValue(TRIGGERED, false));
     }
 
     // ==================== Overridden Methods ====================
@@ -96,13 +106,24 @@ public class PlushBlock extends BaseEntityBlock {
     @Override
     protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> builder) {
         super.createBlockStateDefinition(builder);
-        builder.add(FACING);
+        builder.add(FACING, TRIGGERED);
     }
 
     @Override
     public BlockState getStateForPlacement(BlockPlaceContext ctx) {
+        // Start powered if placed next to a signal, so that signal does not trigger a submit
         return this.defaultBlockState()
-                .setValue(FACING, ctx.getHorizontalDirection().getOpposite());
+                .setValue(FACING, ctx.getHorizontalDirection().getOpposite())
+                .setValue(TRIGGERED, ctx.getLevel().hasNeighborSignal(ctx.getClickedPos()));
+    }
+
+    @Override
+    public void setPlacedBy(Level level, BlockPos pos, BlockState state, @Nullable LivingEntity placer, ItemStack stack) {
+        super.setPlacedBy(level, pos, state, placer, stack);
+        if (!level.isClientSide() && placer instanceof Player player
+                && level.getBlockEntity(pos) instanceof PlushBlockEntity plushBlockEntity) {
+            plushBlockEntity.setOwner(player.getUUID());
+        }
     }
 
     @Override
@@ -115,11 +136,49 @@ public class PlushBlock extends BaseEntityBlock {
         return rotate(state, mirror.getRotation(state.getValue(FACING)));
     }
 
+    @Override
+    protected void neighborChanged(BlockState state, Level level, BlockPos pos, Block neighborBlock, BlockPos neighborPos, boolean movedByPiston) {
+        if (level.isClientSide()) {
+            return;
+        }
+
+        boolean powered = level.hasNeighborSignal(pos);
+        boolean triggered = state.getValue(TRIGGERED);
+
+        if (powered && !triggered) {
+            if (level.getBlockEntity(pos) instanceof PlushBlockEntity plushBlockEntity) {
+                plushBlockEntity.handleSubmit(null);
+            }
+            level.setBlock(pos, state.setValue(TRIGGERED, true), Block.UPDATE_CLIENTS);
+        } else if (!powered && triggered) {
+            level.setBlock(pos, state.setValue(TRIGGERED, false), Block.UPDATE_CLIENTS);
+        }
+    }
+
+    @Override
+    protected void randomTick(BlockState state, ServerLevel level, BlockPos pos, RandomSource random) {
+        PlushAmbientSounds.tryPlay(level, pos, random);
+    }
+
+    @Override
+    protected boolean hasAnalogOutputSignal(BlockState state) {
+        return true;
+    }
+
+    @Override
+    protected int getAnalogOutputSignal(BlockState state, Level level, BlockPos pos) {
+        if (level.getBlockEntity(pos) instanceof PlushBlockEntity plushBlockEntity) {
+            return plushBlockEntity.getComparatorSignal();
+        }
+        return 0;
+    }
+
     @Override
     protected void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean movedByPiston) {
         if (state.getBlock() != newState.getBlock()) {
             if (level.getBlockEntity(pos) instanceof PlushBlockEntity plushBlockEntity) {
                 plushBlockEntity.drops();
+                plushBlockEntity.leaveNetwork();
                 level.updateNeighbourForOutputSignal(pos, this);
             }
         }
@@ -129,6 +188,14 @@ public class PlushBlock extends BaseEntityBlock {
     @Override
     protected ItemInteractionResult useItemOn(ItemStack stack, BlockState state, Level level, BlockPos pos, Player player, InteractionHand hand, BlockHitResult hit) {
         if (level.getBlockEntity(pos) instanceof PlushBlockEntity plushBlockEntity) {
+            // Sneaking with an empty hand links plushes instead of opening the menu
+            if (player.isShiftKeyDown() && stack.isEmpty()) {
+                if (!level.isClientSide()) {
+                    plushBlockEntity.handleLinkClick(player);
+                }
+                return ItemInteractionResult.SUCCESS;
+            }
+
             if (!level.isClientSide()) {
 //                ((ServerPlayer) player).openMenu(new SimpleMenuProvider(plushBlockEntity, Component.literal(MENU_TITLE)), pos);
                 if (player instanceof ServerPlayer serverPlayer) {
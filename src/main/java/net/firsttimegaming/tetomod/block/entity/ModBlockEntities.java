@@ -5,6 +5,8 @@ import net.firsttimegaming.tetomod.block.ModBlocks;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.registries.DeferredRegister;
 
 import java.util.function.Supplier;
@@ -28,6 +30,19 @@ public class ModBlockEntities {
                             .build(null)
             );
 
+    /**
+     * Registers capabilities provided by mod block entities.
+     *
+     * @param event the capability registration event
+     */
+    public static void registerCapabilities(RegisterCapabilitiesEvent event) {
+        event.registerBlockEntity(
+                Capabilities.ItemHandler.BLOCK,
+                PLUSH_BLOCK_ENTITY.get(),
+                PlushBlockEntity::getAutomationHandler
+        );
+    }
+
     /**
      * Registers all block entities to the event bus.
      *
@@ -35,5 +50,6 @@ public class ModBlockEntities {
      */
     public static void register(IEventBus eventBus) {
         BLOCK_ENTITIES.register(eventBus);
+        eventBus.addListener(ModBlockEntities::registerCapabilities);
     }
 }
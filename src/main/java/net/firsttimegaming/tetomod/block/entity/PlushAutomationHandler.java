@@ -0,0 +1,123 @@
+package net.firsttimegaming.tetomod.block.entity;
+
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.items.IItemHandler;
+
+/**
+ * Item handler exposed to hoppers and item pipes for a {@link PlushBlockEntity}.
+ * <p>
+ * The handler has two slots:
+ * <ul>
+ *   <li>{@link #SLOT_INPUT} - accepts only as many items as the matching quest still
+ *       needs; items that no longer match any quest (e.g. left over after the quest was
+ *       rerolled) can be extracted again</li>
+ *   <li>{@link #SLOT_OUTPUT} - extract only, exposes rewards from automated trades</li>
+ * </ul>
+ * Each successful insertion attempts a trade, so no menu or packet is involved. Taking
+ * a reward out attempts another trade, since a waiting trade is blocked while the
+ * output slot is occupied.
+ */
+public class PlushAutomationHandler implements IItemHandler {
+
+    // ==================== Class Variables ====================
+
+    /** Handler slot index mapped to the plush submit slot. */
+    public static final int SLOT_INPUT = 0;
+
+    /** Handler slot index mapped to the plush output slot. */
+    public static final int SLOT_OUTPUT = 1;
+
+    /** Number of slots exposed by this handler. */
+    private static final int SLOT_COUNT = 2;
+
+    /** The block entity this handler belongs to. */
+    private final PlushBlockEntity blockEntity;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new automation handler for the given plush.
+     *
+     * @param blockEntity the owning block entity
+     */
+    public PlushAutomationHandler(PlushBlockEntity blockEntity) {
+        this.blockEntity = blockEntity;
+    }
+
+    // ==================== Overridden Methods ====================
+
+    @Override
+    public int getSlots() {
+        return SLOT_COUNT;
+    }
+
+    @Override
+    public ItemStack getStackInSlot(int slot) {
+        return switch (slot) {
+            case SLOT_INPUT -> blockEntity.peekStack(PlushBlockEntity.SLOT_SUBMIT);
+            case SLOT_OUTPUT -> blockEntity.peekStack(PlushBlockEntity.SLOT_OUTPUT);
+            default -> ItemStack.EMPTY;
+        };
+    }
+
+    @Override
+    public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
+        if (slot != SLOT_INPUT || stack.isEmpty() || !isItemValid(slot, stack)) {
+            return stack;
+        }
+
+        int accepted = Math.min(blockEntity.getSubmitSpace(stack), stack.getCount());
+        if (accepted <= 0) {
+            return stack;
+        }
+
+        ItemStack remainder = blockEntity.getInventory().insertItem(PlushBlockEntity.SLOT_SUBMIT,
+                stack.copyWithCount(accepted), simulate);
+        int inserted = accepted - remainder.getCount();
+        if (inserted == 0) {
+            return stack;
+        }
+
+        if (!simulate) {
+            blockEntity.tryAutomatedSubmit();
+        }
+        return stack.copyWithCount(stack.getCount() - inserted);
+    }
+
+    @Override
+    public ItemStack extractItem(int slot, int amount, boolean simulate) {
+        // Pristine plushes have produced nothing, so polling extractors do not allocate their state
+        if (blockEntity.isPristine()) {
+            return ItemStack.EMPTY;
+        }
+
+        if (slot == SLOT_INPUT) {
+            // Only items no quest accepts anymore may leave, so they cannot jam the input
+            ItemStack submitted = blockEntity.peekStack(PlushBlockEntity.SLOT_SUBMIT);
+            if (submitted.isEmpty() || blockEntity.isQuestItem(submitted)) {
+                return ItemStack.EMPTY;
+            }
+            return blockEntity.getInventory().extractItem(PlushBlockEntity.SLOT_SUBMIT, amount, simulate);
+        }
+
+        if (slot != SLOT_OUTPUT) {
+            return ItemStack.EMPTY;
+        }
+
+        ItemStack extracted = blockEntity.getInventory().extractItem(PlushBlockEntity.SLOT_OUTPUT, amount, simulate);
+        if (!simulate && !extracted.isEmpty()) {
+            blockEntity.tryAutomatedSubmit();
+        }
+        return extracted;
+    }
+
+    @Override
+    public int getSlotLimit(int slot) {
+        return PlushBlockEntity.DEFAULT_STACK_LIMIT;
+    }
+
+    @Override
+    public boolean isItemValid(int slot, ItemStack stack) {
+        return slot == SLOT_INPUT && blockEntity.isQuestItem(stack);
+    }
+}
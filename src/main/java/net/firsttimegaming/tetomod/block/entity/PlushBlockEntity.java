@@ -1,16 +1,32 @@
 package net.firsttimegaming.tetomod.block.entity;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.firsttimegaming.tetomod.TetoMod;
+import net.firsttimegaming.tetomod.config.PlushConfigRoot;
 import net.firsttimegaming.tetomod.config.PlushItemEntry;
 import net.firsttimegaming.tetomod.config.PlushTierConfig;
 import net.firsttimegaming.tetomod.config.PlushTierConfigManager;
+import net.firsttimegaming.tetomod.journal.TradeJournal;
+import net.firsttimegaming.tetomod.leaderboard.PlushLeaderboards;
 import net.firsttimegaming.tetomod.screen.PlushMenu;
 import net.firsttimegaming.tetomod.sound.ModSounds;
+import net.firsttimegaming.tetomod.util.ItemMatcher;
 import net.firsttimegaming.tetomod.util.ItemStackUtils;
+import net.firsttimegaming.tetomod.util.LootTableCache;
+import net.firsttimegaming.tetomod.util.TagMembershipCache;
+import net.firsttimegaming.tetomod.util.WeightExpression;
 import net.firsttimegaming.tetomod.util.WeightedRandomUtils;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.Connection;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.sounds.SoundEvents;
@@ -22,15 +38,27 @@ import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.ContainerData;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.storage.loot.LootParams;
+import net.minecraft.world.level.storage.loot.LootTable;
+import net.minecraft.world.level.storage.loot.parameters.LootContextParamSets;
+import net.minecraft.world.level.storage.loot.parameters.LootContextParams;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.items.IItemHandler;
 import net.neoforged.neoforge.items.ItemStackHandler;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 /**
  * Block entity for the Plush block that manages tiered item trading.
@@ -41,6 +69,11 @@ import java.util.Map;
  * <p>
  * Tier progression is tracked per block entity, and higher tiers require completing
  * previous tiers a certain number of times before they become available.
+ * <p>
+ * A tier may offer several quests at once (see {@link PlushTierConfig#questSlots}).
+ * Quest slot 0 is shown in {@link #SLOT_REQUIREMENT} and the others from
+ * {@link #SLOT_QUEST_BASE} on. A submitted stack is matched against all of them with
+ * one lookup by item, and only the completed quest is rerolled.
  */
 public class PlushBlockEntity extends BlockEntity implements MenuProvider {
 
@@ -49,9 +82,6 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
     /** The maximum number of tiers available in the plush system (0-indexed: 0 to MAX_TIER-1). */
     public static final int MAX_TIER = 5;
 
-    /** The number of inventory slots in the plush block. */
-    public static final int INVENTORY_SIZE = 3;
-
     /** Slot index for the required item display. */
     public static final int SLOT_REQUIREMENT = 0;
 
@@ -61,19 +91,79 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
     /** Slot index for upgrade items. */
     public static final int SLOT_UPGRADE = 2;
 
+    /** Slot index for rewards produced by automated trades. */
+    public static final int SLOT_OUTPUT = 3;
+
+    /** Slot index showing the requirement of quest slot 1, followed by the remaining quest slots. */
+    public static final int SLOT_QUEST_BASE = 4;
+
+    /** The number of inventory slots in the plush block. */
+    public static final int INVENTORY_SIZE = SLOT_QUEST_BASE + PlushTierConfig.MAX_QUEST_SLOTS - 1;
+
     /** Default stack size limit for inventory slots. */
-    private static final int DEFAULT_STACK_LIMIT = 64;
+    public static final int DEFAULT_STACK_LIMIT = 64;
 
-    /** Block update flags for synchronizing state to clients. */
-    private static final int BLOCK_UPDATE_FLAGS = 3;
+    /** Container data index for the selected tier. */
+    public static final int DATA_SELECTED_TIER = 0;
+
+    /** Container data index for the highest unlocked tier. */
+    public static final int DATA_MAX_UNLOCKED_TIER = 1;
+
+    /** Bits carried by each container data value, which travel as shorts. */
+    public static final int DATA_PART_BITS = 16;
+
+    /** Mask selecting the bits of one container data part. */
+    public static final int DATA_PART_MASK = (1 << DATA_PART_BITS) - 1;
+
+    /** Container data index of the reroll ready flag, 1 once the cooldown is over. */
+    public static final int DATA_REROLL_READY = 2;
+
+    /**
+     * Container data index of the first part of the game time the reroll cooldown ends,
+     * split into {@link #DATA_PART_BITS}-bit parts with the lowest part first.
+     */
+    public static final int DATA_REROLL_READY_AT_BASE = 3;
+
+    /** Number of container data values holding the reroll ready game time. */
+    public static final int DATA_REROLL_READY_AT_PARTS = Long.SIZE / DATA_PART_BITS;
+
+    /** Container data index of the first per-tier completion count. */
+    public static final int DATA_COMPLETIONS_BASE = DATA_REROLL_READY_AT_BASE + DATA_REROLL_READY_AT_PARTS;
+
+    /** Number of container data values synchronized to open menus. */
+    public static final int DATA_COUNT = DATA_COMPLETIONS_BASE + MAX_TIER;
+
+    /** The block entity data version written by this version of the mod. */
+    public static final int CURRENT_DATA_VERSION = 3;
+
+    /** The version assumed for tags without a data version, i.e. the original layout. */
+    private static final int LEGACY_DATA_VERSION = 1;
+
+    /** The number of inventory slots stored by data version 2. */
+    private static final int VERSION_2_INVENTORY_SIZE = 4;
+
+    /**
+     * Upgrade steps keyed by the data version they upgrade from; each step rewrites a tag
+     * into the layout of the next version.
+     */
+    private static final Map<Integer, UnaryOperator<CompoundTag>> DATA_UPGRADES = Map.of(
+            1, PlushBlockEntity::upgradeLegacyData,
+            2, PlushBlockEntity::upgradeQuestSlots
+    );
+
+    /** NBT key for storing the data version of the tag layout. */
+    private static final String NBT_DATA_VERSION = "DataVersion";
 
     /** NBT key for storing the inventory data. */
     private static final String NBT_INVENTORY = "inventory";
 
+    /** NBT key for the slot count within {@link ItemStackHandler} data. */
+    private static final String NBT_INVENTORY_SIZE = "Size";
+
     /** NBT key for storing the selected tier. */
     private static final String NBT_SELECTED_TIER = "SelectedTier";
 
-    /** NBT key for storing cached rewards. */
+    /** NBT key for the per-tier requirements of quest slot 0 in data version 2 and earlier. */
     private static final String NBT_CACHED_REWARDS = "CachedRewards";
 
     /** NBT key for storing tier completion counts. */
@@ -94,9 +184,64 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
     /** NBT key for item weight in cached rewards. */
     private static final String NBT_ITEM_WEIGHT = "weight";
 
+    /** NBT key for the serialized data component patch in cached rewards. */
+    private static final String NBT_ITEM_COMPONENTS = "components";
+
+    /** NBT key for the requirements of every rolled quest slot. */
+    private static final String NBT_QUESTS = "Quests";
+
+    /** NBT key for the tier of a quest. */
+    private static final String NBT_QUEST_TIER = "Tier";
+
+    /** NBT key for the quest slot of a quest. */
+    private static final String NBT_QUEST_SLOT = "Slot";
+
+    /** NBT key for the reward stacks waiting for the output slot. */
+    private static final String NBT_PENDING_OUTPUT = "PendingOutput";
+
     /** NBT key for last reroll time. */
     private static final String NBT_LAST_REOLL_TIME = "LastRerollTime";
 
+    /** NBT key marking a plush that has never been traded with, saved instead of its full state. */
+    private static final String NBT_PRISTINE = "Pristine";
+
+    /** NBT key for the UUID of the player who placed the plush. */
+    private static final String NBT_OWNER = "Owner";
+
+    /** Permission level allowed to link plushes placed by other players (game masters). */
+    private static final int LINK_OVERRIDE_PERMISSION_LEVEL = 2;
+
+    /** Dirty flag for the inventory contents. */
+    private static final int DIRTY_INVENTORY = 1;
+
+    /** Dirty flag for the selected tier. */
+    private static final int DIRTY_SELECTED_TIER = 1 << 1;
+
+    /** Dirty flag for the cached per-tier requirements. */
+    private static final int DIRTY_CACHED_REWARDS = 1 << 2;
+
+    /** Dirty flag for the tier completion counts. */
+    private static final int DIRTY_COMPLETIONS = 1 << 3;
+
+    /** Dirty flag for the highest unlocked tier. */
+    private static final int DIRTY_UNLOCKS = 1 << 4;
+
+    /** Dirty flag for the last reroll time. */
+    private static final int DIRTY_REROLL_TIME = 1 << 5;
+
+    /** Dirty flags for fields included in {@link #getUpdateTag(HolderLookup.Provider)}. */
+    private static final int DIRTY_SYNCED = DIRTY_SELECTED_TIER;
+
+    /** Dirty flags for fields held in the {@link PlushQuestState}, shared by linked plushes. */
+    private static final int DIRTY_QUEST = DIRTY_SELECTED_TIER | DIRTY_CACHED_REWARDS | DIRTY_COMPLETIONS
+            | DIRTY_UNLOCKS | DIRTY_REROLL_TIME;
+
+    /** Returned by {@link #findQuest(ItemStack)} when no quest accepts the stack. */
+    private static final int NO_QUEST = -1;
+
+    /** Maximum redstone signal strength reported to comparators. */
+    private static final int MAX_COMPARATOR_SIGNAL = 15;
+
     /** Cooldown time in ticks for rerolling the required item. */
     private static final long REROLL_COOLDOWN_TICKS = 30L * 60L * 20L;
 
@@ -112,36 +257,87 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
     /** Center offset for item drop position. */
     private static final double DROP_CENTER_OFFSET = 0.5;
 
-    /** The last game time when a reroll was performed. */
-    private long lastRerollGameTime = 0L;
+    /**
+     * This plush's own quest state, used while it is not linked into a network.
+     * Shares {@link PlushQuestState#PRISTINE} until the plush is first used.
+     */
+    private PlushQuestState ownState = PlushQuestState.PRISTINE;
 
-    /** The currently selected tier index (0-based). */
-    private int selectedTier = 0;
+    /**
+     * Reward stacks of automated trades that did not fit the output slot, moved into it
+     * in order as it empties. Trades wait until the queue is drained.
+     */
+    private final ArrayDeque<ItemStack> pendingOutput = new ArrayDeque<>();
 
-    /** The highest tier unlocked based on completions. */
-    private int maxUnlockedTier = 0;
+    /** The player who placed this plush, or null for plushes placed before owners were recorded. */
+    @Nullable
+    private UUID owner;
 
-    /** Cached reward entries per tier to ensure consistency within a session. */
-    private final Map<Integer, PlushItemEntry> cachedRewards = new HashMap<>();
+    /** The level's network store, looked up on first use on the server. */
+    @Nullable
+    private PlushNetworkData networks;
 
-    /** Completion count for each tier. */
-    private final Map<Integer, Integer> tierCompletions = new HashMap<>();
+    /** The network store generation {@link #networkState} was looked up for. */
+    private int networkGeneration = -1;
 
-    /** Inventory handler for the plush block's item slots. */
-    public final ItemStackHandler inventory = new ItemStackHandler(INVENTORY_SIZE) {
-        @Override
-        protected int getStackLimit(int slot, ItemStack stack) {
-            return DEFAULT_STACK_LIMIT;
-        }
+    /** The state of the network this plush belongs to, or null if it is not linked. */
+    @Nullable
+    private PlushQuestState networkState;
 
-        @Override
-        protected void onContentsChanged(int slot) {
-            setChanged();
-            if (level != null && !level.isClientSide()) {
-                level.sendBlockUpdated(getBlockPos(), getBlockState(), getBlockState(), BLOCK_UPDATE_FLAGS);
-            }
-        }
-    };
+    /** The network state revision the requirement slot was last refreshed for. */
+    private int seenRevision = -1;
+
+    /**
+     * Quest slots requiring each item, as bit masks indexed by quest slot, so a submitted
+     * stack finds its candidate quests with one hashed lookup. Created on first use.
+     */
+    @Nullable
+    private Reference2IntOpenHashMap<Item> questSlotsByItem;
+
+    /** Bit mask of quest slots requiring an item tag, which cannot be indexed by item. */
+    private int tagQuestMask = 0;
+
+    /** Matchers compiled from the displayed quests, indexed by quest slot. Created on first use. */
+    @Nullable
+    private ItemMatcher[] questMatchers;
+
+    /** Whether the quest index reflects the displayed quests; cleared whenever one changes. */
+    private boolean questIndexValid = false;
+
+    /** Cached comparator output, recomputed only when the requirement or submit slot changes. */
+    private int comparatorSignal = 0;
+
+    /** Configuration root for this plush's dimension and biome, resolved on load. */
+    private PlushConfigRoot configRoot;
+
+    /** The active base configuration {@link #configRoot} was resolved from. */
+    private PlushConfigRoot configSource;
+
+    /** Fields changed since the chunk was last marked for saving, as DIRTY_* flags. */
+    private int dirtyMask = 0;
+
+    /** Nesting depth of actions whose changes are flushed together when the outermost one ends. */
+    private int batchDepth = 0;
+
+    /** Loot parameter builder reused for every loot table reward roll, created on first use. */
+    private LootParams.Builder lootParamsBuilder;
+
+    /**
+     * Inventory handler for the plush block's item slots, or null while the plush is pristine.
+     * <p>
+     * Decorative plushes are never opened, so their trading state is only allocated
+     * by {@link #materialize()} on the first menu open or automation trade.
+     */
+    @Nullable
+    private ItemStackHandler inventory;
+
+    /** Item handler exposed to automation through the item handler capability, created on first query. */
+    @Nullable
+    private PlushAutomationHandler automationHandler;
+
+    /** Menu state synchronized to players with a {@link PlushMenu} open, created on first menu open. */
+    @Nullable
+    private ContainerData data;
 
     // ==================== Constructor ====================
 
@@ -155,15 +351,342 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
         super(ModBlockEntities.PLUSH_BLOCK_ENTITY.get(), pos, blockState);
     }
 
+    // ==================== Static Methods ====================
+
+    /**
+     * Brings a saved tag up to {@link #CURRENT_DATA_VERSION} by applying every upgrade step
+     * from the tag's version onwards.
+     *
+     * @param tag the saved tag, left unmodified
+     * @return the upgraded tag, or the given tag if it is already current
+     */
+    public static CompoundTag upgradeData(CompoundTag tag) {
+        int version = tag.contains(NBT_DATA_VERSION) ? tag.getInt(NBT_DATA_VERSION) : LEGACY_DATA_VERSION;
+        if (version >= CURRENT_DATA_VERSION) {
+            return tag;
+        }
+
+        CompoundTag upgraded = tag.copy();
+        while (version < CURRENT_DATA_VERSION) {
+            UnaryOperator<CompoundTag> step = DATA_UPGRADES.get(version);
+            if (step == null) {
+                throw new IllegalStateException("No upgrade from plush data version " + version);
+            }
+            upgraded = step.apply(upgraded);
+            version++;
+        }
+
+        upgraded.putInt(NBT_DATA_VERSION, CURRENT_DATA_VERSION);
+        return upgraded;
+    }
+
+    /**
+     * Marks a tag as written in the {@link #CURRENT_DATA_VERSION} layout, so
+     * {@link #upgradeData(CompoundTag)} leaves it alone when it is loaded again.
+     *
+     * @param tag the tag to stamp
+     */
+    static void stampDataVersion(CompoundTag tag) {
+        tag.putInt(NBT_DATA_VERSION, CURRENT_DATA_VERSION);
+    }
+
+    /**
+     * Upgrades the original layout, which omitted fields that were added later and stored
+     * fewer inventory slots, by writing their defaults explicitly.
+     *
+     * @param tag the version 1 tag
+     * @return the version 2 tag
+     */
+    private static CompoundTag upgradeLegacyData(CompoundTag tag) {
+        if (tag.getBoolean(NBT_PRISTINE)) {
+            return tag;
+        }
+
+        growInventory(tag, VERSION_2_INVENTORY_SIZE);
+
+        if (!tag.contains(NBT_SELECTED_TIER)) {
+            tag.putInt(NBT_SELECTED_TIER, 0);
+        }
+        if (!tag.contains(NBT_LAST_REOLL_TIME)) {
+            tag.putLong(NBT_LAST_REOLL_TIME, 0L);
+        }
+        if (!tag.contains(NBT_MAX_UNLOCKED_TIER)) {
+            tag.putInt(NBT_MAX_UNLOCKED_TIER, 0);
+        }
+
+        CompoundTag cacheTag = tag.getCompound(NBT_CACHED_REWARDS);
+        for (String key : cacheTag.getAllKeys()) {
+            CompoundTag rewardTag = cacheTag.getCompound(key);
+            if (!rewardTag.contains(NBT_ITEM_WEIGHT)) {
+                rewardTag.putInt(NBT_ITEM_WEIGHT, 1);
+            }
+        }
+        tag.put(NBT_CACHED_REWARDS, cacheTag);
+        tag.put(NBT_TIER_COMPLETIONS, tag.getCompound(NBT_TIER_COMPLETIONS));
+
+        return tag;
+    }
+
+    /**
+     * Upgrades the version 2 layout, which had a single quest per tier kept under
+     * {@link #NBT_CACHED_REWARDS}, by moving those requirements into quest slot 0.
+     *
+     * @param tag the version 2 tag
+     * @return the version 3 tag
+     */
+    private static CompoundTag upgradeQuestSlots(CompoundTag tag) {
+        if (tag.getBoolean(NBT_PRISTINE)) {
+            return tag;
+        }
+
+        growInventory(tag, INVENTORY_SIZE);
+
+        CompoundTag cacheTag = tag.getCompound(NBT_CACHED_REWARDS);
+        ListTag questsTag = new ListTag();
+        for (String key : cacheTag.getAllKeys()) {
+            if (!key.startsWith(NBT_TIER_PREFIX) || !cacheTag.contains(key, Tag.TAG_COMPOUND)) {
+                continue;
+            }
+            try {
+                CompoundTag questTag = cacheTag.getCompound(key).copy();
+                questTag.putInt(NBT_QUEST_TIER, parseTierKey(key));
+                questTag.putInt(NBT_QUEST_SLOT, 0);
+                questsTag.add(questTag);
+            } catch (NumberFormatException e) {
+                TetoMod.LOGGER.warn("Dropping malformed cached requirement '{}' while upgrading plush data", key);
+            }
+        }
+        tag.remove(NBT_CACHED_REWARDS);
+        tag.put(NBT_QUESTS, questsTag);
+
+        return tag;
+    }
+
+    /**
+     * Raises the stored inventory size, since the inventory is resized to it on load.
+     * Network states share the layout but have no inventory, and are left without one.
+     *
+     * @param tag  the block entity tag
+     * @param size the minimum slot count
+     */
+    private static void growInventory(CompoundTag tag, int size) {
+        if (!tag.contains(NBT_INVENTORY)) {
+            return;
+        }
+
+        CompoundTag inventoryTag = tag.getCompound(NBT_INVENTORY);
+        if (inventoryTag.getInt(NBT_INVENTORY_SIZE) < size) {
+            inventoryTag.putInt(NBT_INVENTORY_SIZE, size);
+        }
+        tag.put(NBT_INVENTORY, inventoryTag);
+    }
+
+    /**
+     * Parses the tier index from a per-tier NBT key.
+     *
+     * @param key the key, e.g. "tier_2"
+     * @return the tier index (0-based)
+     * @throws NumberFormatException if the key is not a per-tier key
+     */
+    private static int parseTierKey(String key) {
+        if (!key.startsWith(NBT_TIER_PREFIX)) {
+            throw new NumberFormatException("Not a tier key: " + key);
+        }
+        return Integer.parseInt(key.substring(NBT_TIER_PREFIX.length()));
+    }
+
+    /**
+     * Writes a quest state into a tag, using the current data version's layout.
+     *
+     * @param state the quest state
+     * @param tag   the tag to write into
+     */
+    static void saveQuestState(PlushQuestState state, CompoundTag tag) {
+        tag.putInt(NBT_SELECTED_TIER, state.selectedTier);
+        tag.putLong(NBT_LAST_REOLL_TIME, state.lastRerollGameTime);
+        tag.putInt(NBT_MAX_UNLOCKED_TIER, state.maxUnlockedTier);
+
+        ListTag questsTag = new ListTag();
+        for (int tierIdx = 0; tierIdx < MAX_TIER; tierIdx++) {
+            for (int slot = 0; slot < PlushTierConfig.MAX_QUEST_SLOTS; slot++) {
+                PlushItemEntry quest = state.getQuest(tierIdx, slot);
+                if (quest != null) {
+                    CompoundTag qt = saveEntry(quest);
+                    qt.putInt(NBT_QUEST_TIER, tierIdx);
+                    qt.putInt(NBT_QUEST_SLOT, slot);
+                    questsTag.add(qt);
+                }
+            }
+        }
+        tag.put(NBT_QUESTS, questsTag);
+
+        CompoundTag completedTag = new CompoundTag();
+        for (Map.Entry<Integer, Integer> e : state.tierCompletions.entrySet()) {
+            int tierIdx = e.getKey();
+            int completed = e.getValue();
+            completedTag.putInt(NBT_TIER_PREFIX + tierIdx, completed);
+        }
+        tag.put(NBT_TIER_COMPLETIONS, completedTag);
+    }
+
+    /**
+     * Reads a quest state from a tag in the current data version's layout.
+     *
+     * @param tag        the tag to read
+     * @param registries the registry lookup for decoding cached requirements
+     * @param pos        the position reported when dropping malformed entries
+     * @return the quest state
+     */
+    static PlushQuestState loadQuestState(CompoundTag tag, HolderLookup.Provider registries, BlockPos pos) {
+        PlushQuestState state = new PlushQuestState();
+        state.selectedTier = Math.max(0, Math.min(tag.getInt(NBT_SELECTED_TIER), MAX_TIER - 1));
+        state.lastRerollGameTime = tag.getLong(NBT_LAST_REOLL_TIME);
+        state.maxUnlockedTier = tag.getInt(NBT_MAX_UNLOCKED_TIER);
+
+        ListTag questsTag = tag.getList(NBT_QUESTS, Tag.TAG_COMPOUND);
+        for (int i = 0; i < questsTag.size(); i++) {
+            CompoundTag qt = questsTag.getCompound(i);
+            int tierIdx = qt.getInt(NBT_QUEST_TIER);
+            int slot = qt.getInt(NBT_QUEST_SLOT);
+            if (tierIdx < 0 || tierIdx >= MAX_TIER || slot < 0 || slot >= PlushTierConfig.MAX_QUEST_SLOTS) {
+                TetoMod.LOGGER.warn("Dropping out of range quest {} of tier {} of plush at {}", slot, tierIdx, pos);
+                continue;
+            }
+            try {
+                state.setQuest(tierIdx, slot, loadEntry(qt, registries));
+            } catch (JsonParseException | IllegalStateException e) {
+                TetoMod.LOGGER.warn("Dropping malformed quest {} of tier {} of plush at {}: {}",
+                        slot, tierIdx, pos, e.getMessage());
+            }
+        }
+
+        CompoundTag completedTag = tag.getCompound(NBT_TIER_COMPLETIONS);
+        for (String key : completedTag.getAllKeys()) {
+            try {
+                state.tierCompletions.put(parseTierKey(key), completedTag.getInt(key));
+            } catch (NumberFormatException e) {
+                TetoMod.LOGGER.warn("Dropping malformed completion count '{}' of plush at {}", key, pos);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Writes a cached requirement entry into a new tag.
+     *
+     * @param entry the requirement entry
+     * @return the tag
+     */
+    private static CompoundTag saveEntry(PlushItemEntry entry) {
+        CompoundTag rt = new CompoundTag();
+        rt.putString(NBT_ITEM_ID, entry.id);
+        rt.putInt(NBT_ITEM_COUNT, entry.count);
+        rt.putInt(NBT_ITEM_WEIGHT, entry.weight);
+        if (entry.components != null) {
+            rt.putString(NBT_ITEM_COMPONENTS, entry.components.toString());
+        }
+        return rt;
+    }
+
+    /**
+     * Reads a cached requirement entry and decodes its prototype stack.
+     *
+     * @param rt         the entry tag
+     * @param registries the registry lookup for decoding data components
+     * @return the requirement entry
+     * @throws JsonParseException    if the stored components are not valid JSON
+     * @throws IllegalStateException if the stored components are not a JSON object
+     */
+    private static PlushItemEntry loadEntry(CompoundTag rt, HolderLookup.Provider registries) {
+        JsonObject components = rt.contains(NBT_ITEM_COMPONENTS)
+                ? JsonParser.parseString(rt.getString(NBT_ITEM_COMPONENTS)).getAsJsonObject()
+                : null;
+        PlushItemEntry entry = new PlushItemEntry(rt.getString(NBT_ITEM_ID), rt.getInt(NBT_ITEM_COUNT),
+                rt.getInt(NBT_ITEM_WEIGHT), components);
+        ItemStackUtils.decodePrototype(entry, registries);
+        return entry;
+    }
+
+    /**
+     * Gets the inventory slot displaying a quest slot's requirement.
+     *
+     * @param questSlot the quest slot (0-based)
+     * @return the inventory slot index
+     */
+    public static int getQuestInventorySlot(int questSlot) {
+        return questSlot == 0 ? SLOT_REQUIREMENT : SLOT_QUEST_BASE + questSlot - 1;
+    }
+
+    /**
+     * Checks if an inventory slot displays a quest's requirement.
+     *
+     * @param slot the inventory slot index
+     * @return true for the requirement slot and the additional quest slots
+     */
+    private static boolean isQuestInventorySlot(int slot) {
+        return slot == SLOT_REQUIREMENT || (slot >= SLOT_QUEST_BASE && slot < INVENTORY_SIZE);
+    }
+
     // ==================== Getter Methods ====================
 
+    /**
+     * Gets the plush inventory, allocating the trading state if the plush is still pristine.
+     *
+     * @return the inventory handler
+     */
+    public ItemStackHandler getInventory() {
+        materialize();
+        return inventory;
+    }
+
+    /**
+     * Gets the stack in an inventory slot without allocating the trading state.
+     *
+     * @param slot the inventory slot
+     * @return the stack, or an empty stack while the plush is pristine
+     */
+    public ItemStack peekStack(int slot) {
+        return inventory == null ? ItemStack.EMPTY : inventory.getStackInSlot(slot);
+    }
+
+    /**
+     * Checks if this plush has never been traded with and holds no per-block state.
+     *
+     * @return true if the plush is pristine
+     */
+    public boolean isPristine() {
+        return inventory == null;
+    }
+
+    /**
+     * Gets the configuration root for this plush's dimension and biome.
+     * <p>
+     * The profile is resolved once when the block entity loads and only resolved
+     * again after the active configuration is replaced (e.g. by {@code /reload}).
+     *
+     * @return the configuration root to use for this plush
+     */
+    public PlushConfigRoot getConfigRoot() {
+        PlushConfigRoot source = PlushTierConfigManager.getRoot();
+        if (configRoot != null && configSource == source) {
+            return configRoot;
+        }
+        if (level == null) {
+            return source;
+        }
+
+        configSource = source;
+        configRoot = PlushTierConfigManager.getProfileRoot(source, level, worldPosition);
+        return configRoot;
+    }
+
     /**
      * Gets the currently selected tier index.
      *
      * @return the selected tier index (0-based)
      */
     public int getSelectedTier() {
-        return selectedTier;
+        return state().selectedTier;
     }
 
     /**
@@ -172,7 +695,7 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * @return the tier configuration containing items to give and receive
      */
     public PlushTierConfig getCurrentTierConfig() {
-        return PlushTierConfigManager.getTierConfig(this.selectedTier);
+        return PlushTierConfigManager.getTierConfig(getConfigRoot(), state().selectedTier);
     }
 
     /**
@@ -182,7 +705,7 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * @return the completion count for the tier
      */
     public int getTierCompletions(int tierIndex) {
-        return tierCompletions.getOrDefault(tierIndex, 0);
+        return state().tierCompletions.getOrDefault(tierIndex, 0);
     }
 
     /**
@@ -192,7 +715,7 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * @return the number of completions
      */
     public int getTimesCompleted(int tierIndex) {
-        return tierCompletions.getOrDefault(tierIndex, 0);
+        return state().tierCompletions.getOrDefault(tierIndex, 0);
     }
 
     /**
@@ -201,19 +724,53 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * @return the number of completions for the current tier
      */
     public int getTimesCompletedForCurrentTier() {
-        return getTimesCompleted(this.selectedTier);
+        return getTimesCompleted(state().selectedTier);
     }
 
     /**
-     * Gets a random reward from the current tier's reward pool.
+     * Rolls the rewards for completing the current tier.
+     * <p>
+     * If the tier references a loot table, it is rolled with the block's reused loot
+     * parameters and may yield any number of stacks. Otherwise a single entry is picked
+     * from the tier's weighted reward list.
      *
-     * @return the reward ItemStack, or empty if no valid reward could be selected
+     * @param player the player completing the trade, or null for automation
+     * @return the reward stacks, empty if no valid reward could be selected
      */
-    public ItemStack getRandomRewardForCurrentTier() {
-        PlushTierConfig tierCfg = PlushTierConfigManager.getTierConfig(this.selectedTier);
+    public List<ItemStack> rollRewardsForCurrentTier(@Nullable Player player) {
+        PlushTierConfig tierCfg = getCurrentTierConfig();
+
+        if (tierCfg.lootTable != null && level instanceof ServerLevel serverLevel) {
+            LootTable table = LootTableCache.get(serverLevel.getServer(), tierCfg.lootTable);
+            if (table != null) {
+                return table.getRandomItems(getLootParams(serverLevel, player));
+            }
+        }
+
         RandomSource random = (level != null ? level.random : RandomSource.create());
-        PlushItemEntry entry = WeightedRandomUtils.pickWeighted(tierCfg.itemsToReceive, random);
-        return ItemStackUtils.toStack(entry);
+        PlushItemEntry entry = WeightedRandomUtils.pickWeighted(
+                tierCfg.itemsToReceive, random, createWeightContext(), 0);
+        ItemStack stack = ItemStackUtils.toStack(entry);
+        return stack.isEmpty() ? List.of() : List.of(stack);
+    }
+
+    /**
+     * Builds the loot parameters for a reward roll, reusing this block's parameter builder.
+     *
+     * @param serverLevel the level the block is in
+     * @param player      the player completing the trade, or null for automation
+     * @return the loot parameters
+     */
+    private LootParams getLootParams(ServerLevel serverLevel, @Nullable Player player) {
+        if (lootParamsBuilder == null) {
+            lootParamsBuilder = new LootParams.Builder(serverLevel)
+                    .withParameter(LootContextParams.ORIGIN, Vec3.atCenterOf(worldPosition));
+        }
+
+        return lootParamsBuilder
+                .withOptionalParameter(LootContextParams.THIS_ENTITY, player)
+                .withLuck(player != null ? player.getLuck() : 0.0F)
+                .create(LootContextParamSets.CHEST);
     }
 
     /**
@@ -222,7 +779,76 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * @return the maximum unlocked tier index (0-based)
      */
     public int getMaxUnlockedTier() {
-        return maxUnlockedTier;
+        return state().maxUnlockedTier;
+    }
+
+    /**
+     * Gets the number of quests the selected tier offers at the same time.
+     *
+     * @return the number of active quest slots
+     */
+    public int getActiveQuestSlots() {
+        return getCurrentTierConfig().questSlots;
+    }
+
+    /**
+     * Checks if a stack matches any active quest, ignoring its count.
+     *
+     * @param stack the stack to check
+     * @return true if some quest accepts the item
+     */
+    public boolean isQuestItem(ItemStack stack) {
+        refreshFromNetwork();
+        return findQuest(stack) != NO_QUEST;
+    }
+
+    /**
+     * Gets how many items of a stack automation may add to the submit slot: the count
+     * still missing for the quest the stack would complete, so a trade leaves nothing
+     * behind in the slot.
+     *
+     * @param stack the stack being inserted
+     * @return the number of items to accept, 0 if the stack fits no quest or the
+     *         submit slot holds a different item
+     */
+    public int getSubmitSpace(ItemStack stack) {
+        refreshFromNetwork();
+        ItemStack submitted = peekStack(SLOT_SUBMIT);
+        if (!submitted.isEmpty() && !ItemStack.isSameItemSameComponents(submitted, stack)) {
+            return 0;
+        }
+
+        int questSlot = findQuest(stack.copyWithCount(submitted.getCount() + stack.getCount()));
+        if (questSlot == NO_QUEST) {
+            return 0;
+        }
+        return Math.max(0, peekStack(getQuestInventorySlot(questSlot)).getCount() - submitted.getCount());
+    }
+
+    /**
+     * Gets the cached comparator output for this plush.
+     * <p>
+     * The signal reflects how much of a matching quest's requirement is present in the
+     * submit slot: 0 when nothing matching is present, 15 when a trade can be made.
+     *
+     * @return the comparator signal strength (0-15)
+     */
+    public int getComparatorSignal() {
+        refreshFromNetwork();
+        return comparatorSignal;
+    }
+
+    /**
+     * Gets the item handler exposed to hoppers and pipes.
+     *
+     * @param side the side being accessed, or null for internal access
+     * @return the automation item handler
+     */
+    public IItemHandler getAutomationHandler(@Nullable Direction side) {
+        if (automationHandler == null) {
+            automationHandler = new PlushAutomationHandler(this);
+        }
+        return automationHandler;
     }
 
     /**
@@ -232,7 +858,7 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * @return true if the tier is unlocked, false otherwise
      */
     public boolean isTierUnlocked(int tierIndex) {
-        return tierIndex >= 0 && tierIndex <= maxUnlockedTier;
+        return tierIndex >= 0 && tierIndex <= state().maxUnlockedTier;
     }
 
     // ==================== Setter Methods ====================
@@ -240,137 +866,263 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
     /**
      * Sets the currently selected tier, clamping to valid range.
      * <p>
-     * When changing tiers, this will either restore a cached reward for that tier
-     * or roll a new one if none is cached.
+     * When changing tiers, this will either restore the cached quests for that tier
+     * or roll new ones where none are cached.
      *
      * @param tier the tier index to select (will be clamped to 0 to MAX_TIER-1)
      */
     public void setSelectedTier(int tier) {
-        tier = Math.max(0, Math.min(tier, MAX_TIER - 1));
+        beginBatch();
+        try {
+            tier = Math.max(0, Math.min(tier, MAX_TIER - 1));
 
-        if (this.selectedTier != tier) {
-            this.selectedTier = tier;
+            if (state().selectedTier != tier) {
+                materialize();
+                state().selectedTier = tier;
 
-            if (level != null && !level.isClientSide()) {
-                PlushItemEntry existingItem = cachedRewards.get(selectedTier);
-                if (existingItem == null) {
-                    doReroll(false);
-                } else {
-                    ItemStack stack = ItemStackUtils.toStack(existingItem);
-                    inventory.setStackInSlot(SLOT_REQUIREMENT, stack);
-                }
-            }
+                markDirty(DIRTY_SELECTED_TIER);
 
-            setChanged();
-            if (level != null && !level.isClientSide()) {
-                level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), BLOCK_UPDATE_FLAGS);
+                if (level != null && !level.isClientSide()) {
+                    showOrRollQuests();
+                }
             }
+        } finally {
+            endBatch();
         }
     }
 
+    /**
+     * Records the player who placed this plush, who alone may link it.
+     *
+     * @param owner the placing player's UUID
+     */
+    public void setOwner(UUID owner) {
+        this.owner = owner;
+        setChanged();
+    }
+
     // ==================== Custom Methods ====================
 
     /**
-     * Rolls a random required item from the current tier's item pool,
-     * stores it in the tier cache, and places it in the requirement slot.
-     * This determines what item the player needs to submit for the current tier.
+     * Rolls a random required item from the current tier's item pool for every active
+     * quest slot, stores them in the tier cache, and places them in the quest slots.
+     * This determines what items the player can submit for the current tier.
      */
     public void doReroll(boolean playsound) {
-        if (level == null || level.isClientSide()) {
-            return;
+        beginBatch();
+        try {
+            if (level == null || level.isClientSide()) {
+                return;
+            }
+
+            materialize();
+            boolean rolled = false;
+            int activeSlots = getActiveQuestSlots();
+            for (int slot = 0; slot < PlushTierConfig.MAX_QUEST_SLOTS; slot++) {
+                if (slot < activeSlots) {
+                    rolled |= rollQuest(slot);
+                } else {
+                    setQuestStack(slot, ItemStack.EMPTY);
+                }
+            }
+
+            if (playsound && rolled) {
+                level.playSound(
+                        null,
+                        worldPosition,
+                        ModSounds.getRandomRerollSound(),
+                        SoundSource.BLOCKS,
+                        1.0F,
+                        1.0F
+                );
+            }
+        } finally {
+            endBatch();
         }
+    }
+
+    /**
+     * Attempts to reroll the required item, respecting a 30-minute cooldown.
+     *
+     * @return true if a reroll happened, false if on cooldown or invalid.
+     */
+    public boolean tryReroll(Player player) {
+        beginBatch();
+        try {
+            if (level == null || level.isClientSide()) {
+                return false;
+            }
 
-        int tierIndex = Math.max(0, Math.min(this.selectedTier, MAX_TIER - 1));
+            long now = level.getGameTime();
+            long readyAt = state().lastRerollGameTime + REROLL_COOLDOWN_TICKS;
 
-        PlushTierConfig tierConfig = getCurrentTierConfig();
-        List<PlushItemEntry> pool = tierConfig.itemsToGive;
+            if (now < readyAt) {
+                return false;
+            }
 
-        if (pool == null || pool.isEmpty()) {
-            inventory.setStackInSlot(SLOT_REQUIREMENT, ItemStack.EMPTY);
-            cachedRewards.remove(tierIndex);
-            setChanged();
-            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
-            return;
+            materialize();
+            state().lastRerollGameTime = now;
+            markDirty(DIRTY_REROLL_TIME);
+            doReroll(true);
+            TradeJournal.recordReroll(level, worldPosition, player, state().selectedTier);
+            if (level instanceof ServerLevel serverLevel) {
+                RerollCooldownNotifier.schedule(serverLevel, worldPosition, player.getUUID(), REROLL_COOLDOWN_TICKS);
+            }
+            return true;
+        } finally {
+            endBatch();
         }
+    }
 
-        PlushItemEntry chosen = pickWeightedWithMinWeight(pool);
-        if (chosen == null) {
-            inventory.setStackInSlot(SLOT_REQUIREMENT, ItemStack.EMPTY);
-            cachedRewards.remove(tierIndex);
-            setChanged();
-            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
-            return;
-        }
+    /**
+     * @return remaining cooldown in ticks, or 0 if ready
+     */
+    public long getRerollCooldownRemainingTicks() {
+        if (level == null) return 0L;
+        long now = level.getGameTime();
+        long remaining = getRerollReadyGameTime() - now;
+        return Math.max(0L, remaining);
+    }
 
-        cachedRewards.put(tierIndex, chosen);
+    /**
+     * @return the game time the reroll cooldown ends at
+     */
+    public long getRerollReadyGameTime() {
+        return state().lastRerollGameTime + REROLL_COOLDOWN_TICKS;
+    }
 
-        ItemStack stack = ItemStackUtils.toStack(chosen);
-        inventory.setStackInSlot(SLOT_REQUIREMENT, stack);
 
-        setChanged();
-        level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+    /**
+     * Rebuilds the quest index from the displayed quests if one changed since it was built.
+     * <p>
+     * Tag quests match any member of the tag; item quests match the exact stack
+     * shown in their slot.
+     */
+    private void ensureQuestIndex() {
+        if (questIndexValid) {
+            return;
+        }
 
-        if (playsound) {
-            level.playSound(
-                    null,
-                    worldPosition,
-                    ModSounds.getRandomRerollSound(),
-                    SoundSource.BLOCKS,
-                    1.0F,
-                    1.0F
-            );
+        if (questSlotsByItem == null) {
+            questSlotsByItem = new Reference2IntOpenHashMap<>();
+            questMatchers = new ItemMatcher[PlushTierConfig.MAX_QUEST_SLOTS];
         }
+        questSlotsByItem.clear();
+        tagQuestMask = 0;
+
+        for (int slot = 0; slot < PlushTierConfig.MAX_QUEST_SLOTS; slot++) {
+            ItemStack required = peekStack(getQuestInventorySlot(slot));
+            if (required.isEmpty()) {
+                questMatchers[slot] = ItemMatcher.NONE;
+                continue;
+            }
+
+            PlushItemEntry entry = state().getQuest(state().selectedTier, slot);
+            if (entry != null && TagMembershipCache.isTagId(entry.id)) {
+                questMatchers[slot] = ItemMatcher.forEntry(entry);
+                tagQuestMask |= 1 << slot;
+            } else {
+                questMatchers[slot] = ItemMatcher.of(required);
+                questSlotsByItem.put(required.getItem(), questSlotsByItem.getInt(required.getItem()) | 1 << slot);
+            }
+        }
+        questIndexValid = true;
     }
 
     /**
-     * Attempts to reroll the required item, respecting a 30-minute cooldown.
+     * Finds the quest an offered stack is submitted to.
+     * <p>
+     * Only the quests indexed under the stack's item and the tag quests are tested.
+     * A quest whose full count is offered is preferred over one that is only partly filled.
      *
-     * @return true if a reroll happened, false if on cooldown or invalid.
+     * @param offered the offered stack
+     * @return the quest slot, or {@link #NO_QUEST} if no quest accepts the item
      */
-    public boolean tryReroll(Player player) {
-        if (level == null || level.isClientSide()) {
-            return false;
+    private int findQuest(ItemStack offered) {
+        if (offered.isEmpty() || inventory == null) {
+            return NO_QUEST;
         }
 
-        long now = level.getGameTime();
-        long readyAt = lastRerollGameTime + REROLL_COOLDOWN_TICKS;
+        ensureQuestIndex();
+        int candidates = questSlotsByItem.getInt(offered.getItem()) | tagQuestMask;
+        int partial = NO_QUEST;
+        while (candidates != 0) {
+            int slot = Integer.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            if (!questMatchers[slot].test(offered)) {
+                continue;
+            }
+            if (offered.getCount() >= peekStack(getQuestInventorySlot(slot)).getCount()) {
+                return slot;
+            }
+            if (partial == NO_QUEST) {
+                partial = slot;
+            }
+        }
+        return partial;
+    }
 
-        if (now < readyAt) {
-            return false;
+    /**
+     * Computes the comparator signal from the quest and submit slots.
+     *
+     * @return the signal strength (0-15)
+     */
+    private int computeComparatorSignal() {
+        ItemStack offered = peekStack(SLOT_SUBMIT);
+        int questSlot = findQuest(offered);
+        if (questSlot == NO_QUEST) {
+            return 0;
         }
 
-        lastRerollGameTime = now;
-        doReroll(true);
-        return true;
+        ItemStack required = peekStack(getQuestInventorySlot(questSlot));
+        int filled = Math.min(offered.getCount(), required.getCount());
+        return 1 + (filled * (MAX_COMPARATOR_SIGNAL - 1)) / required.getCount();
     }
 
     /**
-     * @return remaining cooldown in ticks, or 0 if ready
+     * Recomputes the cached comparator signal and notifies neighbours if it changed.
      */
-    public long getRerollCooldownRemainingTicks() {
-        if (level == null) return 0L;
-        long now = level.getGameTime();
-        long readyAt = lastRerollGameTime + REROLL_COOLDOWN_TICKS;
-        long remaining = readyAt - now;
-        return Math.max(0L, remaining);
-    }
+    private void updateComparatorSignal() {
+        int signal = computeComparatorSignal();
+        if (signal == this.comparatorSignal) {
+            return;
+        }
 
+        this.comparatorSignal = signal;
+        if (level != null && !level.isClientSide()) {
+            level.updateNeighbourForOutputSignal(worldPosition, getBlockState().getBlock());
+        }
+    }
 
     /**
-     * Clears the requirement slot contents.
+     * Clears the contents of the quest slots.
      */
     public void clearContents() {
-        inventory.setStackInSlot(SLOT_REQUIREMENT, ItemStack.EMPTY);
+        if (inventory != null) {
+            for (int slot = 0; slot < PlushTierConfig.MAX_QUEST_SLOTS; slot++) {
+                inventory.setStackInSlot(getQuestInventorySlot(slot), ItemStack.EMPTY);
+            }
+        }
     }
 
     /**
-     * Drops all items from the submit slot when the block is broken.
+     * Drops the submitted, upgrade and output items, and any queued rewards, when the
+     * block is broken. The quest slots only display requirements and are not dropped.
      */
     public void drops() {
-        SimpleContainer inv = new SimpleContainer(inventory.getSlots());
-        for (int i = SLOT_SUBMIT; i < inventory.getSlots(); i++) {
+        if (inventory == null) {
+            return;
+        }
+
+        SimpleContainer inv = new SimpleContainer(inventory.getSlots() + pendingOutput.size());
+        for (int i = SLOT_SUBMIT; i <= SLOT_OUTPUT; i++) {
             inv.setItem(i, inventory.getStackInSlot(i));
         }
+        int slot = inventory.getSlots();
+        for (ItemStack pending : pendingOutput) {
+            inv.setItem(slot++, pending);
+        }
+        pendingOutput.clear();
 
         Containers.dropContents(this.level, this.worldPosition, inv);
     }
@@ -380,92 +1132,170 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * <p>
      * This method:
      * <ul>
-     *   <li>Validates that the offered item matches the required item</li>
+     *   <li>Finds the active quest the offered item fulfils</li>
      *   <li>Consumes the required amount from the submit slot</li>
      *   <li>Plays a success sound</li>
      *   <li>Drops a random reward from the current tier's reward pool</li>
      *   <li>Increments the tier completion count</li>
-     *   <li>Rolls a new required item</li>
+     *   <li>Rolls a new required item for the fulfilled quest only</li>
      * </ul>
      *
-     * @param player the player submitting the item
+     * @param player the player submitting the item, or null when triggered by redstone
      */
-    public void handleSubmit(Player player) {
-        if (level == null || level.isClientSide()) {
-            return;
-        }
+    public void handleSubmit(@Nullable Player player) {
+        beginBatch();
+        try {
+            if (level == null || level.isClientSide()) {
+                return;
+            }
+            refreshFromNetwork();
+
+            // A pristine plush has no quests, so it is only materialized past this check
+            ItemStack offered = peekStack(SLOT_SUBMIT);
+            int questSlot = findQuest(offered);
+
+            if (questSlot == NO_QUEST) {
+                level.playSound(
+                        null,
+                        worldPosition,
+                        ModSounds.PLUSH_TRADE_FAIL.get(),
+                        SoundSource.BLOCKS,
+                        1.0F,
+                        1.0F
+                );
+                return;
+            }
+
+            int requiredCount = peekStack(getQuestInventorySlot(questSlot)).getCount();
+            if (offered.getCount() < requiredCount) {
+                level.playSound(
+                        null,
+                        worldPosition,
+                        ModSounds.PLUSH_TRADE_FAIL.get(),
+                        SoundSource.BLOCKS,
+                        1.0F,
+                        1.0F
+                );
+                return;
+            }
+
+            Item given = offered.getItem();
+            offered.shrink(requiredCount);
 
-        ItemStack required = inventory.getStackInSlot(SLOT_REQUIREMENT);
-        ItemStack offered = inventory.getStackInSlot(SLOT_SUBMIT);
+            if (offered.isEmpty()) {
+                inventory.setStackInSlot(SLOT_SUBMIT, ItemStack.EMPTY);
+            } else {
+                inventory.setStackInSlot(SLOT_SUBMIT, offered);
+            }
 
-        if (required.isEmpty() || offered.isEmpty()) {
             level.playSound(
                     null,
                     worldPosition,
-                    ModSounds.PLUSH_TRADE_FAIL.get(),
+                    ModSounds.PLUSH_TRADE_SUCCESS.get(),
                     SoundSource.BLOCKS,
-                    1.0F,
-                    1.0F
+                    SOUND_VOLUME,
+                    SOUND_PITCH
             );
+
+            List<ItemStack> rewards = rollRewardsForCurrentTier(player);
+            for (ItemStack reward : rewards) {
+                dropReward(reward);
+            }
+
+            TradeJournal.recordTrade(level, worldPosition, player, false, state().selectedTier, questSlot,
+                    given, requiredCount, rewards);
+            incrementTierCompletions(state().selectedTier, player, rewards);
+            rollQuest(questSlot);
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Drops a reward stack on top of the plush.
+     *
+     * @param reward the stack to drop
+     */
+    private void dropReward(ItemStack reward) {
+        if (level == null || reward.isEmpty()) {
             return;
         }
 
-        if (!ItemStack.isSameItemSameComponents(required, offered)) {
-            level.playSound(
-                    null,
-                    worldPosition,
-                    ModSounds.PLUSH_TRADE_FAIL.get(),
-                    SoundSource.BLOCKS,
-                    1.0F,
-                    1.0F
-            );
-            return;
-        }
+        double dropX = worldPosition.getX() + DROP_CENTER_OFFSET;
+        double dropY = worldPosition.getY() + DROP_Y_OFFSET;
+        double dropZ = worldPosition.getZ() + DROP_CENTER_OFFSET;
+
+        Containers.dropItemStack(level, dropX, dropY, dropZ, reward.copy());
+    }
+
+    /**
+     * Attempts a trade on behalf of automation after items were inserted.
+     * <p>
+     * Unlike {@link #handleSubmit(Player)}, the reward is placed in the output slot
+     * instead of being dropped. Loot tables may yield several stacks; the others are
+     * queued and served through the output slot as it empties. No trade happens while
+     * the output slot is occupied, so an extractor has to drain every reward before
+     * more can be produced.
+     */
+    public void tryAutomatedSubmit() {
+        beginBatch();
+        try {
+            if (level == null || level.isClientSide()) {
+                return;
+            }
+            refreshFromNetwork();
+
+            if (!peekStack(SLOT_OUTPUT).isEmpty() || !pendingOutput.isEmpty()) {
+                return;
+            }
+
+            ItemStack offered = peekStack(SLOT_SUBMIT);
+            int questSlot = findQuest(offered);
+            if (questSlot == NO_QUEST) {
+                return;
+            }
+
+            int requiredCount = peekStack(getQuestInventorySlot(questSlot)).getCount();
+            if (offered.getCount() < requiredCount) {
+                return;
+            }
+
+            Item given = offered.getItem();
+            inventory.setStackInSlot(SLOT_SUBMIT, offered.copyWithCount(offered.getCount() - requiredCount));
 
-        int requiredCount = required.getCount();
-        if (offered.getCount() < requiredCount) {
             level.playSound(
                     null,
                     worldPosition,
-                    ModSounds.PLUSH_TRADE_FAIL.get(),
+                    ModSounds.PLUSH_TRADE_SUCCESS.get(),
                     SoundSource.BLOCKS,
-                    1.0F,
-                    1.0F
+                    SOUND_VOLUME,
+                    SOUND_PITCH
             );
-            return;
-        }
-
-        offered.shrink(requiredCount);
 
-        if (offered.isEmpty()) {
-            inventory.setStackInSlot(SLOT_SUBMIT, ItemStack.EMPTY);
-        } else {
-            inventory.setStackInSlot(SLOT_SUBMIT, offered);
+            List<ItemStack> rewards = rollRewardsForCurrentTier(null);
+            for (ItemStack reward : rewards) {
+                if (!reward.isEmpty()) {
+                    pendingOutput.add(reward.copy());
+                }
+            }
+            servePendingOutput();
+
+            TradeJournal.recordTrade(level, worldPosition, null, true, state().selectedTier, questSlot,
+                    given, requiredCount, rewards);
+            incrementTierCompletions(state().selectedTier, null, rewards);
+            rollQuest(questSlot);
+        } finally {
+            endBatch();
         }
+    }
 
-        level.playSound(
-                null,
-                worldPosition,
-                ModSounds.PLUSH_TRADE_SUCCESS.get(),
-                SoundSource.BLOCKS,
-                SOUND_VOLUME,
-                SOUND_PITCH
-        );
-
-        ItemStack reward = getRandomRewardForCurrentTier();
-        if (!reward.isEmpty()) {
-            double dropX = worldPosition.getX() + DROP_CENTER_OFFSET;
-            double dropY = worldPosition.getY() + DROP_Y_OFFSET;
-            double dropZ = worldPosition.getZ() + DROP_CENTER_OFFSET;
-
-            Containers.dropItemStack(level, dropX, dropY, dropZ, reward.copy());
+    /**
+     * Moves the next queued reward into the output slot if it is empty.
+     */
+    private void servePendingOutput() {
+        if (!pendingOutput.isEmpty() && inventory.getStackInSlot(SLOT_OUTPUT).isEmpty()) {
+            inventory.setStackInSlot(SLOT_OUTPUT, pendingOutput.poll());
         }
-
-        incrementTierCompletions(this.selectedTier);
-        doReroll(false);
-
-        setChanged();
-        level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), BLOCK_UPDATE_FLAGS);
     }
 
     /**
@@ -483,102 +1313,211 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * @param player the player performing the upgrade
      */
     public void handleUpgrade(Player player) {
-        if (level == null || level.isClientSide()) return;
+        beginBatch();
+        try {
+            if (level == null || level.isClientSide()) return;
+
+            // Next tier after the highest unlocked one
+            int targetTier = state().maxUnlockedTier + 1;
+            if (targetTier >= MAX_TIER) {
+                if (player != null) {
+                    player.displayClientMessage(
+                            Component.literal("All tiers are already unlocked."), true
+                    );
+                }
+                return;
+            }
 
-        // Next tier after the highest unlocked one
-        int targetTier = maxUnlockedTier + 1;
-        if (targetTier >= MAX_TIER) {
-            if (player != null) {
-                player.displayClientMessage(
-                        Component.literal("All tiers are already unlocked."), true
-                );
+            PlushItemEntry requirement = PlushTierConfigManager.getUnlockRequirementForTier(getConfigRoot(), targetTier);
+            if (requirement == null) {
+                if (player != null) {
+                    player.displayClientMessage(
+                            Component.literal("Tier " + (targetTier + 1) + " has no unlock requirement."), true
+                    );
+                }
+                return;
             }
-            return;
-        }
 
-        PlushItemEntry requirement = PlushTierConfigManager.getUnlockRequirementForTier(targetTier);
-        if (requirement == null) {
-            if (player != null) {
-                player.displayClientMessage(
-                        Component.literal("Tier " + (targetTier + 1) + " has no unlock requirement."), true
-                );
+            ItemStack upgradeStack = peekStack(SLOT_UPGRADE);
+            if (upgradeStack.isEmpty()) {
+                if (player != null) {
+                    player.displayClientMessage(
+                            Component.literal("Place the required upgrade item in the upgrade slot."), true
+                    );
+                }
+                return;
             }
-            return;
-        }
 
-        ItemStack upgradeStack = inventory.getStackInSlot(SLOT_UPGRADE);
-        if (upgradeStack.isEmpty()) {
+            // Check correct item + count
+            if (!ItemMatcher.forEntry(requirement).test(upgradeStack) ||
+                    upgradeStack.getCount() < requirement.count) {
+
+                if (player != null) {
+                    player.displayClientMessage(
+                            Component.literal("Incorrect upgrade item. Need "
+                                    + requirement.count + "x " + requirement.id),
+                            true
+                    );
+                }
+                return;
+            }
+
+            // Consume items
+            Item upgradeItem = upgradeStack.getItem();
+            upgradeStack.shrink(requirement.count);
+            if (upgradeStack.isEmpty()) {
+                inventory.setStackInSlot(SLOT_UPGRADE, ItemStack.EMPTY);
+            } else {
+                inventory.setStackInSlot(SLOT_UPGRADE, upgradeStack);
+            }
+
+            // Mark unlocked
+            state().maxUnlockedTier = targetTier;
+            markDirty(DIRTY_UNLOCKS);
+            TradeJournal.recordUpgrade(level, worldPosition, player, targetTier, upgradeItem, requirement.count);
+
+            // Optional: auto-switch to newly unlocked tier
+            this.setSelectedTier(targetTier);
+
+            // Play custom upgrade-complete sound
+            level.playSound(
+                    null,
+                    worldPosition,
+                    ModSounds.PLUSH_UPGRADE_SUCCESS.get(), // you'll define this
+                    SoundSource.BLOCKS,
+                    1.0F,
+                    1.0F
+            );
+
             if (player != null) {
                 player.displayClientMessage(
-                        Component.literal("Place the required upgrade item in the upgrade slot."), true
+                        Component.literal("Unlocked Tier " + (targetTier + 1) + "!"), true
                 );
             }
+        } finally {
+            endBatch();
+        }
+    }
+
+
+    /**
+     * Handles a sneaking empty-handed use, which links plushes into networks.
+     * <p>
+     * The first use selects this plush. Using a second plush then links it into the
+     * first one's network, replacing its quest and progress with the network's. Using
+     * the selected plush again unlinks it, and it keeps a copy of the network's state.
+     * Both plushes must pass {@link #mayLink(Player)}, and a selection is forgotten after
+     * a minute or when the player logs out.
+     *
+     * @param player the player using the plush
+     */
+    public void handleLinkClick(Player player) {
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return;
+        }
+        if (!mayLink(player)) {
+            player.displayClientMessage(Component.literal("You can only link plushes you placed."), true);
             return;
         }
 
-        // Check correct item + count
-        ItemStack reqStack = ItemStackUtils.toStack(requirement);
-        if (!ItemStack.isSameItemSameComponents(reqStack, upgradeStack) ||
-                upgradeStack.getCount() < requirement.count) {
+        PlushNetworkData data = getNetworks(serverLevel);
+        BlockPos pending = data.takePendingLink(player.getUUID(), level.getGameTime());
+        if (pending == null) {
+            data.setPendingLink(player.getUUID(), worldPosition, level.getGameTime());
+            player.displayClientMessage(Component.literal(
+                    "Sneak-use another plush to link it here, or this one again to unlink it."), true);
+            return;
+        }
 
-            if (player != null) {
-                player.displayClientMessage(
-                        Component.literal("Incorrect upgrade item. Need "
-                                + requirement.count + "x " + requirement.id),
-                        true
-                );
+        if (pending.equals(worldPosition)) {
+            if (data.getState(worldPosition) == null) {
+                player.displayClientMessage(Component.literal("Link cancelled."), true);
+            } else {
+                unlinkFromNetwork(data);
+                player.displayClientMessage(Component.literal("Plush unlinked from its network."), true);
             }
             return;
         }
 
-        // Consume items
-        upgradeStack.shrink(requirement.count);
-        if (upgradeStack.isEmpty()) {
-            inventory.setStackInSlot(SLOT_UPGRADE, ItemStack.EMPTY);
-        } else {
-            inventory.setStackInSlot(SLOT_UPGRADE, upgradeStack);
+        if (!pending.closerThan(worldPosition, PlushNetworkData.MAX_LINK_DISTANCE)
+                || !(level.getBlockEntity(pending) instanceof PlushBlockEntity first)) {
+            player.displayClientMessage(Component.literal("The first plush is gone or too far away."), true);
+            return;
+        }
+        if (!first.mayLink(player)) {
+            player.displayClientMessage(Component.literal("You can only link plushes you placed."), true);
+            return;
         }
 
-        // Mark unlocked
-        this.maxUnlockedTier = targetTier;
+        data.link(pending, first.state(), worldPosition);
+        refreshFromNetwork();
+        player.displayClientMessage(Component.literal(
+                "Linked! " + data.getNetworkSize(worldPosition) + " plushes now share progress."), true);
+    }
 
-        // Optional: auto-switch to newly unlocked tier
-        this.setSelectedTier(targetTier);
+    /**
+     * Checks whether a player may link or unlink this plush. Linking replaces a plush's
+     * progress with its network's, so only the player who placed it may do so, besides
+     * game masters; plushes placed before owners were recorded are open to anyone who
+     * may interact with them.
+     *
+     * @param player the player
+     * @return true if the player may link this plush
+     */
+    private boolean mayLink(Player player) {
+        if (level == null || !player.mayInteract(level, worldPosition)) {
+            return false;
+        }
+        return owner == null || owner.equals(player.getUUID()) || player.hasPermissions(LINK_OVERRIDE_PERMISSION_LEVEL);
+    }
 
-        // Play custom upgrade-complete sound
-        level.playSound(
-                null,
-                worldPosition,
-                ModSounds.PLUSH_UPGRADE_SUCCESS.get(), // you'll define this
-                SoundSource.BLOCKS,
-                1.0F,
-                1.0F
-        );
+    /**
+     * Removes this plush from its network when the block is broken.
+     */
+    public void leaveNetwork() {
+        if (level instanceof ServerLevel serverLevel) {
+            getNetworks(serverLevel).unlink(worldPosition);
+        }
+    }
 
-        if (player != null) {
-            player.displayClientMessage(
-                    Component.literal("Unlocked Tier " + (targetTier + 1) + "!"), true
-            );
+    /**
+     * Removes this plush from its network, keeping a copy of the shared state as its own.
+     *
+     * @param data the level's network store
+     */
+    private void unlinkFromNetwork(PlushNetworkData data) {
+        PlushQuestState shared = data.unlink(worldPosition);
+        if (shared == null) {
+            return;
         }
 
-        setChanged();
-        level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), BLOCK_UPDATE_FLAGS);
+        beginBatch();
+        try {
+            materialize();
+            ownState = shared.copy();
+            markDirty(DIRTY_QUEST);
+        } finally {
+            endBatch();
+        }
     }
 
-
     /**
-     * Increments the completion count for the specified tier.
+     * Increments the completion count for the specified tier and credits the trade to
+     * the player on the server-wide leaderboards.
      *
-     * @param tier the tier index to increment (0-based)
+     * @param tier    the tier index to increment (0-based)
+     * @param player  the trading player, or null for automation and redstone
+     * @param rewards the reward stacks the trade yielded
      */
-    public void incrementTierCompletions(int tier) {
+    public void incrementTierCompletions(int tier, @Nullable Player player, List<ItemStack> rewards) {
         if (tier >= 0 && tier < MAX_TIER) {
-            int current = tierCompletions.getOrDefault(tier, 0);
-            tierCompletions.put(tier, current + 1);
-            setChanged();
+            materialize();
+            int current = state().tierCompletions.getOrDefault(tier, 0);
+            state().tierCompletions.put(tier, current + 1);
+            markDirty(DIRTY_COMPLETIONS);
 
-            if (level != null && !level.isClientSide()) {
-                level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), BLOCK_UPDATE_FLAGS);
+            if (player != null && level instanceof ServerLevel serverLevel) {
+                PlushLeaderboards.get(serverLevel.getServer()).recordTrade(player.getUUID(), tier, rewards);
             }
         }
     }
@@ -601,7 +1540,7 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
         }
 
         if (player != null && !player.level().isClientSide()) {
-            PlushItemEntry req = PlushTierConfigManager.getUnlockRequirementForTier(tierIndex);
+            PlushItemEntry req = PlushTierConfigManager.getUnlockRequirementForTier(getConfigRoot(), tierIndex);
             if (req == null) {
                 player.displayClientMessage(
                         Component.literal("Tier " + (tierIndex + 1) + " is locked."), true
@@ -625,39 +1564,69 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      * so the next usage of this tier will roll a new reward.
      */
     public void markCurrentTierCompleted() {
-        int current = tierCompletions.getOrDefault(selectedTier, 0);
-        tierCompletions.put(selectedTier, current + 1);
+        materialize();
+        int current = state().tierCompletions.getOrDefault(state().selectedTier, 0);
+        state().tierCompletions.put(state().selectedTier, current + 1);
 
-        cachedRewards.remove(selectedTier);
+        state().setQuest(state().selectedTier, 0, null);
 
-        setChanged();
-        if (level != null && !level.isClientSide()) {
-            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), BLOCK_UPDATE_FLAGS);
-        }
+        markDirty(DIRTY_COMPLETIONS | DIRTY_CACHED_REWARDS);
     }
 
     /**
-     * Ensures a reward is cached and displayed for the current tier.
-     * If no cached reward exists, a new one is rolled.
+     * Ensures a quest is cached and displayed for every active quest slot of the current tier.
+     * Where no cached quest exists, a new one is rolled.
      */
     public void ensureRewardForCurrentTier() {
-        if (level == null || level.isClientSide()) {
-            return;
+        beginBatch();
+        try {
+            if (level == null || level.isClientSide()) {
+                return;
+            }
+            refreshFromNetwork();
+
+            materialize();
+            showOrRollQuests();
+        } finally {
+            endBatch();
         }
+    }
 
-        PlushItemEntry cached = cachedRewards.get(selectedTier);
-        if (cached == null) {
-            cached = rollRandomRewardForCurrentTier();
-            if (cached != null) {
-                cachedRewards.put(selectedTier, cached);
-                setChanged();
+    /**
+     * Displays the cached quests of the current tier, rolling one for each active quest
+     * slot that has none. Quest slots the tier does not use are emptied.
+     */
+    private void showOrRollQuests() {
+        int activeSlots = getActiveQuestSlots();
+        for (int slot = 0; slot < PlushTierConfig.MAX_QUEST_SLOTS; slot++) {
+            PlushItemEntry cached = slot < activeSlots ? state().getQuest(state().selectedTier, slot) : null;
+            if (cached == null && slot < activeSlots) {
+                rollQuest(slot);
+            } else {
+                setQuestStack(slot, ItemStackUtils.toStack(cached));
             }
         }
+    }
 
-        ItemStack stack = ItemStackUtils.toStack(cached);
-        inventory.setStackInSlot(SLOT_REQUIREMENT, stack);
+    /**
+     * Rolls a new requirement for one quest slot of the current tier and displays it.
+     * The quest slot is cleared if the tier's pool is empty.
+     *
+     * @param slot the quest slot (0-based)
+     * @return true if a requirement was rolled
+     */
+    private boolean rollQuest(int slot) {
+        int tierIndex = Math.max(0, Math.min(state().selectedTier, MAX_TIER - 1));
+        PlushItemEntry chosen = rollRandomRewardForCurrentTier();
+        if (chosen == null) {
+            clearQuest(tierIndex, slot);
+            return false;
+        }
 
-        level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), BLOCK_UPDATE_FLAGS);
+        state().setQuest(tierIndex, slot, chosen);
+        markDirty(DIRTY_CACHED_REWARDS);
+        setQuestStack(slot, ItemStackUtils.toStack(chosen));
+        return true;
     }
 
     /**
@@ -687,40 +1656,272 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
      */
     @Nullable
     private PlushItemEntry pickWeightedWithMinWeight(List<PlushItemEntry> pool) {
-        if (pool == null || pool.isEmpty()) {
+        if (level == null) {
             return null;
         }
+        return WeightedRandomUtils.pickWeighted(pool, level.random, createWeightContext(), 1);
+    }
+
+    /**
+     * Captures the values weight expressions are evaluated with for the current tier.
+     *
+     * @return the weight context
+     */
+    private WeightExpression.Context createWeightContext() {
+        int totalCompletions = state().getTotalCompletions();
 
-        int totalWeight = 0;
-        for (PlushItemEntry entry : pool) {
-            int w = Math.max(1, entry.weight);
-            totalWeight += w;
+        if (level == null) {
+            return new WeightExpression.Context(state().selectedTier, getTimesCompletedForCurrentTier(), totalCompletions,
+                    0, 0L, false);
         }
+        return new WeightExpression.Context(state().selectedTier, getTimesCompletedForCurrentTier(), totalCompletions,
+                level.getMoonPhase(), level.getDayTime() / Level.TICKS_PER_DAY, level.isNight());
+    }
 
-        if (totalWeight <= 0 || level == null) {
-            return null;
+    /**
+     * Shows a stack in a quest slot, leaving the slot untouched if it already shows it.
+     * <p>
+     * The quest index is still invalidated, since the cached entry behind an identical
+     * stack may have changed between an item and a tag requirement.
+     *
+     * @param slot  the quest slot (0-based)
+     * @param stack the stack to show
+     */
+    private void setQuestStack(int slot, ItemStack stack) {
+        int inventorySlot = getQuestInventorySlot(slot);
+        if (ItemStack.matches(inventory.getStackInSlot(inventorySlot), stack)) {
+            questIndexValid = false;
+            return;
         }
+        inventory.setStackInSlot(inventorySlot, stack);
+    }
+
+    /**
+     * Clears a quest slot and forgets its cached requirement for a tier.
+     *
+     * @param tierIndex the tier index (0-based)
+     * @param slot      the quest slot (0-based)
+     */
+    private void clearQuest(int tierIndex, int slot) {
+        setQuestStack(slot, ItemStack.EMPTY);
+        if (state().setQuest(tierIndex, slot, null)) {
+            markDirty(DIRTY_CACHED_REWARDS);
+        }
+    }
+
+    /**
+     * Records that fields changed, flushing immediately unless an action is in progress.
+     *
+     * @param fields the DIRTY_* flags of the changed fields
+     */
+    private void markDirty(int fields) {
+        dirtyMask |= fields;
+        if (batchDepth == 0) {
+            flushChanges();
+        }
+    }
+
+    /**
+     * Starts an action whose changes are flushed together by {@link #endBatch()}.
+     */
+    private void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends an action, flushing the accumulated changes if it was the outermost one.
+     */
+    private void endBatch() {
+        if (--batchDepth == 0) {
+            flushChanges();
+        }
+    }
+
+    /**
+     * Marks the chunk for saving once for all accumulated changes, and sends the update
+     * tag to watching clients if one of its fields changed.
+     */
+    private void flushChanges() {
+        int changed = dirtyMask;
+        if (changed == 0) {
+            return;
+        }
+
+        dirtyMask = 0;
+        setChanged();
+        if ((changed & DIRTY_QUEST) != 0 && networkState != null && networks != null) {
+            // Other members notice the new revision and refresh their requirement slot
+            seenRevision = ++networkState.revision;
+            networks.setDirty();
+        }
+        if ((changed & DIRTY_SYNCED) != 0 && level != null && !level.isClientSide()) {
+            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), Block.UPDATE_CLIENTS);
+        }
+    }
 
-        int roll = level.random.nextInt(totalWeight);
-        int cumulative = 0;
-        for (PlushItemEntry entry : pool) {
-            int w = Math.max(1, entry.weight);
-            cumulative += w;
-            if (roll < cumulative) {
-                return entry;
+    /**
+     * Gets the quest state this plush trades with: its network's shared state if it is
+     * linked, otherwise its own.
+     * <p>
+     * The network is looked up again only after the level's network membership changes.
+     *
+     * @return the active quest state
+     */
+    private PlushQuestState state() {
+        if (level instanceof ServerLevel serverLevel) {
+            PlushNetworkData data = getNetworks(serverLevel);
+            if (networkGeneration != data.getGeneration()) {
+                networkGeneration = data.getGeneration();
+                networkState = data.getState(worldPosition);
+            }
+            if (networkState != null) {
+                return networkState;
             }
         }
+        return ownState;
+    }
+
+    /**
+     * Gets the network store of this plush's level.
+     *
+     * @param serverLevel the level this plush is in
+     * @return the network store
+     */
+    private PlushNetworkData getNetworks(ServerLevel serverLevel) {
+        if (networks == null) {
+            networks = PlushNetworkData.get(serverLevel);
+        }
+        return networks;
+    }
+
+    /**
+     * Shows the network's current quests if another member changed the shared state
+     * since this plush last looked.
+     */
+    private void refreshFromNetwork() {
+        PlushQuestState state = state();
+        if (state == ownState || state.revision == seenRevision || inventory == null) {
+            return;
+        }
+
+        seenRevision = state.revision;
+        int activeSlots = getActiveQuestSlots();
+        for (int slot = 0; slot < PlushTierConfig.MAX_QUEST_SLOTS; slot++) {
+            PlushItemEntry entry = slot < activeSlots ? state.getQuest(state.selectedTier, slot) : null;
+            setQuestStack(slot, ItemStackUtils.toStack(entry));
+        }
+    }
+
+    /**
+     * Allocates the per-block trading state if the plush is still pristine.
+     */
+    private void materialize() {
+        if (inventory != null) {
+            return;
+        }
+
+        inventory = createInventory();
+        if (ownState == PlushQuestState.PRISTINE) {
+            ownState = new PlushQuestState();
+        }
+    }
+
+    /**
+     * Returns this plush to the shared pristine state, dropping any per-block storage.
+     */
+    private void resetToPristine() {
+        inventory = null;
+        pendingOutput.clear();
+        ownState = PlushQuestState.PRISTINE;
+        questIndexValid = false;
+        comparatorSignal = 0;
+    }
+
+    /**
+     * Creates the inventory handler for the plush block's item slots.
+     *
+     * @return the inventory handler
+     */
+    private ItemStackHandler createInventory() {
+        return new ItemStackHandler(INVENTORY_SIZE) {
+            @Override
+            protected int getStackLimit(int slot, ItemStack stack) {
+                return DEFAULT_STACK_LIMIT;
+            }
+
+            @Override
+            public int getSlotLimit(int slot) {
+                return DEFAULT_STACK_LIMIT;
+            }
 
-        return null;
+            @Override
+            protected void onContentsChanged(int slot) {
+                if (isQuestInventorySlot(slot)) {
+                    questIndexValid = false;
+                }
+                if (isQuestInventorySlot(slot) || slot == SLOT_SUBMIT) {
+                    updateComparatorSignal();
+                }
+                if (slot == SLOT_OUTPUT) {
+                    servePendingOutput();
+                }
+                markDirty(DIRTY_INVENTORY);
+            }
+        };
     }
 
-    public void clientSetSelectedTier(int tier) {
-        tier = Math.max(0, Math.min(tier, MAX_TIER - 1));
-        this.selectedTier = tier;
+    /**
+     * Creates the menu state synchronized to players with a {@link PlushMenu} open.
+     * <p>
+     * Values travel as shorts, so completion counts are clamped and the game time the
+     * reroll cooldown ends is split into parts. Both that time and the ready flag change
+     * only when a reroll happens or its cooldown ends; clients count down on their own.
+     *
+     * @return the container data
+     */
+    private ContainerData createContainerData() {
+        return new ContainerData() {
+            @Override
+            public int get(int index) {
+                if (index == DATA_SELECTED_TIER) {
+                    return state().selectedTier;
+                }
+                if (index == DATA_MAX_UNLOCKED_TIER) {
+                    return state().maxUnlockedTier;
+                }
+                if (index == DATA_REROLL_READY) {
+                    return getRerollCooldownRemainingTicks() > 0 ? 0 : 1;
+                }
+                if (index >= DATA_REROLL_READY_AT_BASE && index < DATA_COMPLETIONS_BASE) {
+                    int shift = (index - DATA_REROLL_READY_AT_BASE) * DATA_PART_BITS;
+                    return (int) ((getRerollReadyGameTime() >>> shift) & DATA_PART_MASK);
+                }
+                if (index >= DATA_COMPLETIONS_BASE && index < DATA_COUNT) {
+                    return Math.min(Short.MAX_VALUE, getTierCompletions(index - DATA_COMPLETIONS_BASE));
+                }
+                return 0;
+            }
+
+            @Override
+            public void set(int index, int value) {
+                // Server-side values are derived from block entity state
+            }
+
+            @Override
+            public int getCount() {
+                return DATA_COUNT;
+            }
+        };
     }
 
     // ==================== Overridden Methods ====================
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        getConfigRoot();
+    }
+
     @Override
     public Component getDisplayName() {
         return Component.literal("Teto");
@@ -731,7 +1932,10 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
         if (level != null && !level.isClientSide()) {
             ensureRewardForCurrentTier();
         }
-        return new PlushMenu(i, inventory, this);
+        if (this.data == null) {
+            this.data = createContainerData();
+        }
+        return new PlushMenu(i, inventory, this, this.data);
     }
 
     @Nullable
@@ -740,102 +1944,95 @@ public class PlushBlockEntity extends BlockEntity implements MenuProvider {
         return ClientboundBlockEntityDataPacket.create(this);
     }
 
+    /**
+     * Gets the tag sent with the chunk when it is loaded on a client.
+     * <p>
+     * Only the selected tier is included. The inventory, cached rewards and
+     * completion counts do not affect how a plush looks, and they reach the
+     * client through the {@link PlushMenu} slot and data sync once a player
+     * opens the menu.
+     */
     @Override
     public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
         CompoundTag tag = new CompoundTag();
-        saveAdditional(tag, registries);
+        tag.putInt(NBT_SELECTED_TIER, state().selectedTier);
 
         return tag;
     }
 
+    /**
+     * Applies a tag from {@link #getUpdateTag(HolderLookup.Provider)}, leaving the state
+     * delivered through an open menu untouched.
+     */
     @Override
     public void handleUpdateTag(CompoundTag tag, HolderLookup.Provider registries) {
-        loadAdditional(tag, registries);
+        int tier = tag.getInt(NBT_SELECTED_TIER);
+        if (tier != ownState.selectedTier) {
+            if (ownState == PlushQuestState.PRISTINE) {
+                ownState = new PlushQuestState();
+            }
+            ownState.selectedTier = tier;
+        }
+    }
+
+    /**
+     * Applies a block update packet the same way as the chunk update tag. The default
+     * would load the partial tag through {@link #loadAdditional}, emptying the client's
+     * inventory and quest state.
+     */
+    @Override
+    public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt, HolderLookup.Provider lookupProvider) {
+        handleUpdateTag(pkt.getTag(), lookupProvider);
     }
 
     @Override
     public void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.saveAdditional(tag, registries);
-        tag.put(NBT_INVENTORY, inventory.serializeNBT(registries));
-        tag.putInt(NBT_SELECTED_TIER, this.selectedTier);
-        tag.putLong(NBT_LAST_REOLL_TIME, this.lastRerollGameTime);
-        tag.putInt(NBT_MAX_UNLOCKED_TIER, this.maxUnlockedTier);
-
-        CompoundTag cacheTag = new CompoundTag();
-        for (Map.Entry<Integer, PlushItemEntry> e : cachedRewards.entrySet()) {
-            int tierIdx = e.getKey();
-            PlushItemEntry entry = e.getValue();
-            CompoundTag rt = new CompoundTag();
-            rt.putString(NBT_ITEM_ID, entry.id);
-            rt.putInt(NBT_ITEM_COUNT, entry.count);
-            rt.putInt(NBT_ITEM_WEIGHT, entry.weight);
-            cacheTag.put(NBT_TIER_PREFIX + tierIdx, rt);
+        stampDataVersion(tag);
+        if (owner != null) {
+            tag.putUUID(NBT_OWNER, owner);
+        }
+        if (inventory == null) {
+            tag.putBoolean(NBT_PRISTINE, true);
+            return;
         }
-        tag.put(NBT_CACHED_REWARDS, cacheTag);
 
-        CompoundTag completedTag = new CompoundTag();
-        for (Map.Entry<Integer, Integer> e : tierCompletions.entrySet()) {
-            int tierIdx = e.getKey();
-            int completed = e.getValue();
-            completedTag.putInt(NBT_TIER_PREFIX + tierIdx, completed);
+        tag.put(NBT_INVENTORY, inventory.serializeNBT(registries));
+        if (!pendingOutput.isEmpty()) {
+            ListTag pendingTag = new ListTag();
+            for (ItemStack pending : pendingOutput) {
+                pendingTag.add(pending.save(registries));
+            }
+            tag.put(NBT_PENDING_OUTPUT, pendingTag);
         }
-        tag.put(NBT_TIER_COMPLETIONS, completedTag);
+        saveQuestState(ownState, tag);
     }
 
     @Override
     public void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.loadAdditional(tag, registries);
-        inventory.deserializeNBT(registries, tag.getCompound(NBT_INVENTORY));
+        if (tag.getInt(NBT_DATA_VERSION) > CURRENT_DATA_VERSION) {
+            TetoMod.LOGGER.warn("Plush at {} was saved with newer data version {}, loading what is understood",
+                    worldPosition, tag.getInt(NBT_DATA_VERSION));
+        }
 
-        if (tag.contains(NBT_SELECTED_TIER)) {
-            this.selectedTier = tag.getInt(NBT_SELECTED_TIER);
-        }
-
-        if (tag.contains(NBT_LAST_REOLL_TIME)) {
-            this.lastRerollGameTime = tag.getLong(NBT_LAST_REOLL_TIME);
-        } else {
-            this.lastRerollGameTime = 0L;
-        }
-
-        if (tag.contains(NBT_MAX_UNLOCKED_TIER)) {
-            this.maxUnlockedTier = tag.getInt(NBT_MAX_UNLOCKED_TIER);
-        } else {
-            this.maxUnlockedTier = 0;
-        }
-
-        cachedRewards.clear();
-        if (tag.contains(NBT_CACHED_REWARDS)) {
-            CompoundTag cacheTag = tag.getCompound(NBT_CACHED_REWARDS);
-            for (String key : cacheTag.getAllKeys()) {
-                if (key.startsWith(NBT_TIER_PREFIX)) {
-                    try {
-                        int tierIdx = Integer.parseInt(key.substring(NBT_TIER_PREFIX.length()));
-                        CompoundTag rt = cacheTag.getCompound(key);
-                        String id = rt.getString(NBT_ITEM_ID);
-                        int count = rt.getInt(NBT_ITEM_COUNT);
-                        int weight = rt.contains(NBT_ITEM_WEIGHT) ? rt.getInt(NBT_ITEM_WEIGHT) : 1;
-                        cachedRewards.put(tierIdx, new PlushItemEntry(id, count, weight));
-                    } catch (NumberFormatException ignored) {
-                        // Skip invalid entries
-                    }
-                }
-            }
+        tag = upgradeData(tag);
+        owner = tag.hasUUID(NBT_OWNER) ? tag.getUUID(NBT_OWNER) : null;
+        if (tag.getBoolean(NBT_PRISTINE)) {
+            resetToPristine();
+            return;
         }
 
-        tierCompletions.clear();
-        if (tag.contains(NBT_TIER_COMPLETIONS)) {
-            CompoundTag completedTag = tag.getCompound(NBT_TIER_COMPLETIONS);
-            for (String key : completedTag.getAllKeys()) {
-                if (key.startsWith(NBT_TIER_PREFIX)) {
-                    try {
-                        int tierIdx = Integer.parseInt(key.substring(NBT_TIER_PREFIX.length()));
-                        int completed = completedTag.getInt(key);
-                        tierCompletions.put(tierIdx, completed);
-                    } catch (NumberFormatException ignored) {
-                        // Skip invalid entries
-                    }
-                }
-            }
+        materialize();
+        inventory.deserializeNBT(registries, tag.getCompound(NBT_INVENTORY));
+        pendingOutput.clear();
+        ListTag pendingTag = tag.getList(NBT_PENDING_OUTPUT, Tag.TAG_COMPOUND);
+        for (int i = 0; i < pendingTag.size(); i++) {
+            ItemStack.parse(registries, pendingTag.getCompound(i)).ifPresent(pendingOutput::add);
         }
+        ownState = loadQuestState(tag, registries, worldPosition);
+
+        this.questIndexValid = false;
+        this.comparatorSignal = computeComparatorSignal();
     }
 }
@@ -0,0 +1,421 @@
+package net.firsttimegaming.tetomod.block.entity;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-level store of linked plush networks.
+ * <p>
+ * Plush positions are nodes of a union-find structure, so linking two plushes merges
+ * their networks in near-constant time. Each network's root holds the one
+ * {@link PlushQuestState} all of its members share. Union-find cannot remove nodes, so
+ * an unlinked or broken plush is dropped by rebuilding the structure from the remaining
+ * members. That is rare compared to the lookups made on every trade.
+ */
+public class PlushNetworkData extends SavedData {
+
+    // ==================== Class Variables ====================
+
+    /** Maximum distance between two plushes being linked, in blocks. */
+    public static final int MAX_LINK_DISTANCE = 64;
+
+    /** Time after which a selected first plush is forgotten (one minute). */
+    private static final long PENDING_LINK_TIMEOUT_TICKS = 60L * 20L;
+
+    /** Name of the saved data file. */
+    private static final String DATA_NAME = "tetomod_plush_networks";
+
+    /** Initial capacity of the node arrays. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Marker for absent positions in {@link #indexByPos}. */
+    private static final int NO_NODE = -1;
+
+    /** NBT key for the list of networks. */
+    private static final String NBT_NETWORKS = "Networks";
+
+    /** NBT key for the member positions of a network. */
+    private static final String NBT_MEMBERS = "Members";
+
+    /** NBT key for the shared state of a network, stamped with the block entity data version. */
+    private static final String NBT_STATE = "State";
+
+    /** Factory creating or loading the store for a level. */
+    private static final SavedData.Factory<PlushNetworkData> FACTORY =
+            new SavedData.Factory<>(PlushNetworkData::new, PlushNetworkData::load, null);
+
+    /** Node index of each linked plush position. */
+    private final Long2IntOpenHashMap indexByPos = new Long2IntOpenHashMap();
+
+    /** Position of each node. */
+    private long[] positions = new long[INITIAL_CAPACITY];
+
+    /** Union-find parent of each node; roots are their own parent. */
+    private int[] parent = new int[INITIAL_CAPACITY];
+
+    /** Union-find rank of each root, bounding tree height. */
+    private byte[] rank = new byte[INITIAL_CAPACITY];
+
+    /** Number of nodes in use. */
+    private int size = 0;
+
+    /** Shared state of each network, keyed by the node index of its root. */
+    private final Int2ObjectOpenHashMap<PlushQuestState> states = new Int2ObjectOpenHashMap<>();
+
+    /** Incremented whenever membership changes, so block entities know to look up their state again. */
+    private int generation = 0;
+
+    /** Plush each player selected as the first half of a link, not saved. */
+    private final Map<UUID, PendingLink> pendingLinks = new HashMap<>();
+
+    /**
+     * A plush selected as the first half of a link.
+     *
+     * @param pos      the selected plush
+     * @param gameTime the game time it was selected at
+     */
+    private record PendingLink(BlockPos pos, long gameTime) {
+    }
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new, empty PlushNetworkData.
+     */
+    public PlushNetworkData() {
+        indexByPos.defaultReturnValue(NO_NODE);
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Gets the network store of a level, creating it if needed.
+     *
+     * @param level the level
+     * @return the level's network store
+     */
+    public static PlushNetworkData get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(FACTORY, DATA_NAME);
+    }
+
+    /**
+     * Forgets the link selections of a player who logs out, in every level.
+     *
+     * @param event the logout event
+     */
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity().getServer() == null) {
+            return;
+        }
+
+        UUID player = event.getEntity().getUUID();
+        for (ServerLevel level : event.getEntity().getServer().getAllLevels()) {
+            // Only levels whose store is already loaded can hold a selection
+            PlushNetworkData data = level.getDataStorage().get(FACTORY, DATA_NAME);
+            if (data != null) {
+                data.pendingLinks.remove(player);
+            }
+        }
+    }
+
+    /**
+     * Loads a network store.
+     *
+     * @param tag        the saved tag
+     * @param registries the registry lookup for decoding cached requirements
+     * @return the network store
+     */
+    private static PlushNetworkData load(CompoundTag tag, HolderLookup.Provider registries) {
+        PlushNetworkData data = new PlushNetworkData();
+        ListTag networks = tag.getList(NBT_NETWORKS, Tag.TAG_COMPOUND);
+
+        for (int i = 0; i < networks.size(); i++) {
+            CompoundTag network = networks.getCompound(i);
+            long[] members = network.getLongArray(NBT_MEMBERS);
+            if (members.length == 0) {
+                continue;
+            }
+
+            // States use the block entity's layout and go through the same upgrade chain
+            CompoundTag stateTag = PlushBlockEntity.upgradeData(network.getCompound(NBT_STATE));
+            int first = data.addNode(members[0]);
+            data.states.put(first, PlushBlockEntity.loadQuestState(stateTag, registries, BlockPos.of(members[0])));
+            for (int m = 1; m < members.length; m++) {
+                data.union(first, data.addNode(members[m]));
+            }
+        }
+        return data;
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the membership generation, which changes whenever a plush joins or leaves a network.
+     *
+     * @return the generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the shared state of the network a plush belongs to.
+     *
+     * @param pos the plush position
+     * @return the shared state, or null if the plush is not linked
+     */
+    @Nullable
+    public PlushQuestState getState(BlockPos pos) {
+        int node = indexByPos.get(pos.asLong());
+        return node == NO_NODE ? null : states.get(find(node));
+    }
+
+    /**
+     * Counts the members of the network a plush belongs to.
+     *
+     * @param pos the plush position
+     * @return the number of members, or 0 if the plush is not linked
+     */
+    public int getNetworkSize(BlockPos pos) {
+        int node = indexByPos.get(pos.asLong());
+        if (node == NO_NODE) {
+            return 0;
+        }
+
+        int root = find(node);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (find(i) == root) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Remembers the plush a player selected as the first half of a link.
+     *
+     * @param player   the player's UUID
+     * @param pos      the selected plush
+     * @param gameTime the current game time
+     */
+    public void setPendingLink(UUID player, BlockPos pos, long gameTime) {
+        pendingLinks.put(player, new PendingLink(pos.immutable(), gameTime));
+    }
+
+    /**
+     * Takes the plush a player selected as the first half of a link, unless the
+     * selection has timed out.
+     *
+     * @param player   the player's UUID
+     * @param gameTime the current game time
+     * @return the selected plush, or null if none is pending
+     */
+    @Nullable
+    public BlockPos takePendingLink(UUID player, long gameTime) {
+        PendingLink pending = pendingLinks.remove(player);
+        if (pending == null || gameTime - pending.gameTime() > PENDING_LINK_TIMEOUT_TICKS) {
+            return null;
+        }
+        return pending.pos();
+    }
+
+    /**
+     * Links a plush into the network of another.
+     * <p>
+     * If the first plush is not linked yet, a network is created for it with a copy of
+     * its state. If the second plush already belongs to a different network, the two
+     * networks merge and keep the first network's state.
+     *
+     * @param first      the plush whose network is joined
+     * @param firstState the first plush's current state
+     * @param second     the plush joining the network
+     */
+    public void link(BlockPos first, PlushQuestState firstState, BlockPos second) {
+        int a = indexByPos.get(first.asLong());
+        if (a == NO_NODE) {
+            a = addNode(first.asLong());
+            states.put(a, firstState.copy());
+        }
+
+        int b = indexByPos.get(second.asLong());
+        if (b == NO_NODE) {
+            b = addNode(second.asLong());
+        }
+
+        union(a, b);
+        generation++;
+        setDirty();
+    }
+
+    /**
+     * Removes a plush from its network.
+     *
+     * @param pos the plush position
+     * @return the state the plush shared until now, or null if it was not linked
+     */
+    @Nullable
+    public PlushQuestState unlink(BlockPos pos) {
+        int node = indexByPos.get(pos.asLong());
+        if (node == NO_NODE) {
+            return null;
+        }
+
+        PlushQuestState shared = states.get(find(node));
+        rebuildWithout(node);
+        generation++;
+        setDirty();
+        return shared;
+    }
+
+    /**
+     * Adds a plush as a single-node set.
+     *
+     * @param pos the packed plush position
+     * @return the new node index
+     */
+    private int addNode(long pos) {
+        if (size == positions.length) {
+            int capacity = size * 2;
+            positions = Arrays.copyOf(positions, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            rank = Arrays.copyOf(rank, capacity);
+        }
+
+        int node = size++;
+        positions[node] = pos;
+        parent[node] = node;
+        rank[node] = 0;
+        indexByPos.put(pos, node);
+        return node;
+    }
+
+    /**
+     * Finds the root of a node's set, halving the path on the way.
+     *
+     * @param node the node index
+     * @return the root node index
+     */
+    private int find(int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    /**
+     * Merges the sets of two nodes by rank, keeping the state of the first node's set.
+     *
+     * @param a a node whose set's state is kept
+     * @param b a node whose set's state is discarded
+     */
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return;
+        }
+
+        PlushQuestState kept = states.remove(rootA);
+        states.remove(rootB);
+
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+            rootA = rootB;
+        } else {
+            parent[rootB] = rootA;
+            if (rank[rootA] == rank[rootB]) {
+                rank[rootA]++;
+            }
+        }
+
+        if (kept != null) {
+            states.put(rootA, kept);
+        }
+    }
+
+    /**
+     * Rebuilds the structure without one node, keeping every other network and its state.
+     *
+     * @param removed the node index to drop
+     */
+    private void rebuildWithout(int removed) {
+        long[] oldPositions = positions;
+        int[] oldRoots = new int[size];
+        for (int i = 0; i < size; i++) {
+            oldRoots[i] = find(i);
+        }
+        Int2ObjectOpenHashMap<PlushQuestState> oldStates = new Int2ObjectOpenHashMap<>(states);
+        int oldSize = size;
+
+        indexByPos.clear();
+        states.clear();
+        positions = new long[Math.max(INITIAL_CAPACITY, oldSize)];
+        parent = new int[positions.length];
+        rank = new byte[positions.length];
+        size = 0;
+
+        // First new node of each old network, which receives the network's state
+        Int2IntOpenHashMap firstOfNetwork = new Int2IntOpenHashMap();
+        firstOfNetwork.defaultReturnValue(NO_NODE);
+        for (int i = 0; i < oldSize; i++) {
+            if (i == removed) {
+                continue;
+            }
+
+            int node = addNode(oldPositions[i]);
+            int first = firstOfNetwork.get(oldRoots[i]);
+            if (first == NO_NODE) {
+                firstOfNetwork.put(oldRoots[i], node);
+                states.put(node, oldStates.get(oldRoots[i]));
+            } else {
+                union(first, node);
+            }
+        }
+    }
+
+    // ==================== Overridden Methods ====================
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        Int2ObjectOpenHashMap<LongArrayList> members = new Int2ObjectOpenHashMap<>();
+        for (int i = 0; i < size; i++) {
+            members.computeIfAbsent(find(i), root -> new LongArrayList()).add(positions[i]);
+        }
+
+        ListTag networks = new ListTag();
+        for (Int2ObjectMap.Entry<LongArrayList> e : members.int2ObjectEntrySet()) {
+            CompoundTag stateTag = new CompoundTag();
+            PlushBlockEntity.saveQuestState(states.get(e.getIntKey()), stateTag);
+            PlushBlockEntity.stampDataVersion(stateTag);
+
+            CompoundTag network = new CompoundTag();
+            network.put(NBT_MEMBERS, new LongArrayTag(e.getValue().toLongArray()));
+            network.put(NBT_STATE, stateTag);
+            networks.add(network);
+        }
+        tag.put(NBT_NETWORKS, networks);
+        return tag;
+    }
+}
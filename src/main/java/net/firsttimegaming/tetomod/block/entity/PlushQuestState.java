@@ -0,0 +1,155 @@
+package net.firsttimegaming.tetomod.block.entity;
+
+import net.firsttimegaming.tetomod.config.PlushItemEntry;
+import net.firsttimegaming.tetomod.config.PlushTierConfig;
+import net.firsttimegaming.tetomod.util.WeightedRandomUtils;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Quest and progress state of a plush: the selected tier, unlocked tiers, reroll
+ * cooldown, rolled quests and completion counts.
+ * <p>
+ * The requirements of every quest slot of every tier are packed into one array at
+ * {@code tier * MAX_QUEST_SLOTS + slot}.
+ * <p>
+ * An unlinked plush owns its state. Plushes linked into a network all reference the
+ * single instance held by {@link PlushNetworkData}, so they share one quest and one
+ * set of progress.
+ */
+public class PlushQuestState {
+
+    // ==================== Class Variables ====================
+
+    /** Number of quest entries stored per state. */
+    static final int QUEST_COUNT = PlushBlockEntity.MAX_TIER * PlushTierConfig.MAX_QUEST_SLOTS;
+
+    /**
+     * Shared state of plushes that have never been traded with. It has no quest storage
+     * and an immutable completion map, so it cannot be modified; block entities replace
+     * it with their own instance before any change.
+     */
+    static final PlushQuestState PRISTINE = new PlushQuestState(new PlushItemEntry[0], Map.of());
+
+    /** The currently selected tier index (0-based). */
+    public int selectedTier = 0;
+
+    /** The highest tier unlocked based on completions. */
+    public int maxUnlockedTier = 0;
+
+    /** The last game time when a reroll was performed. */
+    public long lastRerollGameTime = 0L;
+
+    /** Completion count for each tier. */
+    public final Map<Integer, Integer> tierCompletions;
+
+    /** Requirement of every quest slot, see {@link #questIndex(int, int)}. Null where no quest has been rolled. */
+    private final PlushItemEntry[] quests;
+
+    /**
+     * Incremented whenever a member of a network changes the state, so the other members
+     * know to refresh their requirement slot.
+     */
+    transient int revision = 0;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new, empty PlushQuestState.
+     */
+    public PlushQuestState() {
+        this(new PlushItemEntry[QUEST_COUNT], new HashMap<>());
+    }
+
+    /**
+     * Constructs a new PlushQuestState with the given storage.
+     *
+     * @param quests          the quest array
+     * @param tierCompletions the completion count for each tier
+     */
+    private PlushQuestState(PlushItemEntry[] quests, Map<Integer, Integer> tierCompletions) {
+        this.quests = quests;
+        this.tierCompletions = tierCompletions;
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Gets the index of a quest slot in the packed quest array.
+     *
+     * @param tier the tier index (0-based)
+     * @param slot the quest slot (0-based)
+     * @return the array index
+     */
+    static int questIndex(int tier, int slot) {
+        return tier * PlushTierConfig.MAX_QUEST_SLOTS + slot;
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Creates an independent, modifiable copy of this state.
+     *
+     * @return the copy
+     */
+    public PlushQuestState copy() {
+        PlushQuestState copy = new PlushQuestState();
+        copy.selectedTier = selectedTier;
+        copy.maxUnlockedTier = maxUnlockedTier;
+        copy.lastRerollGameTime = lastRerollGameTime;
+        copy.tierCompletions.putAll(tierCompletions);
+        for (int i = 0; i < quests.length; i++) {
+            copy.quests[i] = WeightedRandomUtils.copyEntry(quests[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the requirement of a quest slot.
+     *
+     * @param tier the tier index (0-based)
+     * @param slot the quest slot (0-based)
+     * @return the requirement, or null if none has been rolled
+     */
+    @Nullable
+    public PlushItemEntry getQuest(int tier, int slot) {
+        int index = questIndex(tier, slot);
+        return index < quests.length ? quests[index] : null;
+    }
+
+    /**
+     * Sets the requirement of a quest slot.
+     *
+     * @param tier  the tier index (0-based)
+     * @param slot  the quest slot (0-based)
+     * @param entry the requirement, or null to clear the slot
+     * @return true if the slot held a different requirement before
+     * @throws UnsupportedOperationException if this is the shared {@link #PRISTINE} state
+     */
+    public boolean setQuest(int tier, int slot, @Nullable PlushItemEntry entry) {
+        if (this == PRISTINE) {
+            throw new UnsupportedOperationException("The shared pristine quest state must not be modified");
+        }
+
+        int index = questIndex(tier, slot);
+        PlushItemEntry previous = quests[index];
+        quests[index] = entry;
+        return previous != entry;
+    }
+
+    /**
+     * Gets the total number of completions across all tiers.
+     *
+     * @return the total completion count
+     */
+    public int getTotalCompletions() {
+        int total = 0;
+        for (int completed : tierCompletions.values()) {
+            total += completed;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,138 @@
+package net.firsttimegaming.tetomod.block.entity;
+
+import net.firsttimegaming.tetomod.screen.PlushMenu;
+import net.firsttimegaming.tetomod.util.TimerWheel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.util.UUID;
+
+/**
+ * Tells players when a plush's reroll cooldown is over.
+ * <p>
+ * Each reroll schedules one timer in a server-wide {@link TimerWheel}, which the server
+ * tick advances by a single bucket check. Plushes themselves never tick and nothing
+ * polls their cooldowns. When a timer fires, the player who rerolled and everyone
+ * viewing that plush's menu get one message, and the viewers' menus are sent the
+ * flipped reroll ready flag. Open menus count the cooldown down on their own, so this
+ * is the only update they get until the next reroll. Pending timers are not saved; a
+ * restart during a cooldown only loses the message.
+ */
+public final class RerollCooldownNotifier {
+
+    // ==================== Class Variables ====================
+
+    /** Number of wheel buckets; with one-second buckets a revolution is about four minutes. */
+    private static final int WHEEL_BUCKETS = 256;
+
+    /** Ticks covered by each wheel bucket, so expiry messages are at most a second late. */
+    private static final int TICKS_PER_BUCKET = 20;
+
+    /** Pending cooldown expiries, null while no server is running. */
+    private static TimerWheel<Expiry> wheel;
+
+    /**
+     * A scheduled cooldown expiry.
+     *
+     * @param dimension the dimension of the plush
+     * @param pos       the plush position
+     * @param player    the player who rerolled
+     */
+    private record Expiry(ResourceKey<Level> dimension, BlockPos pos, UUID player) {
+    }
+
+    // ==================== Constructor ====================
+
+    private RerollCooldownNotifier() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Schedules a message for when a plush's reroll cooldown ends.
+     *
+     * @param level      the level the plush is in
+     * @param pos        the plush position
+     * @param player     the player who rerolled
+     * @param delayTicks the remaining cooldown in ticks
+     */
+    public static void schedule(ServerLevel level, BlockPos pos, UUID player, long delayTicks) {
+        if (wheel == null) {
+            wheel = new TimerWheel<>(WHEEL_BUCKETS, TICKS_PER_BUCKET);
+        }
+        wheel.schedule(delayTicks, new Expiry(level.dimension(), pos.immutable(), player));
+    }
+
+    /**
+     * Advances the timer wheel by one tick.
+     *
+     * @param event the server tick event
+     */
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (wheel != null) {
+            MinecraftServer server = event.getServer();
+            wheel.advance(expiry -> fire(server, expiry));
+        }
+    }
+
+    /**
+     * Drops every pending expiry, used when the server stops.
+     */
+    public static void clear() {
+        wheel = null;
+    }
+
+    /**
+     * Handles an expired timer.
+     * <p>
+     * If the plush is loaded and its cooldown is still running (the game was frozen, or
+     * the plush was replaced and rerolled again), the timer is rescheduled instead. A
+     * broken plush sends nothing. An unloaded plush is not loaded: game time passes in
+     * every dimension, so its cooldown is over as well.
+     *
+     * @param server the server
+     * @param expiry the expired timer
+     */
+    private static void fire(MinecraftServer server, Expiry expiry) {
+        ServerLevel level = server.getLevel(expiry.dimension());
+        if (level == null) {
+            return;
+        }
+
+        if (level.isLoaded(expiry.pos())) {
+            if (!(level.getBlockEntity(expiry.pos()) instanceof PlushBlockEntity plush)) {
+                return;
+            }
+
+            long remaining = plush.getRerollCooldownRemainingTicks();
+            if (remaining > 0) {
+                wheel.schedule(remaining, expiry);
+                return;
+            }
+        }
+
+        BlockPos pos = expiry.pos();
+        Component message = Component.literal("The plush at " + pos.getX() + " " + pos.getY() + " " + pos.getZ()
+                + " can reroll its quests again.");
+
+        ServerPlayer rerolled = server.getPlayerList().getPlayer(expiry.player());
+        if (rerolled != null) {
+            rerolled.displayClientMessage(message, false);
+        }
+        for (ServerPlayer viewer : level.players()) {
+            if (viewer.containerMenu instanceof PlushMenu menu && menu.blockEntity.getBlockPos().equals(pos)) {
+                menu.broadcastChanges();
+                if (viewer != rerolled) {
+                    viewer.displayClientMessage(message, true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package net.firsttimegaming.tetomod.command;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.firsttimegaming.tetomod.TetoMod;
+import net.firsttimegaming.tetomod.journal.JournalRecord;
+import net.firsttimegaming.tetomod.journal.TradeJournal;
+import net.firsttimegaming.tetomod.leaderboard.PlushLeaderboards;
+import net.firsttimegaming.tetomod.leaderboard.TopKTracker;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Registers the {@code /tetomod} command tree.
+ * <p>
+ * Subcommands:
+ * <ul>
+ *   <li>{@code /tetomod journal [page]} - pages through the trade journal, newest first</li>
+ *   <li>{@code /tetomod top <board>} - lists the leading players of a leaderboard</li>
+ * </ul>
+ */
+public final class ModCommands {
+
+    // ==================== Class Variables ====================
+
+    /** Permission level required for the journal (game masters). */
+    private static final int PERMISSION_LEVEL = 2;
+
+    /** Number of journal records shown per page. */
+    private static final int JOURNAL_PAGE_SIZE = 10;
+
+    /** Format of record times in the journal listing. */
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    // ==================== Constructor ====================
+
+    private ModCommands() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Registers the command tree.
+     *
+     * @param event the command registration event
+     */
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        LiteralArgumentBuilder<CommandSourceStack> top = Commands.literal("top");
+        for (PlushLeaderboards.Board board : PlushLeaderboards.Board.values()) {
+            top.then(Commands.literal(board.getId())
+                    .executes(context -> showLeaderboard(context.getSource(), board)));
+        }
+
+        LiteralArgumentBuilder<CommandSourceStack> root = Commands.literal(TetoMod.MOD_ID)
+                .then(Commands.literal("journal")
+                        .requires(source -> source.hasPermission(PERMISSION_LEVEL))
+                        .executes(context -> showJournal(context.getSource(), 1))
+                        .then(Commands.argument("page", IntegerArgumentType.integer(1))
+                                .executes(context -> showJournal(context.getSource(),
+                                        IntegerArgumentType.getInteger(context, "page")))))
+                .then(top);
+
+        event.getDispatcher().register(root);
+    }
+
+    /**
+     * Lists one page of journal records.
+     *
+     * @param source the command source
+     * @param page   the page number (1-based)
+     * @return the number of records listed
+     */
+    private static int showJournal(CommandSourceStack source, int page) {
+        List<JournalRecord> records;
+        try {
+            records = TradeJournal.readRecent((page - 1) * JOURNAL_PAGE_SIZE, JOURNAL_PAGE_SIZE);
+        } catch (IOException e) {
+            TetoMod.LOGGER.error("Failed to read the trade journal", e);
+            source.sendFailure(Component.literal("Failed to read the trade journal: " + e.getMessage()));
+            return 0;
+        }
+
+        if (records.isEmpty()) {
+            source.sendSuccess(() -> Component.literal("No journal records on page " + page + "."), false);
+            return 0;
+        }
+
+        MinecraftServer server = source.getServer();
+        source.sendSuccess(() -> Component.literal("Trade journal, page " + page + " (newest first):")
+                .withStyle(ChatFormatting.GOLD), false);
+        for (JournalRecord record : records) {
+            Component line = Component.literal(describe(server, record));
+            source.sendSuccess(() -> line, false);
+        }
+        return records.size();
+    }
+
+    /**
+     * Lists the leading players of a leaderboard.
+     *
+     * @param source the command source
+     * @param board  the leaderboard
+     * @return the number of players listed
+     */
+    private static int showLeaderboard(CommandSourceStack source, PlushLeaderboards.Board board) {
+        MinecraftServer server = source.getServer();
+        List<TopKTracker.Entry> entries = PlushLeaderboards.get(server).getTop(board);
+
+        if (entries.isEmpty()) {
+            source.sendSuccess(() -> Component.literal(board.getTitle() + ": nobody yet."), false);
+            return 0;
+        }
+
+        source.sendSuccess(() -> Component.literal(board.getTitle() + ":").withStyle(ChatFormatting.GOLD), false);
+        for (int i = 0; i < entries.size(); i++) {
+            TopKTracker.Entry entry = entries.get(i);
+            Component line = Component.literal((i + 1) + ". " + playerName(server, entry.player()) + " - "
+                    + entry.score());
+            source.sendSuccess(() -> line, false);
+        }
+        return entries.size();
+    }
+
+    /**
+     * Describes a journal record in one line.
+     *
+     * @param server the server, used to resolve player names and dimensions
+     * @param record the record
+     * @return the description
+     */
+    private static String describe(MinecraftServer server, JournalRecord record) {
+        String who = record.player() == null ? "automation" : playerName(server, record.player());
+        String action = switch (record.type()) {
+            case TRADE, AUTOMATED_TRADE -> "traded " + record.count() + "x " + record.itemName()
+                    + " for " + (record.rewardStacks() == 0 ? "nothing"
+                    : record.rewardCount() + "x " + record.rewardName()
+                    + (record.rewardStacks() > 1 ? " (+" + (record.rewardStacks() - 1) + " stacks)" : ""))
+                    + " on quest " + (record.questSlot() + 1);
+            case REROLL -> "rerolled the quests";
+            case UPGRADE -> "unlocked with " + record.count() + "x " + record.itemName();
+        };
+        BlockPos pos = record.pos();
+
+        return TIME_FORMAT.format(Instant.ofEpochMilli(record.epochMillis())) + " " + who + " " + action
+                + ", tier " + (record.tier() + 1) + " at " + pos.getX() + " " + pos.getY() + " " + pos.getZ()
+                + " in " + dimensionName(server, record.dimensionHash());
+    }
+
+    /**
+     * Resolves the name of a player from the server's profile cache.
+     *
+     * @param server the server
+     * @param player the player's UUID
+     * @return the player name, or the UUID if the player is unknown
+     */
+    private static String playerName(MinecraftServer server, UUID player) {
+        if (server.getProfileCache() != null) {
+            var profile = server.getProfileCache().get(player);
+            if (profile.isPresent()) {
+                return profile.get().getName();
+            }
+        }
+        return player.toString();
+    }
+
+    /**
+     * Resolves a dimension from the hash code of its ID.
+     *
+     * @param server        the server
+     * @param dimensionHash the hash code of the dimension ID
+     * @return the dimension ID, or "unknown dimension" if no loaded dimension matches
+     */
+    private static String dimensionName(MinecraftServer server, int dimensionHash) {
+        for (ResourceKey<Level> key : server.levelKeys()) {
+            if (key.location().hashCode() == dimensionHash) {
+                return key.location().toString();
+            }
+        }
+        return "unknown dimension";
+    }
+}
@@ -0,0 +1,133 @@
+package net.firsttimegaming.tetomod.config;
+
+import net.firsttimegaming.tetomod.TetoMod;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Background writer that persists a config file atomically.
+ * <p>
+ * Every write goes to a temporary file next to the target, is forced to disk, and is
+ * then moved over the target in one step, so a crash leaves either the old or the new
+ * file but never a truncated one. Save requests only record the latest content, which
+ * callers serialize on their own thread so the writer never reads live config objects;
+ * a burst of requests made before the writer thread gets to them results in a single
+ * write of the newest content.
+ */
+public final class AtomicConfigWriter {
+
+    // ==================== Class Variables ====================
+
+    /** Suffix of the temporary file written before the atomic move. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** Maximum time to wait for pending writes when flushing, in seconds. */
+    private static final long FLUSH_TIMEOUT_SECONDS = 10;
+
+    /** The file this writer persists. */
+    private final Path path;
+
+    /** The single daemon thread performing writes. */
+    private final ExecutorService executor;
+
+    /** The newest content waiting to be written, or null if nothing is pending. */
+    private final AtomicReference<String> pending = new AtomicReference<>();
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new AtomicConfigWriter.
+     *
+     * @param path the file to persist
+     */
+    public AtomicConfigWriter(Path path) {
+        this.path = path;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TetoMod Config Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Writes content to a file atomically on the calling thread.
+     *
+     * @param path    the file to write
+     * @param content the file content
+     * @throws IOException if the temporary file cannot be written or moved
+     */
+    public static void writeAtomically(Path path, String content) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Requests that the file be written with the given content.
+     * <p>
+     * If a request is already pending, it is replaced and no extra write is scheduled.
+     *
+     * @param content the complete file content
+     */
+    public void requestSave(String content) {
+        if (pending.getAndSet(content) == null) {
+            executor.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Blocks until all requested writes have completed, e.g. on server shutdown.
+     */
+    public void flush() {
+        try {
+            executor.submit(() -> { }).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            TetoMod.LOGGER.error("Timed out waiting for {} to be written", path.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Writes the newest pending content, if any.
+     */
+    private void writePending() {
+        String content = pending.getAndSet(null);
+        if (content == null) {
+            return;
+        }
+
+        try {
+            writeAtomically(path, content);
+        } catch (IOException | RuntimeException e) {
+            TetoMod.LOGGER.error("Failed to write {}", path.toAbsolutePath(), e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package net.firsttimegaming.tetomod.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import net.firsttimegaming.tetomod.TetoMod;
+import net.firsttimegaming.tetomod.block.entity.PlushBlockEntity;
+import net.firsttimegaming.tetomod.network.ModPayloads;
+import net.minecraft.Util;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.Item;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Generates tier requirement and reward pools from estimated item values.
+ * <p>
+ * Enabled with {@code "generatePools": true} in the config file. On server start the
+ * recipe graph is snapshotted, and a background job estimates item values with
+ * {@link ItemValueEstimator}, splits the obtainable items into one value band per tier,
+ * and samples each tier's requirements from its own band and its rewards from the band
+ * above. The generated pools are cached on disk under the recipe set's hash, so later
+ * boots with the same recipes skip the estimation. Unlock requirements, tier locks,
+ * loot tables and profiles still come from the config file.
+ */
+public final class GeneratedTierPools {
+
+    // ==================== Class Variables ====================
+
+    /** GSON instance for writing the cache file. */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /** Directory under the config directory holding the cache file. */
+    private static final String CACHE_DIR = "tetomod_cache";
+
+    /** Cache file name prefix, followed by the recipe set hash. */
+    private static final String CACHE_PREFIX = "generated_pools_";
+
+    /** Cache file name suffix. */
+    private static final String CACHE_SUFFIX = ".json";
+
+    /** Maximum number of entries per generated pool. */
+    private static final int POOL_SIZE = 16;
+
+    /** How many items of its own band's median value a requirement is worth. */
+    private static final double REQUIREMENT_MEDIAN_MULTIPLIER = 8.0;
+
+    /** How much more a reward is worth than the requirement it is traded for. */
+    private static final double REWARD_MARKUP = 1.5;
+
+    /** Highest weight given to the cheapest rewards of a pool. */
+    private static final int MAX_REWARD_WEIGHT = 8;
+
+    /** Prefix for tier keys in the configuration. */
+    private static final String TIER_KEY_PREFIX = "t";
+
+    // ==================== Constructor ====================
+
+    private GeneratedTierPools() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Starts pool generation if it is enabled in the config file.
+     * <p>
+     * The recipe snapshot is taken on the server thread; estimation, generation and
+     * disk I/O run on the background executor, and the result is applied back on the
+     * server thread and sent to connected players.
+     *
+     * @param event the server started event
+     */
+    public static void onServerStarted(ServerStartedEvent event) {
+        if (!PlushTierConfigManager.getFileRoot().generatePools) {
+            return;
+        }
+
+        MinecraftServer server = event.getServer();
+        HolderLookup.Provider registries = server.registryAccess();
+        ItemValueEstimator estimator = ItemValueEstimator.fromRecipes(server.getRecipeManager(), registries);
+
+        CompletableFuture.supplyAsync(() -> loadOrGenerate(estimator), Util.backgroundExecutor())
+                .thenApply(generated -> PlushTierConfigManager.compileGenerated(generated, registries))
+                .thenAcceptAsync(compiled -> {
+                    PlushTierConfigManager.applyGeneratedConfig(compiled);
+                    ModPayloads.syncToAllPlayers();
+                }, server)
+                .exceptionally(e -> {
+                    TetoMod.LOGGER.error("Failed to generate plush tier pools", e);
+                    return null;
+                });
+    }
+
+    /**
+     * Loads the cached pools for the estimator's recipe set, generating and caching them if absent.
+     *
+     * @param estimator the recipe graph snapshot
+     * @return the generated pools
+     */
+    private static PlushConfigRoot loadOrGenerate(ItemValueEstimator estimator) {
+        Path dir = FMLPaths.CONFIGDIR.get().resolve(CACHE_DIR);
+        Path path = dir.resolve(CACHE_PREFIX + estimator.getRecipeHash() + CACHE_SUFFIX);
+
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                PlushConfigRoot cached = PlushConfigParser.upgrade(PlushConfigParser.parse(reader));
+                TetoMod.LOGGER.info("Loaded generated plush tier pools from {}", path.getFileName());
+                return cached;
+            } catch (IOException | JsonParseException | IllegalStateException e) {
+                TetoMod.LOGGER.warn("Ignoring unreadable pool cache {}", path.getFileName(), e);
+            }
+        }
+
+        long start = Util.getMillis();
+        PlushConfigRoot generated = generate(estimator, estimator.computeValues());
+        TetoMod.LOGGER.info("Generated plush tier pools in {} ms", Util.getMillis() - start);
+
+        writeCache(dir, path, generated);
+        return generated;
+    }
+
+    /**
+     * Writes the cache file, removing caches of other recipe sets.
+     *
+     * @param dir       the cache directory
+     * @param path      the cache file for the current recipe set
+     * @param generated the generated pools
+     */
+    private static void writeCache(Path dir, Path path, PlushConfigRoot generated) {
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(dir, CACHE_PREFIX + "*" + CACHE_SUFFIX)) {
+                for (Path file : stale) {
+                    if (!file.equals(path)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            AtomicConfigWriter.writeAtomically(path, GSON.toJson(generated));
+        } catch (IOException e) {
+            TetoMod.LOGGER.warn("Failed to write pool cache {}", path.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Builds the tier pools from item values.
+     *
+     * @param estimator the recipe graph snapshot
+     * @param values    the item values, indexed by item registry ID
+     * @return a configuration root holding only the generated pools
+     */
+    private static PlushConfigRoot generate(ItemValueEstimator estimator, double[] values) {
+        List<Integer> obtainable = new ArrayList<>();
+        for (int id = 0; id < estimator.getItemCount(); id++) {
+            if (estimator.isInRecipeGraph(id)) {
+                obtainable.add(id);
+            }
+        }
+        int[] ids = obtainable.stream().mapToInt(Integer::intValue).toArray();
+        int[] sorted = ItemValueEstimator.sortByValue(values, ids);
+
+        // One band per tier plus one above the last tier for its rewards
+        int bandCount = PlushBlockEntity.MAX_TIER + 1;
+        PlushConfigRoot root = new PlushConfigRoot();
+
+        for (int tier = 0; tier < PlushBlockEntity.MAX_TIER; tier++) {
+            int[] band = band(sorted, tier, bandCount);
+            int[] rewardBand = band(sorted, tier + 1, bandCount);
+            if (band.length == 0 || rewardBand.length == 0) {
+                continue;
+            }
+
+            double target = values[band[band.length / 2]] * REQUIREMENT_MEDIAN_MULTIPLIER;
+            PlushTierConfig config = new PlushTierConfig();
+
+            for (int id : sample(band)) {
+                int count = countFor(estimator, id, values, target);
+                config.itemsToGive.add(new PlushItemEntry(itemId(estimator, id), count, 1));
+            }
+
+            // Cheaper rewards are weighted to come up more often
+            double rewardTarget = target * REWARD_MARKUP;
+            double cheapestReward = values[rewardBand[0]];
+            for (int id : sample(rewardBand)) {
+                int count = countFor(estimator, id, values, rewardTarget);
+                int weight = Mth.clamp((int) Math.round(MAX_REWARD_WEIGHT * cheapestReward / values[id]),
+                        1, MAX_REWARD_WEIGHT);
+                config.itemsToReceive.add(new PlushItemEntry(itemId(estimator, id), count, weight));
+            }
+
+            root.tiers.put(TIER_KEY_PREFIX + (tier + 1), config);
+        }
+        return root;
+    }
+
+    /**
+     * Gets one of several equally sized slices of the sorted items.
+     *
+     * @param sorted    the item IDs sorted by value
+     * @param index     the band index
+     * @param bandCount the number of bands
+     * @return the item IDs in the band
+     */
+    private static int[] band(int[] sorted, int index, int bandCount) {
+        int from = (int) ((long) sorted.length * index / bandCount);
+        int to = (int) ((long) sorted.length * (index + 1) / bandCount);
+        int[] band = new int[to - from];
+        System.arraycopy(sorted, from, band, 0, band.length);
+        return band;
+    }
+
+    /**
+     * Picks up to {@link #POOL_SIZE} evenly spaced items from a band.
+     *
+     * @param band the item IDs in the band, sorted by value
+     * @return the sampled item IDs
+     */
+    private static int[] sample(int[] band) {
+        int size = Math.min(POOL_SIZE, band.length);
+        int[] picked = new int[size];
+        for (int i = 0; i < size; i++) {
+            picked[i] = band[(int) ((long) i * band.length / size)];
+        }
+        return picked;
+    }
+
+    /**
+     * Gets the stack size whose total value is closest to a target.
+     *
+     * @param estimator the recipe graph snapshot
+     * @param id        the item registry ID
+     * @param values    the item values
+     * @param target    the target total value
+     * @return the count, between 1 and the item's max stack size
+     */
+    private static int countFor(ItemValueEstimator estimator, int id, double[] values, double target) {
+        Item item = estimator.getItem(id);
+        return Mth.clamp((int) Math.round(target / values[id]), 1, item.getDefaultMaxStackSize());
+    }
+
+    /**
+     * Gets the configuration ID of an item.
+     *
+     * @param estimator the recipe graph snapshot
+     * @param id        the item registry ID
+     * @return the item's registry name
+     */
+    private static String itemId(ItemValueEstimator estimator, int id) {
+        return BuiltInRegistries.ITEM.getKey(estimator.getItem(id)).toString();
+    }
+}
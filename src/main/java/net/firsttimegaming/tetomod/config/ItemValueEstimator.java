@@ -0,0 +1,401 @@
+package net.firsttimegaming.tetomod.config;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estimates a "value" for every item from the crafting and smelting recipe graph.
+ * <p>
+ * Items that no recipe produces are raw materials, valued by rarity. Every other item
+ * is worth its cheapest recipe: the summed value of the cheapest option for each
+ * ingredient plus a small processing markup, divided by the output count. Values are
+ * memoized in one array indexed by item registry ID and relaxed in repeated parallel
+ * passes until nothing gets cheaper, which also settles recipe cycles (e.g. ingots and
+ * storage blocks) without recursion.
+ * <p>
+ * The recipe graph and the raw values are snapshotted into primitive arrays on the
+ * server thread by {@link #fromRecipes}; {@link #computeValues()} only touches those
+ * arrays and is safe to run on a background thread.
+ */
+public final class ItemValueEstimator {
+
+    // ==================== Class Variables ====================
+
+    /** Version of the estimation rules, part of the recipe hash so rule changes invalidate caches. */
+    private static final int ESTIMATOR_VERSION = 1;
+
+    /** Fraction added to a crafted item's ingredient cost for the work of crafting it. */
+    private static final double CRAFTING_MARKUP = 0.05;
+
+    /** Flat cost added to smelted items for the fuel spent. */
+    private static final double SMELTING_FUEL_COST = 0.125;
+
+    /** Upper bound on relaxation passes, guarding against recipe loops that duplicate items. */
+    private static final int MAX_PASSES = 64;
+
+    /** Item ranges at or below this size are relaxed without forking further. */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    /** Raw values by rarity ordinal (common, uncommon, rare, epic). */
+    private static final double[] RARITY_VALUES = {1.0, 4.0, 16.0, 64.0};
+
+    /** Items indexed by registry ID. */
+    private final Item[] items;
+
+    /**
+     * Value of each item if no usable recipe produces it, by rarity. Taken on the server
+     * thread, since building an item's default stack is not safe on worker threads.
+     */
+    private final double[] rawValues;
+
+    /** Whether each item takes part in at least one recipe, as ingredient or output. */
+    private final boolean[] inRecipeGraph;
+
+    /** Output item ID of each recipe. */
+    private final int[] recipeOutput;
+
+    /** Output count of each recipe. */
+    private final int[] recipeOutputCount;
+
+    /** Candidate item IDs for each ingredient of each recipe. */
+    private final int[][][] recipeIngredients;
+
+    /** Whether each recipe is a smelting recipe. */
+    private final boolean[] recipeSmelted;
+
+    /** Indices of the recipes producing each item, indexed by item ID. */
+    private final int[][] recipesByOutput;
+
+    /** Hash of the recipe set and estimation rules, used as the cache key. */
+    private final String recipeHash;
+
+    // ==================== Constructor ====================
+
+    private ItemValueEstimator(Item[] items, double[] rawValues, List<CompiledRecipe> recipes, String recipeHash) {
+        this.items = items;
+        this.rawValues = rawValues;
+        this.inRecipeGraph = new boolean[items.length];
+        this.recipeOutput = new int[recipes.size()];
+        this.recipeOutputCount = new int[recipes.size()];
+        this.recipeIngredients = new int[recipes.size()][][];
+        this.recipeSmelted = new boolean[recipes.size()];
+        this.recipeHash = recipeHash;
+
+        int[] outputCounts = new int[items.length];
+        for (int r = 0; r < recipes.size(); r++) {
+            CompiledRecipe recipe = recipes.get(r);
+            recipeOutput[r] = recipe.output();
+            recipeOutputCount[r] = recipe.outputCount();
+            recipeIngredients[r] = recipe.ingredients();
+            recipeSmelted[r] = recipe.smelted();
+
+            outputCounts[recipe.output()]++;
+            inRecipeGraph[recipe.output()] = true;
+            for (int[] options : recipe.ingredients()) {
+                for (int option : options) {
+                    inRecipeGraph[option] = true;
+                }
+            }
+        }
+
+        this.recipesByOutput = new int[items.length][];
+        for (int i = 0; i < items.length; i++) {
+            recipesByOutput[i] = new int[outputCounts[i]];
+            outputCounts[i] = 0;
+        }
+        for (int r = 0; r < recipeOutput.length; r++) {
+            int output = recipeOutput[r];
+            recipesByOutput[output][outputCounts[output]++] = r;
+        }
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Snapshots the crafting and smelting recipes and the raw item values into an
+     * estimator. Must be called on the server thread, since it resolves ingredients
+     * against the current tags and builds default item stacks.
+     *
+     * @param recipeManager the server's recipe manager
+     * @param registries    the server's registry lookup
+     * @return the estimator
+     */
+    public static ItemValueEstimator fromRecipes(RecipeManager recipeManager, HolderLookup.Provider registries) {
+        Item[] items = new Item[BuiltInRegistries.ITEM.size()];
+        double[] rawValues = new double[items.length];
+        for (Item item : BuiltInRegistries.ITEM) {
+            int id = BuiltInRegistries.ITEM.getId(item);
+            items[id] = item;
+            rawValues[id] = rawValue(item);
+        }
+
+        List<RecipeHolder<?>> holders = new ArrayList<>(recipeManager.getRecipes());
+        holders.sort(Comparator.comparing(holder -> holder.id().toString()));
+
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(ESTIMATOR_VERSION);
+        hasher.putInt(items.length);
+
+        List<CompiledRecipe> recipes = new ArrayList<>();
+        for (RecipeHolder<?> holder : holders) {
+            Recipe<?> recipe = holder.value();
+            boolean smelted = recipe.getType() == RecipeType.SMELTING;
+            if (!smelted && recipe.getType() != RecipeType.CRAFTING) {
+                continue;
+            }
+
+            CompiledRecipe compiled = compile(recipe, smelted, registries);
+            if (compiled == null) {
+                continue;
+            }
+            recipes.add(compiled);
+
+            hasher.putString(holder.id().toString(), StandardCharsets.UTF_8);
+            hasher.putString(BuiltInRegistries.ITEM.getKey(items[compiled.output()]).toString(), StandardCharsets.UTF_8);
+            hasher.putInt(compiled.outputCount());
+            for (int[] options : compiled.ingredients()) {
+                hasher.putInt(options.length);
+                for (int option : options) {
+                    hasher.putString(BuiltInRegistries.ITEM.getKey(items[option]).toString(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+
+        return new ItemValueEstimator(items, rawValues, recipes, hasher.hash().toString());
+    }
+
+    /**
+     * Gets the value of an item that no usable recipe produces.
+     *
+     * @param item the item
+     * @return the raw value, based on the item's rarity
+     */
+    private static double rawValue(Item item) {
+        int rarity = item.getDefaultInstance().getRarity().ordinal();
+        return RARITY_VALUES[Math.min(rarity, RARITY_VALUES.length - 1)];
+    }
+
+    /**
+     * Sorts item IDs by ascending value, for splitting them into tier bands.
+     *
+     * @param values the item values
+     * @param ids    the item IDs to sort
+     * @return the IDs sorted by value, ties broken by ID
+     */
+    public static int[] sortByValue(double[] values, int[] ids) {
+        return Arrays.stream(ids)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(id -> values[id]).thenComparingInt(id -> id))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Converts a recipe into item ID arrays.
+     *
+     * @param recipe     the recipe
+     * @param smelted    whether the recipe is a smelting recipe
+     * @param registries the server's registry lookup
+     * @return the compiled recipe, or null if it has no result or an ingredient matches nothing
+     */
+    private static CompiledRecipe compile(Recipe<?> recipe, boolean smelted, HolderLookup.Provider registries) {
+        ItemStack result = recipe.getResultItem(registries);
+        if (result.isEmpty()) {
+            return null;
+        }
+
+        List<int[]> ingredients = new ArrayList<>();
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            if (ingredient.isEmpty()) {
+                continue;
+            }
+
+            ItemStack[] options = ingredient.getItems();
+            if (options.length == 0) {
+                return null;
+            }
+
+            int[] ids = new int[options.length];
+            for (int i = 0; i < options.length; i++) {
+                ids[i] = BuiltInRegistries.ITEM.getId(options[i].getItem());
+            }
+            ingredients.add(ids);
+        }
+
+        if (ingredients.isEmpty()) {
+            return null;
+        }
+
+        return new CompiledRecipe(BuiltInRegistries.ITEM.getId(result.getItem()), result.getCount(),
+                ingredients.toArray(new int[0][]), smelted);
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the hash of the recipe set this estimator was built from.
+     *
+     * @return the hex-encoded recipe set hash
+     */
+    public String getRecipeHash() {
+        return recipeHash;
+    }
+
+    /**
+     * Gets the item with the given registry ID.
+     *
+     * @param id the item registry ID
+     * @return the item
+     */
+    public Item getItem(int id) {
+        return items[id];
+    }
+
+    /**
+     * Gets the number of item IDs covered by the value array.
+     *
+     * @return the item count
+     */
+    public int getItemCount() {
+        return items.length;
+    }
+
+    /**
+     * Checks whether an item takes part in at least one recipe. Items outside the recipe
+     * graph (spawn eggs, command blocks, ...) are not considered obtainable.
+     *
+     * @param id the item registry ID
+     * @return true if the item is an ingredient or output of any recipe
+     */
+    public boolean isInRecipeGraph(int id) {
+        return inRecipeGraph[id];
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Computes the value of every item.
+     *
+     * @return the values, indexed by item registry ID
+     */
+    public double[] computeValues() {
+        double[] values = new double[items.length];
+        for (int i = 0; i < items.length; i++) {
+            values[i] = recipesByOutput[i].length == 0 ? rawValues[i] : Double.POSITIVE_INFINITY;
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            double[] next = new double[items.length];
+            boolean changed = pool.invoke(new RelaxTask(values, next, 0, items.length));
+            values = next;
+            if (!changed) {
+                break;
+            }
+        }
+
+        // Items whose every recipe needs an unobtainable ingredient fall back to raw values
+        for (int i = 0; i < values.length; i++) {
+            if (Double.isInfinite(values[i])) {
+                values[i] = rawValues[i];
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Computes the value of one output of a recipe from the current item values.
+     *
+     * @param recipe the recipe index
+     * @param values the current item values
+     * @return the value per output item, or infinity if an ingredient has no value yet
+     */
+    private double recipeValue(int recipe, double[] values) {
+        double cost = 0.0;
+        for (int[] options : recipeIngredients[recipe]) {
+            double cheapest = Double.POSITIVE_INFINITY;
+            for (int option : options) {
+                cheapest = Math.min(cheapest, values[option]);
+            }
+            cost += cheapest;
+        }
+
+        cost = recipeSmelted[recipe] ? cost + SMELTING_FUEL_COST : cost * (1.0 + CRAFTING_MARKUP);
+        return cost / recipeOutputCount[recipe];
+    }
+
+    /**
+     * A recipe reduced to item registry IDs.
+     *
+     * @param output      the output item ID
+     * @param outputCount the number of items produced
+     * @param ingredients candidate item IDs per ingredient
+     * @param smelted     whether the recipe is a smelting recipe
+     */
+    private record CompiledRecipe(int output, int outputCount, int[][] ingredients, boolean smelted) {
+    }
+
+    /**
+     * Fork-join task computing one relaxation pass over a range of items.
+     */
+    private final class RelaxTask extends RecursiveTask<Boolean> {
+
+        /** Values from the previous pass, read only. */
+        private final double[] values;
+
+        /** Values of this pass, each index written by exactly one task. */
+        private final double[] next;
+
+        /** First item ID of the range (inclusive). */
+        private final int from;
+
+        /** Last item ID of the range (exclusive). */
+        private final int to;
+
+        RelaxTask(double[] values, double[] next, int from, int to) {
+            this.values = values;
+            this.next = next;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                RelaxTask left = new RelaxTask(values, next, from, mid);
+                left.fork();
+                boolean right = new RelaxTask(values, next, mid, to).compute();
+                return left.join() | right;
+            }
+
+            boolean changed = false;
+            for (int i = from; i < to; i++) {
+                double best = values[i];
+                for (int recipe : recipesByOutput[i]) {
+                    best = Math.min(best, recipeValue(recipe, values));
+                }
+                next[i] = best;
+                changed |= best < values[i];
+            }
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package net.firsttimegaming.tetomod.config;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.internal.bind.JsonTreeReader;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.firsttimegaming.tetomod.TetoMod;
+import net.firsttimegaming.tetomod.util.TagMembershipCache;
+import net.firsttimegaming.tetomod.util.WeightedRandomUtils;
+import net.minecraft.resources.ResourceLocation;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Streaming parser for the plush tier config file.
+ * <p>
+ * The file is read token by token, and each entry is validated as soon as it has been
+ * read, so a malformed entry is reported with its exact line, column and JSON path
+ * without first building a tree of the whole document. Invalid values are clamped or
+ * their entry is skipped, with a warning, so one typo does not discard the rest of the
+ * file; only JSON that cannot be read at all fails the parse. Files written by older versions
+ * of the mod are brought up to {@link #CURRENT_SCHEMA_VERSION} by the upgrade steps in
+ * {@link #UPGRADES} once parsing has finished. Only the data component patches of
+ * entries are read as JSON trees, since they are decoded by codecs later.
+ * <p>
+ * Datapack tier and profile files go through the same readers via
+ * {@link #parseTier} and {@link #parseProfile}, so they share the file's defaults and
+ * validation.
+ */
+public final class PlushConfigParser {
+
+    // ==================== Class Variables ====================
+
+    /** The schema version written by this version of the mod. */
+    public static final int CURRENT_SCHEMA_VERSION = 2;
+
+    /** The version assumed for files without a schemaVersion field, i.e. the original layout. */
+    private static final int LEGACY_SCHEMA_VERSION = 1;
+
+    /**
+     * Upgrade steps keyed by the version they upgrade from; each step produces the
+     * layout of the next version. Version 2 only introduced the schemaVersion field.
+     */
+    private static final Map<Integer, UnaryOperator<PlushConfigRoot>> UPGRADES = Map.of(
+            1, root -> root
+    );
+
+    /** Class name prefix of {@link JsonReader#toString()}, stripped from error locations. */
+    private static final String READER_NAME = JsonReader.class.getSimpleName();
+
+    // ==================== Constructor ====================
+
+    private PlushConfigParser() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Parses a configuration without upgrading it; see {@link #upgrade(PlushConfigRoot)}.
+     *
+     * @param in the JSON source
+     * @return the parsed configuration, with the schema version found in the source
+     * @throws IOException           if the source cannot be read or is not well-formed JSON
+     * @throws IllegalStateException if the document does not have the config file's structure
+     * @throws JsonParseException    if the schema version is newer than this version of the mod
+     */
+    public static PlushConfigRoot parse(Reader in) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        PlushConfigRoot root = new PlushConfigRoot();
+        int version = LEGACY_SCHEMA_VERSION;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "schemaVersion" -> version = readInt(reader, LEGACY_SCHEMA_VERSION);
+                case "tiers" -> readTiers(reader, root.tiers);
+                case "tierLocks" -> readTierLocks(reader, root.tierLocks);
+                case "profiles" -> readProfiles(reader, root.profiles);
+                case "generatePools" -> root.generatePools = readBoolean(reader);
+                default -> skipUnknown(reader, name);
+            }
+        }
+        reader.endObject();
+
+        if (version > CURRENT_SCHEMA_VERSION) {
+            throw new JsonParseException("Config schema version " + version
+                    + " is newer than the supported version " + CURRENT_SCHEMA_VERSION);
+        }
+
+        root.schemaVersion = version;
+        return root;
+    }
+
+    /**
+     * Parses a datapack tier file, which has the layout of a tier in the config file plus
+     * an optional {@code requiredCompletions} value.
+     *
+     * @param json                the file contents
+     * @param source              the file ID, used in warnings
+     * @param requiredCompletions receives the required completions if the file sets them
+     * @return the tier configuration
+     * @throws IOException           if the tree cannot be read
+     * @throws IllegalStateException if the file does not have a tier's structure
+     */
+    public static PlushTierConfig parseTier(JsonElement json, String source, IntConsumer requiredCompletions)
+            throws IOException {
+        return readTier(treeReader(json, source), requiredCompletions);
+    }
+
+    /**
+     * Parses a datapack profile file, which has the layout of a profile in the config file.
+     *
+     * @param json   the file contents
+     * @param source the file ID, used in warnings
+     * @return the profile configuration
+     * @throws IOException           if the tree cannot be read
+     * @throws IllegalStateException if the file does not have a profile's structure
+     */
+    public static PlushProfileConfig parseProfile(JsonElement json, String source) throws IOException {
+        return readProfile(treeReader(json, source));
+    }
+
+    /**
+     * Applies every upgrade step from the root's schema version to the current one.
+     *
+     * @param root the parsed configuration
+     * @return the upgraded configuration
+     */
+    public static PlushConfigRoot upgrade(PlushConfigRoot root) {
+        int version = root.schemaVersion;
+        while (version < CURRENT_SCHEMA_VERSION) {
+            UnaryOperator<PlushConfigRoot> step = UPGRADES.get(version);
+            if (step == null) {
+                throw new JsonParseException("No upgrade from config schema version " + version);
+            }
+            root = step.apply(root);
+            version++;
+            TetoMod.LOGGER.info("Upgraded plush tiers config to schema version {}", version);
+        }
+
+        root.schemaVersion = CURRENT_SCHEMA_VERSION;
+        return root;
+    }
+
+    /**
+     * Reads a map of tiers keyed by tier identifier.
+     *
+     * @param reader the JSON reader
+     * @param tiers  the map to add the tiers to
+     */
+    private static void readTiers(JsonReader reader, Map<String, PlushTierConfig> tiers) throws IOException {
+        if (skipNull(reader)) {
+            return;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (!skipNull(reader)) {
+                tiers.put(key, readTier(reader, null));
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Reads a single tier.
+     *
+     * @param reader              the JSON reader
+     * @param requiredCompletions receives a {@code requiredCompletions} value, or null if
+     *                            the field is not allowed here
+     * @return the tier configuration
+     */
+    private static PlushTierConfig readTier(JsonReader reader, @Nullable IntConsumer requiredCompletions)
+            throws IOException {
+        PlushTierConfig tier = new PlushTierConfig();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "itemsToGive" -> readEntries(reader, tier.itemsToGive);
+                case "itemsToReceive" -> readEntries(reader, tier.itemsToReceive);
+                case "lootTable" -> tier.lootTable = readString(reader);
+                case "unlockRequirement" -> tier.unlockRequirement = skipNull(reader) ? null : readEntry(reader);
+                case "questSlots" -> {
+                    String location = location(reader);
+                    int questSlots = readInt(reader, tier.questSlots);
+                    tier.questSlots = Math.max(1, Math.min(questSlots, PlushTierConfig.MAX_QUEST_SLOTS));
+                    if (tier.questSlots != questSlots) {
+                        TetoMod.LOGGER.warn("Quest slots must be between 1 and {}, using {}{}",
+                                PlushTierConfig.MAX_QUEST_SLOTS, tier.questSlots, location);
+                    }
+                }
+                case "requiredCompletions" -> {
+                    if (requiredCompletions == null) {
+                        skipUnknown(reader, name);
+                    } else {
+                        requiredCompletions.accept(readRequiredCompletions(reader));
+                    }
+                }
+                default -> skipUnknown(reader, name);
+            }
+        }
+        reader.endObject();
+
+        return tier;
+    }
+
+    /**
+     * Reads a list of item entries.
+     *
+     * @param reader  the JSON reader
+     * @param entries the list to add the entries to
+     */
+    private static void readEntries(JsonReader reader, List<PlushItemEntry> entries) throws IOException {
+        if (skipNull(reader)) {
+            return;
+        }
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (!skipNull(reader)) {
+                PlushItemEntry entry = readEntry(reader);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Reads and validates a single item entry. Counts and weights out of range are
+     * clamped and an invalid weight expression is dropped, with a warning.
+     *
+     * @param reader the JSON reader
+     * @return the item entry, or null if it has no valid ID and is skipped
+     */
+    @Nullable
+    private static PlushItemEntry readEntry(JsonReader reader) throws IOException {
+        String location = location(reader);
+        // Absent counts and weights default to 1
+        PlushItemEntry entry = new PlushItemEntry(null, 1, 1);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "id" -> entry.id = readString(reader);
+                case "count" -> entry.count = readInt(reader, entry.count);
+                case "weight" -> entry.weight = readInt(reader, entry.weight);
+                case "weightExpression" -> entry.weightExpression = readString(reader);
+                case "components" -> {
+                    JsonElement components = JsonParser.parseReader(reader);
+                    if (components.isJsonObject()) {
+                        entry.components = components.getAsJsonObject();
+                    } else if (!components.isJsonNull()) {
+                        TetoMod.LOGGER.warn("Ignoring components that are not an object{}", location(reader));
+                    }
+                }
+                default -> skipUnknown(reader, name);
+            }
+        }
+        reader.endObject();
+
+        if (!isValidId(entry.id)) {
+            TetoMod.LOGGER.warn("Skipping entry with missing or malformed item ID '{}'{}", entry.id, location);
+            return null;
+        }
+        if (entry.count < 1) {
+            TetoMod.LOGGER.warn("Count must be at least 1 for '{}', using 1{}", entry.id, location);
+            entry.count = 1;
+        }
+        if (entry.weight < 0) {
+            TetoMod.LOGGER.warn("Weight must not be negative for '{}', using 0{}", entry.id, location);
+            entry.weight = 0;
+        }
+        try {
+            WeightedRandomUtils.compileWeight(entry);
+        } catch (IllegalArgumentException e) {
+            TetoMod.LOGGER.warn("Ignoring invalid weight expression for '{}': {}, using weight {}{}",
+                    entry.id, e.getMessage(), entry.weight, location);
+            entry.weightExpression = null;
+            entry.compiledWeight = null;
+        }
+        return entry;
+    }
+
+    /**
+     * Reads a map of tier unlock requirements.
+     *
+     * @param reader    the JSON reader
+     * @param tierLocks the map to add the requirements to
+     */
+    private static void readTierLocks(JsonReader reader, Map<String, Integer> tierLocks) throws IOException {
+        if (skipNull(reader)) {
+            return;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            tierLocks.put(key, readRequiredCompletions(reader));
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Reads the number of completions required to unlock a tier.
+     *
+     * @param reader the JSON reader
+     * @return the required completions, clamped to at least 0
+     */
+    private static int readRequiredCompletions(JsonReader reader) throws IOException {
+        String location = location(reader);
+        int required = readInt(reader, 0);
+        if (required < 0) {
+            TetoMod.LOGGER.warn("Required completions must not be negative, using 0{}", location);
+            required = 0;
+        }
+        return required;
+    }
+
+    /**
+     * Reads the list of dimension/biome profiles.
+     *
+     * @param reader   the JSON reader
+     * @param profiles the list to add the profiles to
+     */
+    private static void readProfiles(JsonReader reader, List<PlushProfileConfig> profiles) throws IOException {
+        if (skipNull(reader)) {
+            return;
+        }
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (!skipNull(reader)) {
+                profiles.add(readProfile(reader));
+            }
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Reads a single dimension/biome profile.
+     *
+     * @param reader the JSON reader
+     * @return the profile configuration
+     */
+    private static PlushProfileConfig readProfile(JsonReader reader) throws IOException {
+        PlushProfileConfig profile = new PlushProfileConfig();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "name" -> profile.name = readString(reader);
+                case "dimension" -> profile.dimension = readString(reader);
+                case "biome" -> profile.biome = readString(reader);
+                case "tiers" -> readTiers(reader, profile.tiers);
+                case "tierLocks" -> readTierLocks(reader, profile.tierLocks);
+                default -> skipUnknown(reader, name);
+            }
+        }
+        reader.endObject();
+
+        return profile;
+    }
+
+    /**
+     * Checks that an entry ID is a well-formed item or tag ID. Whether the item exists is
+     * checked later, once registries are available.
+     *
+     * @param id the entry ID, may be null
+     * @return true if the ID is well-formed
+     */
+    private static boolean isValidId(String id) {
+        if (id == null || id.isEmpty()) {
+            return false;
+        }
+        if (TagMembershipCache.isTagId(id)) {
+            return ResourceLocation.tryParse(id.substring(TagMembershipCache.TAG_PREFIX.length())) != null;
+        }
+        return ResourceLocation.tryParse(id) != null;
+    }
+
+    /**
+     * Reads a string value, or null if the value is JSON null or not a string. Numbers
+     * are accepted and read as their text.
+     *
+     * @param reader the JSON reader
+     * @return the string value, or null
+     */
+    @Nullable
+    private static String readString(JsonReader reader) throws IOException {
+        if (skipNull(reader)) {
+            return null;
+        }
+
+        JsonToken token = reader.peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            TetoMod.LOGGER.warn("Expected a string, ignoring the value{}", location(reader));
+            reader.skipValue();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * Reads a boolean value, treating JSON null and values of other types as false.
+     *
+     * @param reader the JSON reader
+     * @return the boolean value
+     */
+    private static boolean readBoolean(JsonReader reader) throws IOException {
+        if (skipNull(reader)) {
+            return false;
+        }
+
+        String location = location(reader);
+        if (reader.peek() != JsonToken.BOOLEAN) {
+            TetoMod.LOGGER.warn("Expected a boolean, using false{}", location);
+            reader.skipValue();
+            return false;
+        }
+        return reader.nextBoolean();
+    }
+
+    /**
+     * Reads an integer value, or the fallback if the value is JSON null or not an integer.
+     *
+     * @param reader   the JSON reader
+     * @param fallback the value to use for JSON null and invalid values
+     * @return the integer value
+     */
+    private static int readInt(JsonReader reader, int fallback) throws IOException {
+        if (skipNull(reader)) {
+            return fallback;
+        }
+
+        String location = location(reader);
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException | IllegalStateException e) {
+            // The reader does not consume a value it failed to convert
+            TetoMod.LOGGER.warn("Expected an integer, using {}{}", fallback, location);
+            reader.skipValue();
+            return fallback;
+        }
+    }
+
+    /**
+     * Consumes a JSON null if it is the next token.
+     *
+     * @param reader the JSON reader
+     * @return true if a null was consumed
+     */
+    private static boolean skipNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips the value of an unknown field, logging where it was found.
+     *
+     * @param reader the JSON reader
+     * @param name   the unknown field name
+     */
+    private static void skipUnknown(JsonReader reader, String name) throws IOException {
+        TetoMod.LOGGER.warn("Ignoring unknown plush tiers field '{}'{}", name, location(reader));
+        reader.skipValue();
+    }
+
+    /**
+     * Creates a reader over a parsed JSON tree whose positions name the file it came from.
+     *
+     * @param json   the JSON tree
+     * @param source the file ID
+     * @return the reader
+     */
+    private static JsonReader treeReader(JsonElement json, String source) {
+        return new JsonTreeReader(json) {
+            @Override
+            public String toString() {
+                return " in " + source + " at path " + getPath();
+            }
+        };
+    }
+
+    /**
+     * Describes the reader's current position for error messages.
+     *
+     * @param reader the JSON reader
+     * @return the position, e.g. " at line 12 column 9 path $.tiers.t1.itemsToGive[3]"
+     */
+    private static String location(JsonReader reader) {
+        String description = reader.toString();
+        return description.startsWith(READER_NAME) ? description.substring(READER_NAME.length()) : description;
+    }
+}
@@ -1,16 +1,24 @@
 package net.firsttimegaming.tetomod.config;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Root configuration object for plush tier settings.
  * <p>
- * Contains all tier configurations and their unlock requirements.
+ * Contains all tier configurations, their unlock requirements, and the
+ * dimension/biome profiles that override them.
  * This class is serialized/deserialized to JSON for persistent storage.
  */
 public class PlushConfigRoot {
 
+    /**
+     * Version of the config layout, used by {@link PlushConfigParser} to upgrade older files.
+     */
+    public int schemaVersion = PlushConfigParser.CURRENT_SCHEMA_VERSION;
+
     /**
      * Map of tier configurations, keyed by tier identifier (e.g., "t1", "t2", etc.).
      */
@@ -22,6 +30,17 @@ public class PlushConfigRoot {
      */
     public Map<String, Integer> tierLocks = new HashMap<>();
 
+    /**
+     * Dimension and biome specific overrides, checked in order; the first matching profile wins.
+     */
+    public List<PlushProfileConfig> profiles = new ArrayList<>();
+
+    /**
+     * Whether tier pools are generated from recipe-based item values on server start,
+     * replacing the pools listed in this file. See {@link GeneratedTierPools}.
+     */
+    public boolean generatePools = false;
+
     /**
      * Default constructor for GSON deserialization.
      */
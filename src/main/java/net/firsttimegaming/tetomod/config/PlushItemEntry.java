@@ -1,14 +1,20 @@
 package net.firsttimegaming.tetomod.config;
 
+import com.google.gson.JsonObject;
+import net.firsttimegaming.tetomod.util.WeightExpression;
+import net.minecraft.world.item.ItemStack;
+
 /**
  * Represents an item entry in the plush tier configuration.
  * <p>
- * Each entry specifies an item ID, count, and weight for weighted random selection.
+ * Each entry specifies an item ID, count, and weight for weighted random selection,
+ * plus an optional data component patch for items such as enchanted books or potions.
  */
 public class PlushItemEntry {
 
     /**
-     * The registry ID of the item (e.g., "minecraft:diamond").
+     * The registry ID of the item (e.g., "minecraft:diamond"), or an item tag
+     * prefixed with '#' (e.g., "#c:ingots/iron") to accept any member of the tag.
      */
     public String id;
 
@@ -22,6 +28,30 @@ public class PlushItemEntry {
      */
     public int weight;
 
+    /**
+     * Optional weight formula overriding {@link #weight} when rolling, e.g.
+     * {@code "1 + min(completions, 20) / 4"}. See {@link WeightExpression} for the syntax.
+     */
+    public String weightExpression;
+
+    /**
+     * The compiled {@link #weightExpression}, or null if the entry has a fixed weight.
+     * Expressions without variables are folded into {@link #weight} instead.
+     */
+    public transient WeightExpression compiledWeight;
+
+    /**
+     * Optional data component patch in JSON form, keyed by component type
+     * (e.g., {@code {"minecraft:stored_enchantments": {"minecraft:mending": 1}}}).
+     */
+    public JsonObject components;
+
+    /**
+     * The stack decoded from {@link #id}, {@link #count} and {@link #components} when the
+     * configuration is compiled. Not serialized; rolls copy this instead of decoding again.
+     */
+    public transient ItemStack prototype;
+
     /**
      * Default constructor for GSON deserialization.
      */
@@ -36,8 +66,21 @@ public class PlushItemEntry {
      * @param weight the selection weight
      */
     public PlushItemEntry(String id, int count, int weight) {
+        this(id, count, weight, null);
+    }
+
+    /**
+     * Constructs a PlushItemEntry with the specified values and data components.
+     *
+     * @param id         the item registry ID
+     * @param count      the item count
+     * @param weight     the selection weight
+     * @param components the data component patch in JSON form, may be null
+     */
+    public PlushItemEntry(String id, int count, int weight, JsonObject components) {
         this.id = id;
         this.count = count;
         this.weight = weight;
+        this.components = components;
     }
 }
@@ -0,0 +1,52 @@
+package net.firsttimegaming.tetomod.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A set of tier overrides applied to plushes in a specific dimension and/or biome.
+ * <p>
+ * A profile only lists the tiers and tier locks it changes; every other tier is
+ * shared by reference with the base configuration, so many profiles cost little
+ * more than their overrides.
+ */
+public class PlushProfileConfig {
+
+    /**
+     * Name of the profile, used for logging.
+     */
+    public String name;
+
+    /**
+     * Dimension the profile applies to (e.g., "minecraft:the_nether"), or null for any dimension.
+     */
+    public String dimension;
+
+    /**
+     * Biome the profile applies to (e.g., "minecraft:desert" or "#minecraft:is_ocean"),
+     * or null for any biome.
+     */
+    public String biome;
+
+    /**
+     * Tier configurations replacing those of the base configuration, keyed by tier identifier.
+     */
+    public Map<String, PlushTierConfig> tiers = new HashMap<>();
+
+    /**
+     * Tier unlock requirements replacing those of the base configuration, keyed by tier identifier.
+     */
+    public Map<String, Integer> tierLocks = new HashMap<>();
+
+    /**
+     * The base configuration with this profile's overrides layered on top.
+     * Built when the configuration is loaded and never serialized.
+     */
+    public transient PlushConfigRoot resolved;
+
+    /**
+     * Default constructor for GSON deserialization.
+     */
+    public PlushProfileConfig() {
+    }
+}
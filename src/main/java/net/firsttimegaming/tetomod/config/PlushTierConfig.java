@@ -9,11 +9,14 @@ import java.util.List;
  * Each tier defines:
  * <ul>
  *   <li>Items the player must give (requirements)</li>
- *   <li>Items the player may receive (rewards)</li>
+ *   <li>Items the player may receive (rewards), either as a weighted list or a loot table</li>
  * </ul>
  */
 public class PlushTierConfig {
 
+    /** Maximum number of quests a tier can offer at the same time. */
+    public static final int MAX_QUEST_SLOTS = 4;
+
     /**
      * List of items the player must provide to complete this tier.
      * A random item from this list is selected as the requirement.
@@ -26,11 +29,24 @@ public class PlushTierConfig {
      */
     public List<PlushItemEntry> itemsToReceive = new ArrayList<>();
 
+    /**
+     * Optional loot table rolled for rewards instead of {@link #itemsToReceive}
+     * (e.g. "minecraft:chests/simple_dungeon"). Loot tables only exist on the server,
+     * so the reward pool shown in the GUI still lists {@link #itemsToReceive}.
+     */
+    public String lootTable;
+
     /**
      * The specific item that is required to complete this tier.
      */
     public PlushItemEntry unlockRequirement;
 
+    /**
+     * Number of requirements rolled from {@link #itemsToGive} that are active at the same
+     * time, between 1 and {@link #MAX_QUEST_SLOTS}. Completing one rerolls only that one.
+     */
+    public int questSlots = 1;
+
     /**
      * Default constructor for GSON deserialization.
      */
@@ -3,34 +3,68 @@ package net.firsttimegaming.tetomod.config;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import net.firsttimegaming.tetomod.TetoMod;
 import net.firsttimegaming.tetomod.block.entity.PlushBlockEntity;
+import net.firsttimegaming.tetomod.util.ItemStackUtils;
+import net.firsttimegaming.tetomod.util.LootTableCache;
+import net.firsttimegaming.tetomod.util.TagMembershipCache;
+import net.firsttimegaming.tetomod.util.WeightedRandomUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
 import net.neoforged.fml.loading.FMLPaths;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.Writer;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Manager class for loading, saving, and accessing plush tier configurations.
  * <p>
  * This class handles JSON-based configuration persistence and provides
  * access methods for tier configurations and unlock requirements.
+ * <p>
+ * Each source may define dimension/biome profiles; see {@link #getProfileRoot}.
+ * <p>
+ * Four configuration sources are tracked, in order of precedence:
+ * <ul>
+ *   <li>The configuration synchronized from a remote server (client only)</li>
+ *   <li>Tiers loaded from datapacks by {@link PlushTierReloadListener}</li>
+ *   <li>The config file with pools from {@link GeneratedTierPools}, when enabled</li>
+ *   <li>The global {@code tetomod_plush_tiers.json} file</li>
+ * </ul>
  */
 public final class PlushTierConfigManager {
 
     // ==================== Class Variables ====================
 
-    /** GSON instance for JSON serialization/deserialization. */
+    /** GSON instance for JSON serialization; parsing goes through {@link PlushConfigParser}. */
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     /** Configuration file name. */
     private static final String FILE_NAME = "tetomod_plush_tiers.json";
 
+    /** Infix between the config file name and the schema version of a backup, e.g. {@code .v1}. */
+    private static final String BACKUP_INFIX = ".v";
+
+    /** Suffix of the backup kept when an older config file is upgraded. */
+    private static final String BACKUP_SUFFIX = ".bak";
+
     /** Prefix for tier keys in the configuration. */
     private static final String TIER_KEY_PREFIX = "t";
 
@@ -41,8 +75,20 @@ public final class PlushTierConfigManager {
     private static final int TIER_4_UNLOCK = 15;
     private static final int TIER_5_UNLOCK = 20;
 
-    /** The loaded configuration root. */
-    private static PlushConfigRoot ROOT;
+    /** The configuration root loaded from the global config file. */
+    private static volatile PlushConfigRoot ROOT;
+
+    /** The configuration root with generated pools, or null if pool generation is disabled or pending. */
+    private static volatile PlushConfigRoot GENERATED_ROOT;
+
+    /** The configuration root compiled from datapacks, or null if no datapack defines tiers. */
+    private static volatile PlushConfigRoot DATAPACK_ROOT;
+
+    /** The configuration root received from a remote server, or null when not connected to one. */
+    private static volatile PlushConfigRoot SYNCED_ROOT;
+
+    /** Background writer for the config file, created on first save. */
+    private static volatile AtomicConfigWriter WRITER;
 
     // ==================== Constructor ====================
 
@@ -53,17 +99,90 @@ public final class PlushTierConfigManager {
     // ==================== Getter Methods ====================
 
     /**
-     * Gets the full configuration root.
+     * Gets the full configuration root currently in effect.
      *
      * @return the configuration root, loading it if necessary
      */
     public static PlushConfigRoot getRoot() {
+        PlushConfigRoot synced = SYNCED_ROOT;
+        if (synced != null) {
+            return synced;
+        }
+
+        PlushConfigRoot datapack = DATAPACK_ROOT;
+        if (datapack != null) {
+            return datapack;
+        }
+
+        PlushConfigRoot generated = GENERATED_ROOT;
+        if (generated != null) {
+            return generated;
+        }
+
+        return getFileRoot();
+    }
+
+    /**
+     * Gets the configuration root loaded from the global config file.
+     *
+     * @return the config file's configuration root, loading it if necessary
+     */
+    public static PlushConfigRoot getFileRoot() {
         if (ROOT == null) {
             load();
         }
         return ROOT;
     }
 
+    /**
+     * Serializes the configuration root currently in effect to JSON.
+     *
+     * @return the JSON representation of the active configuration
+     */
+    public static String toJson() {
+        return GSON.toJson(getRoot());
+    }
+
+    /**
+     * Gets the configuration root for a plush at the given position.
+     * <p>
+     * Returns the pre-resolved root of the first profile matching the position's
+     * dimension and biome, or the base root if none matches. Plush block entities
+     * call this once on load and cache the result.
+     *
+     * @param root  the base configuration root
+     * @param level the level the plush is in
+     * @param pos   the position of the plush
+     * @return the configuration root to use for the plush
+     */
+    public static PlushConfigRoot getProfileRoot(PlushConfigRoot root, Level level, BlockPos pos) {
+        if (root.profiles == null || root.profiles.isEmpty()) {
+            return root;
+        }
+
+        String dimension = level.dimension().location().toString();
+        Holder<Biome> biome = null;
+
+        for (PlushProfileConfig profile : root.profiles) {
+            if (profile == null || profile.resolved == null) {
+                continue;
+            }
+            if (profile.dimension != null && !profile.dimension.equals(dimension)) {
+                continue;
+            }
+            if (profile.biome != null) {
+                if (biome == null) {
+                    biome = level.getBiome(pos);
+                }
+                if (!matchesBiome(biome, profile.biome)) {
+                    continue;
+                }
+            }
+            return profile.resolved;
+        }
+        return root;
+    }
+
     /**
      * Gets the configuration for a specific tier.
      *
@@ -71,17 +190,24 @@ public final class PlushTierConfigManager {
      * @return the tier configuration, creating an empty one if missing
      */
     public static PlushTierConfig getTierConfig(int tierIndex) {
-        if (ROOT == null) {
-            load();
-        }
+        return getTierConfig(getRoot(), tierIndex);
+    }
 
+    /**
+     * Gets the configuration for a specific tier of the given configuration root.
+     *
+     * @param root      the configuration root, e.g. a plush's profile root
+     * @param tierIndex the tier index (0-based: 0 = tier 1, 1 = tier 2, etc.)
+     * @return the tier configuration, creating an empty one if missing
+     */
+    public static PlushTierConfig getTierConfig(PlushConfigRoot root, int tierIndex) {
         int idx = Math.max(0, Math.min(tierIndex, PlushBlockEntity.MAX_TIER - 1));
         String key = TIER_KEY_PREFIX + (idx + 1);
 
-        PlushTierConfig tier = ROOT.tiers.get(key);
+        PlushTierConfig tier = root.tiers.get(key);
         if (tier == null) {
             tier = new PlushTierConfig();
-            ROOT.tiers.put(key, tier);
+            root.tiers.put(key, tier);
         }
         return tier;
     }
@@ -93,17 +219,24 @@ public final class PlushTierConfigManager {
      * @return the required completions of the previous tier, or 0 if always available
      */
     public static int getRequiredCompletionsForTier(int tierIndex) {
-        if (ROOT == null) {
-            load();
-        }
+        return getRequiredCompletionsForTier(getRoot(), tierIndex);
+    }
 
+    /**
+     * Gets the number of previous tier completions required to unlock a tier of the given root.
+     *
+     * @param root      the configuration root, e.g. a plush's profile root
+     * @param tierIndex the tier index (0-based)
+     * @return the required completions of the previous tier, or 0 if always available
+     */
+    public static int getRequiredCompletionsForTier(PlushConfigRoot root, int tierIndex) {
         int idx = Math.max(0, Math.min(tierIndex, PlushBlockEntity.MAX_TIER - 1));
         String key = TIER_KEY_PREFIX + (idx + 1);
 
-        if (ROOT.tierLocks == null) {
+        if (root.tierLocks == null) {
             return 0;
         }
-        return ROOT.tierLocks.getOrDefault(key, 0);
+        return root.tierLocks.getOrDefault(key, 0);
     }
 
     /**
@@ -113,14 +246,406 @@ public final class PlushTierConfigManager {
      * @return the unlock requirement item, or null if none
      */
     public static PlushItemEntry getUnlockRequirementForTier(int tierIndex) {
-        PlushTierConfig tier = getTierConfig(tierIndex);
+        return getUnlockRequirementForTier(getRoot(), tierIndex);
+    }
+
+    /**
+     * Gets the specific item required to unlock a tier of the given root.
+     *
+     * @param root      the configuration root, e.g. a plush's profile root
+     * @param tierIndex the tier index (0-based)
+     * @return the unlock requirement item, or null if none
+     */
+    public static PlushItemEntry getUnlockRequirementForTier(PlushConfigRoot root, int tierIndex) {
+        PlushTierConfig tier = getTierConfig(root, tierIndex);
         return tier.unlockRequirement;
     }
 
+    // ==================== Setter Methods ====================
+
+    /**
+     * Swaps in the configuration compiled from datapacks.
+     * <p>
+     * Called from the apply phase of {@link PlushTierReloadListener}, so the swap
+     * happens on the server thread while parsing stays in the background phase.
+     *
+     * @param root the compiled datapack configuration, or null to fall back to the config file
+     */
+    public static void applyDatapackConfig(PlushConfigRoot root) {
+        DATAPACK_ROOT = root;
+    }
+
+    /**
+     * Swaps in the configuration with generated pools.
+     *
+     * @param root the compiled configuration, or null to fall back to the config file
+     */
+    public static void applyGeneratedConfig(PlushConfigRoot root) {
+        GENERATED_ROOT = root;
+    }
+
+    /**
+     * Clears the configuration received from a remote server, called on disconnect.
+     */
+    public static void clearSyncedConfig() {
+        SYNCED_ROOT = null;
+    }
+
+    /**
+     * Parses and applies a configuration received from a remote server.
+     *
+     * @param json       the JSON representation of the server configuration
+     * @param registries the client's registry lookup, used to decode data components
+     */
+    public static void applySyncedConfig(String json, HolderLookup.Provider registries) {
+        try {
+            PlushConfigRoot root = PlushConfigParser.upgrade(PlushConfigParser.parse(new StringReader(json)));
+            SYNCED_ROOT = compile(root, "server", registries);
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            TetoMod.LOGGER.error("Failed to parse plush tiers received from server", e);
+        }
+    }
+
     // ==================== Custom Methods ====================
 
+    /**
+     * Decodes the data component prototypes of the config file's entries.
+     * <p>
+     * The file is read during mod construction, before registries are available, so its
+     * prototypes are decoded once the server's registries are known.
+     *
+     * @param registries the server's registry lookup
+     */
+    public static void decodeFilePrototypes(HolderLookup.Provider registries) {
+        if (ROOT == null) {
+            load();
+        }
+
+        forEachFileEntry(entry -> ItemStackUtils.decodePrototype(entry, registries));
+    }
+
+    /**
+     * Drops the data component prototypes of the config file's entries, called when the
+     * server stops. The file outlives the world in singleplayer, and prototypes hold
+     * registry holders of the world they were decoded for, so the next world decodes
+     * them again with its own registries.
+     */
+    public static void clearFilePrototypes() {
+        if (ROOT != null) {
+            forEachFileEntry(entry -> entry.prototype = null);
+        }
+    }
+
+    /**
+     * Runs an action for every entry of the config file, including profile tiers.
+     *
+     * @param action the action to run for each non-null entry
+     */
+    private static void forEachFileEntry(Consumer<PlushItemEntry> action) {
+        forEachTierEntry(ROOT.tiers, action);
+        if (ROOT.profiles != null) {
+            for (PlushProfileConfig profile : ROOT.profiles) {
+                if (profile != null) {
+                    forEachTierEntry(profile.tiers, action);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs an action for every entry in a map of tiers.
+     *
+     * @param tiers  the tiers to visit, may be null
+     * @param action the action to run for each non-null entry
+     */
+    private static void forEachTierEntry(Map<String, PlushTierConfig> tiers, Consumer<PlushItemEntry> action) {
+        if (tiers == null) {
+            return;
+        }
+        for (PlushTierConfig tier : tiers.values()) {
+            if (tier == null) {
+                continue;
+            }
+            forEachEntry(tier.itemsToGive, action);
+            forEachEntry(tier.itemsToReceive, action);
+            if (tier.unlockRequirement != null) {
+                action.accept(tier.unlockRequirement);
+            }
+        }
+    }
+
+    /**
+     * Runs an action for every entry in a list.
+     *
+     * @param entries the entries to visit, may be null
+     * @param action  the action to run for each non-null entry
+     */
+    private static void forEachEntry(List<PlushItemEntry> entries, Consumer<PlushItemEntry> action) {
+        if (entries == null) {
+            return;
+        }
+        for (PlushItemEntry entry : entries) {
+            if (entry != null) {
+                action.accept(entry);
+            }
+        }
+    }
+
+    /**
+     * Validates a configuration root, dropping entries that do not resolve to a registered item
+     * and decoding the data components of the remaining entries into prototype stacks.
+     * <p>
+     * Requires the item registry to be populated, so it is only used for datapack and
+     * synchronized configurations rather than the file loaded during mod construction.
+     *
+     * @param root       the configuration root to compile
+     * @param source     a description of where the configuration came from, for logging
+     * @param registries the registry lookup used to decode data components
+     * @return the compiled configuration root
+     */
+    public static PlushConfigRoot compile(PlushConfigRoot root, String source, HolderLookup.Provider registries) {
+        PlushConfigRoot compiled = new PlushConfigRoot();
+        if (root.tierLocks != null) {
+            compiled.tierLocks.putAll(root.tierLocks);
+        }
+
+        compiled.tiers.putAll(compileTiers(root.tiers, source, registries));
+
+        for (int i = 1; i <= PlushBlockEntity.MAX_TIER; i++) {
+            compiled.tiers.computeIfAbsent(TIER_KEY_PREFIX + i, k -> new PlushTierConfig());
+        }
+
+        if (root.profiles != null) {
+            for (PlushProfileConfig profile : root.profiles) {
+                if (profile == null) {
+                    continue;
+                }
+
+                PlushProfileConfig compiledProfile = new PlushProfileConfig();
+                compiledProfile.name = profile.name;
+                compiledProfile.dimension = profile.dimension;
+                compiledProfile.biome = profile.biome;
+                compiledProfile.tiers.putAll(compileTiers(profile.tiers, source + " profile " + profile.name, registries));
+                if (profile.tierLocks != null) {
+                    compiledProfile.tierLocks.putAll(profile.tierLocks);
+                }
+                compiled.profiles.add(compiledProfile);
+            }
+        }
+
+        resolveProfiles(compiled);
+        return compiled;
+    }
+
+    /**
+     * Builds the resolved root of every profile by layering its overrides on the base root.
+     * <p>
+     * Each resolved root gets its own tier maps, but unchanged tiers are the same
+     * objects as in the base root, so a profile only allocates what it overrides.
+     *
+     * @param root the base configuration root
+     */
+    private static void resolveProfiles(PlushConfigRoot root) {
+        if (root.profiles == null) {
+            return;
+        }
+
+        for (PlushProfileConfig profile : root.profiles) {
+            if (profile == null) {
+                continue;
+            }
+
+            PlushConfigRoot resolved = new PlushConfigRoot();
+            if (root.tiers != null) {
+                resolved.tiers.putAll(root.tiers);
+            }
+            if (root.tierLocks != null) {
+                resolved.tierLocks.putAll(root.tierLocks);
+            }
+            if (profile.tiers != null) {
+                profile.tiers.forEach((key, tier) -> {
+                    if (tier != null) {
+                        resolved.tiers.put(key, tier);
+                    }
+                });
+            }
+            if (profile.tierLocks != null) {
+                resolved.tierLocks.putAll(profile.tierLocks);
+            }
+            profile.resolved = resolved;
+        }
+    }
+
+    /**
+     * Checks whether a biome matches a profile's biome filter.
+     *
+     * @param biome  the biome at the plush's position
+     * @param filter a biome ID, or a biome tag prefixed with '#'
+     * @return true if the biome matches
+     */
+    private static boolean matchesBiome(Holder<Biome> biome, String filter) {
+        if (filter.startsWith(TagMembershipCache.TAG_PREFIX)) {
+            ResourceLocation tag = ResourceLocation.tryParse(filter.substring(TagMembershipCache.TAG_PREFIX.length()));
+            return tag != null && biome.is(TagKey.create(Registries.BIOME, tag));
+        }
+
+        ResourceLocation id = ResourceLocation.tryParse(filter);
+        return id != null && biome.is(id);
+    }
+
+    /**
+     * Compiles every tier in a map of tiers.
+     *
+     * @param tiers      the tiers to compile, may be null
+     * @param source     a description of where the tiers came from, for logging
+     * @param registries the registry lookup used to decode data components
+     * @return the compiled tiers, keyed by tier identifier
+     */
+    private static Map<String, PlushTierConfig> compileTiers(Map<String, PlushTierConfig> tiers, String source,
+                                                             HolderLookup.Provider registries) {
+        Map<String, PlushTierConfig> compiled = new HashMap<>();
+        if (tiers == null) {
+            return compiled;
+        }
+
+        for (Map.Entry<String, PlushTierConfig> e : tiers.entrySet()) {
+            PlushTierConfig tier = e.getValue();
+            if (tier == null) {
+                continue;
+            }
+
+            PlushTierConfig compiledTier = new PlushTierConfig();
+            compiledTier.itemsToGive.addAll(compileEntries(tier.itemsToGive, source, e.getKey()));
+            compiledTier.itemsToReceive.addAll(compileEntries(tier.itemsToReceive, source, e.getKey()));
+
+            if (LootTableCache.isValidId(tier.lootTable)) {
+                compiledTier.lootTable = tier.lootTable;
+            } else if (tier.lootTable != null) {
+                TetoMod.LOGGER.warn("Ignoring invalid loot table '{}' in tier {} from {}",
+                        tier.lootTable, e.getKey(), source);
+            }
+
+            if (tier.unlockRequirement != null && ItemStackUtils.isValidEntryId(tier.unlockRequirement.id)) {
+                compiledTier.unlockRequirement = tier.unlockRequirement;
+            } else if (tier.unlockRequirement != null) {
+                TetoMod.LOGGER.warn("Ignoring unknown unlock item '{}' in tier {} from {}",
+                        tier.unlockRequirement.id, e.getKey(), source);
+            }
+
+            compiledTier.questSlots = Math.max(1, Math.min(tier.questSlots, PlushTierConfig.MAX_QUEST_SLOTS));
+            if (compiledTier.questSlots != tier.questSlots) {
+                TetoMod.LOGGER.warn("Clamping quest slots {} of tier {} from {} to {}",
+                        tier.questSlots, e.getKey(), source, compiledTier.questSlots);
+            }
+
+            decodePrototypes(compiledTier.itemsToGive, registries);
+            decodePrototypes(compiledTier.itemsToReceive, registries);
+            ItemStackUtils.decodePrototype(compiledTier.unlockRequirement, registries);
+
+            compiled.put(e.getKey(), compiledTier);
+        }
+        return compiled;
+    }
+
+    /**
+     * Combines generated pools with the rest of the config file and compiles the result.
+     * <p>
+     * Tiers take their requirement and reward pools from the generated configuration and
+     * everything else (unlock requirements, loot tables, quest slots, tier locks, profiles)
+     * from the file.
+     *
+     * @param generated  the generated pools
+     * @param registries the registry lookup used to decode data components
+     * @return the compiled configuration root
+     */
+    public static PlushConfigRoot compileGenerated(PlushConfigRoot generated, HolderLookup.Provider registries) {
+        PlushConfigRoot file = getFileRoot();
+        PlushConfigRoot merged = new PlushConfigRoot();
+        if (file.tierLocks != null) {
+            merged.tierLocks.putAll(file.tierLocks);
+        }
+        if (file.profiles != null) {
+            merged.profiles.addAll(file.profiles);
+        }
+
+        for (int i = 1; i <= PlushBlockEntity.MAX_TIER; i++) {
+            String key = TIER_KEY_PREFIX + i;
+            PlushTierConfig fileTier = file.tiers == null ? null : file.tiers.get(key);
+            PlushTierConfig generatedTier = generated.tiers.get(key);
+            PlushTierConfig source = generatedTier != null ? generatedTier : fileTier;
+
+            PlushTierConfig tier = new PlushTierConfig();
+            if (source != null) {
+                tier.itemsToGive.addAll(source.itemsToGive);
+                tier.itemsToReceive.addAll(source.itemsToReceive);
+            }
+            if (fileTier != null) {
+                tier.lootTable = fileTier.lootTable;
+                tier.unlockRequirement = fileTier.unlockRequirement;
+                tier.questSlots = fileTier.questSlots;
+            }
+            merged.tiers.put(key, tier);
+        }
+
+        return compile(merged, "generated pools", registries);
+    }
+
+    /**
+     * Decodes the data component prototypes of a list of entries.
+     *
+     * @param entries    the entries to decode, may be null
+     * @param registries the registry lookup used to decode data components
+     */
+    private static void decodePrototypes(List<PlushItemEntry> entries, HolderLookup.Provider registries) {
+        if (entries == null) {
+            return;
+        }
+        for (PlushItemEntry entry : entries) {
+            ItemStackUtils.decodePrototype(entry, registries);
+        }
+    }
+
+    /**
+     * Filters a list of entries down to those referencing registered items.
+     *
+     * @param entries the entries to filter, may be null
+     * @param source  a description of where the entries came from, for logging
+     * @param tierKey the tier the entries belong to, for logging
+     * @return the valid entries
+     */
+    private static List<PlushItemEntry> compileEntries(List<PlushItemEntry> entries, String source, String tierKey) {
+        List<PlushItemEntry> valid = new ArrayList<>();
+        if (entries == null) {
+            return valid;
+        }
+
+        for (PlushItemEntry entry : entries) {
+            if (entry == null) {
+                continue;
+            }
+            if (!ItemStackUtils.isValidEntryId(entry.id)) {
+                TetoMod.LOGGER.warn("Ignoring unknown item '{}' in tier {} from {}", entry.id, tierKey, source);
+                continue;
+            }
+            try {
+                WeightedRandomUtils.compileWeight(entry);
+            } catch (IllegalArgumentException e) {
+                TetoMod.LOGGER.warn("Ignoring item '{}' in tier {} from {}: {}",
+                        entry.id, tierKey, source, e.getMessage());
+                continue;
+            }
+            valid.add(entry);
+        }
+        return valid;
+    }
+
     /**
      * Loads the configuration from disk or creates a default configuration if none exists.
+     * <p>
+     * Invalid entries are skipped or clamped by the parser with a warning; the defaults
+     * only replace the file's contents when it cannot be read or is not well-formed JSON.
+     * A file of an older schema version is rewritten in the current one after a copy of
+     * it has been kept, since the rewrite lacks whatever the parser skipped.
      */
     public static void load() {
         Path configDir = FMLPaths.CONFIGDIR.get();
@@ -131,28 +656,82 @@ public final class PlushTierConfigManager {
             save(path, ROOT);
             TetoMod.LOGGER.info("Created default plush tiers config at {}", path.toAbsolutePath());
         } else {
+            int parsedVersion = PlushConfigParser.CURRENT_SCHEMA_VERSION;
             try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-                ROOT = GSON.fromJson(reader, PlushConfigRoot.class);
-            } catch (IOException | JsonParseException e) {
-                TetoMod.LOGGER.error("Failed to read plush tiers config, using defaults", e);
+                PlushConfigRoot parsed = PlushConfigParser.parse(reader);
+                parsedVersion = parsed.schemaVersion;
+                ROOT = PlushConfigParser.upgrade(parsed);
+            } catch (IOException | JsonParseException | IllegalStateException e) {
+                TetoMod.LOGGER.error("Failed to read plush tiers config {}, using defaults until it is fixed",
+                        path.toAbsolutePath(), e);
                 ROOT = createDefaultConfig();
             }
+
+            // Rewrite upgraded files so they carry the current schema version. The parsed
+            // root lacks any entries the parser skipped, so the original is kept beside it.
+            if (parsedVersion < PlushConfigParser.CURRENT_SCHEMA_VERSION) {
+                Path backup = configDir.resolve(FILE_NAME + BACKUP_INFIX + parsedVersion + BACKUP_SUFFIX);
+                try {
+                    Files.copy(path, backup, StandardCopyOption.REPLACE_EXISTING);
+                    save();
+                    TetoMod.LOGGER.info("Upgraded plush tiers config, the original was kept as {}",
+                            backup.getFileName());
+                } catch (IOException e) {
+                    TetoMod.LOGGER.warn("Failed to back up plush tiers config to {}, not rewriting it",
+                            backup.toAbsolutePath(), e);
+                }
+            }
         }
 
-        if (ROOT == null) {
-            ROOT = createDefaultConfig();
+        resolveProfiles(ROOT);
+    }
+
+    /**
+     * Queues the config file configuration to be saved on the background writer.
+     * <p>
+     * The configuration is serialized on the calling thread, since the server thread
+     * keeps changing it, and only the finished JSON is handed to the writer. Never waits
+     * for disk I/O; repeated calls before the writer runs are coalesced into a single
+     * write of the latest configuration.
+     */
+    public static void save() {
+        PlushConfigRoot root = ROOT;
+        if (root != null) {
+            getWriter().requestSave(GSON.toJson(root));
+        }
+    }
+
+    /**
+     * Blocks until all queued saves have been written, called when the server stops.
+     */
+    public static void flushSaves() {
+        AtomicConfigWriter writer = WRITER;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Gets the background writer for the config file, creating it on first use.
+     *
+     * @return the config file writer
+     */
+    private static synchronized AtomicConfigWriter getWriter() {
+        if (WRITER == null) {
+            WRITER = new AtomicConfigWriter(FMLPaths.CONFIGDIR.get().resolve(FILE_NAME));
         }
+        return WRITER;
     }
 
     /**
-     * Saves the configuration to the specified path.
+     * Saves the configuration to the specified path on the calling thread.
      *
      * @param path the path to save the configuration to
      * @param root the configuration root to save
      */
     private static void save(Path path, PlushConfigRoot root) {
-        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
-            GSON.toJson(root, writer);
+        try {
+            AtomicConfigWriter.writeAtomically(path, GSON.toJson(root));
         } catch (IOException e) {
             TetoMod.LOGGER.error("Failed to write plush tiers config to {}", path.toAbsolutePath(), e);
         }
@@ -231,7 +810,8 @@ public final class PlushTierConfigManager {
         tier.itemsToReceive.add(new PlushItemEntry("minecraft:diamond", 2, 3));
         tier.itemsToReceive.add(new PlushItemEntry("minecraft:emerald", 3, 2));
         tier.itemsToReceive.add(new PlushItemEntry("minecraft:golden_apple", 1, 2));
-        tier.itemsToReceive.add(new PlushItemEntry("minecraft:enchanted_book", 1, 1));
+        tier.itemsToReceive.add(new PlushItemEntry("minecraft:enchanted_book", 1, 1,
+                JsonParser.parseString("{\"minecraft:stored_enchantments\": {\"minecraft:mending\": 1}}").getAsJsonObject()));
 
         tier.unlockRequirement = new PlushItemEntry("minecraft:diamond", 4, 1);
 
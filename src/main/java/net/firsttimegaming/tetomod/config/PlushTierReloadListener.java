@@ -0,0 +1,162 @@
+package net.firsttimegaming.tetomod.config;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import net.firsttimegaming.tetomod.TetoMod;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reload listener that loads plush tiers from datapacks.
+ * <p>
+ * Tier files live under {@code data/<namespace>/tetomod_tiers/<tier>.json}, where the
+ * file name is the tier key (e.g. {@code t1.json}). When several namespaces define the
+ * same tier, their item pools are combined. Each file has the same layout as a
+ * tier in the global config file, plus an optional {@code requiredCompletions} value.
+ * Dimension/biome profiles live under {@code tetomod_tiers/profiles/<name>.json} and
+ * use the profile layout of the global config file. Both are read by
+ * {@link PlushConfigParser}, so absent counts and weights default to 1 and invalid
+ * values are clamped or skipped with a warning, as in the config file.
+ * <p>
+ * Parsing and validation run in the background preparation phase; only the finished
+ * configuration is swapped in during the apply phase on the server thread. When no
+ * datapack defines any tiers, the global config file stays in effect.
+ */
+public class PlushTierReloadListener extends SimplePreparableReloadListener<PlushConfigRoot> {
+
+    // ==================== Class Variables ====================
+
+    /** The datapack directory tier files are loaded from. */
+    public static final String DIRECTORY = "tetomod_tiers";
+
+    /** Path prefix of profile files, e.g. {@code tetomod_tiers/profiles/nether.json}. */
+    private static final String PROFILE_PREFIX = "profiles/";
+
+    /** GSON instance used to read the tier files into JSON trees. */
+    private static final Gson GSON = new Gson();
+
+    /** Registry lookup used to decode data components, including datapack registries. */
+    private final HolderLookup.Provider registries;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new PlushTierReloadListener.
+     *
+     * @param registries the registry lookup of the data being reloaded
+     */
+    public PlushTierReloadListener(HolderLookup.Provider registries) {
+        this.registries = registries;
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Adds a datapack tier to the root under its tier key, the path of its ID.
+     * <p>
+     * When files of several namespaces define the same tier, their item pools are
+     * combined. The unlock requirement, loot table, quest slots and required completions
+     * come from the namespace that sorts first.
+     *
+     * @param root                the root being built
+     * @param id                  the full ID of the tier file
+     * @param tier                the parsed tier
+     * @param requiredCompletions the tier's required completions, or null if the file sets none
+     */
+    private static void addTier(PlushConfigRoot root, ResourceLocation id, PlushTierConfig tier,
+                                @Nullable Integer requiredCompletions) {
+        String tierKey = id.getPath();
+        PlushTierConfig existing = root.tiers.get(tierKey);
+        if (existing == null) {
+            root.tiers.put(tierKey, tier);
+            if (requiredCompletions != null) {
+                root.tierLocks.put(tierKey, requiredCompletions);
+            }
+            return;
+        }
+
+        TetoMod.LOGGER.info("Plush tier {} adds its item pools to tier {} of an earlier namespace", id, tierKey);
+        existing.itemsToGive = append(existing.itemsToGive, tier.itemsToGive);
+        existing.itemsToReceive = append(existing.itemsToReceive, tier.itemsToReceive);
+        if (requiredCompletions != null) {
+            root.tierLocks.putIfAbsent(tierKey, requiredCompletions);
+        }
+    }
+
+    /**
+     * Appends the entries of one item pool to another.
+     *
+     * @param target  the pool to extend, may be null
+     * @param entries the entries to append, may be null
+     * @return the extended pool
+     */
+    private static List<PlushItemEntry> append(List<PlushItemEntry> target, List<PlushItemEntry> entries) {
+        List<PlushItemEntry> result = target == null ? new ArrayList<>() : target;
+        if (entries != null) {
+            result.addAll(entries);
+        }
+        return result;
+    }
+
+    // ==================== Overridden Methods ====================
+
+    @Override
+    protected PlushConfigRoot prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+        Map<ResourceLocation, JsonElement> files = new HashMap<>();
+        SimpleJsonResourceReloadListener.scanDirectory(resourceManager, DIRECTORY, GSON, files);
+
+        if (files.isEmpty()) {
+            return null;
+        }
+
+        // Key tiers by their full ID, so same-named files of different namespaces never
+        // replace each other; sorting makes overlaps resolve the same way on every reload
+        Map<ResourceLocation, PlushTierConfig> tiers = new TreeMap<>();
+        Map<ResourceLocation, Integer> tierLocks = new HashMap<>();
+        PlushConfigRoot root = new PlushConfigRoot();
+        for (Map.Entry<ResourceLocation, JsonElement> e : new TreeMap<>(files).entrySet()) {
+            ResourceLocation id = e.getKey();
+            String path = id.getPath();
+            try {
+                if (path.startsWith(PROFILE_PREFIX)) {
+                    PlushProfileConfig profile = PlushConfigParser.parseProfile(e.getValue(), id.toString());
+                    profile.name = id.getNamespace() + ":" + path.substring(PROFILE_PREFIX.length());
+                    root.profiles.add(profile);
+                    continue;
+                }
+
+                tiers.put(id, PlushConfigParser.parseTier(e.getValue(), id.toString(),
+                        required -> tierLocks.put(id, required)));
+            } catch (IOException | IllegalStateException ex) {
+                TetoMod.LOGGER.error("Failed to parse plush tier {}", id, ex);
+            }
+        }
+
+        for (Map.Entry<ResourceLocation, PlushTierConfig> e : tiers.entrySet()) {
+            addTier(root, e.getKey(), e.getValue(), tierLocks.get(e.getKey()));
+        }
+
+        return PlushTierConfigManager.compile(root, "datapacks", registries);
+    }
+
+    @Override
+    protected void apply(PlushConfigRoot root, ResourceManager resourceManager, ProfilerFiller profiler) {
+        PlushTierConfigManager.applyDatapackConfig(root);
+
+        if (root != null) {
+            TetoMod.LOGGER.info("Loaded {} plush tiers from datapacks", root.tiers.size());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package net.firsttimegaming.tetomod.journal;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * A decoded journal record.
+ * <p>
+ * On disk and in the {@link JournalRingBuffer}, every record is {@link #RECORD_LONGS}
+ * big-endian longs:
+ * <ol start="0">
+ *   <li>wall clock time in epoch milliseconds, never 0, which marks unused space</li>
+ *   <li>game time of the level</li>
+ *   <li>packed block position</li>
+ *   <li>most significant bits of the player UUID, 0 for automation</li>
+ *   <li>least significant bits of the player UUID, 0 for automation</li>
+ *   <li>type, tier, quest slot and reward stack count in one byte each, then the
+ *       dimension ID's hash code</li>
+ *   <li>raw registry ID of the item given, then its count</li>
+ *   <li>raw registry ID of the first reward item, then its count</li>
+ * </ol>
+ * Raw registry IDs are only stable while the world's mod list stays the same, which is
+ * enough for investigating recent trades.
+ *
+ * @param type          what happened
+ * @param epochMillis   wall clock time of the record
+ * @param gameTime      game time of the level
+ * @param dimensionHash hash code of the dimension ID
+ * @param pos           position of the plush
+ * @param player        the acting player, or null for automation
+ * @param tier          the tier index (0-based)
+ * @param questSlot     the quest slot (0-based)
+ * @param itemId        raw registry ID of the item given, or of the upgrade item
+ * @param count         number of items given
+ * @param rewardItemId  raw registry ID of the first reward item
+ * @param rewardCount   count of the first reward stack
+ * @param rewardStacks  number of reward stacks
+ */
+public record JournalRecord(Type type, long epochMillis, long gameTime, int dimensionHash, BlockPos pos,
+                            @Nullable UUID player, int tier, int questSlot, int itemId, int count,
+                            int rewardItemId, int rewardCount, int rewardStacks) {
+
+    // ==================== Class Variables ====================
+
+    /** Number of longs per record. */
+    public static final int RECORD_LONGS = 8;
+
+    /** Number of bytes per record. */
+    public static final int RECORD_BYTES = RECORD_LONGS * Long.BYTES;
+
+    /** Field index of the wall clock time. */
+    public static final int FIELD_EPOCH_MILLIS = 0;
+
+    /** Field index of the game time. */
+    public static final int FIELD_GAME_TIME = 1;
+
+    /** Field index of the packed block position. */
+    public static final int FIELD_POS = 2;
+
+    /** Field index of the most significant bits of the player UUID. */
+    public static final int FIELD_PLAYER_MOST = 3;
+
+    /** Field index of the least significant bits of the player UUID. */
+    public static final int FIELD_PLAYER_LEAST = 4;
+
+    /** Field index of the packed type, tier, quest slot, reward stack count and dimension. */
+    public static final int FIELD_HEADER = 5;
+
+    /** Field index of the packed item given and its count. */
+    public static final int FIELD_ITEM = 6;
+
+    /** Field index of the packed first reward item and its count. */
+    public static final int FIELD_REWARD = 7;
+
+    /** Bit mask of one byte. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** Bit mask of the low 32 bits of a long. */
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Kinds of journal records.
+     */
+    public enum Type {
+        /** A player completed a quest through the menu or redstone. */
+        TRADE(1),
+
+        /** Automation completed a quest. */
+        AUTOMATED_TRADE(2),
+
+        /** A player rerolled the quests of a tier. */
+        REROLL(3),
+
+        /** A player unlocked a tier. */
+        UPGRADE(4);
+
+        /** The ID stored in the header field; 0 is never used. */
+        private final int id;
+
+        Type(int id) {
+            this.id = id;
+        }
+
+        /**
+         * Looks up a type by its stored ID.
+         *
+         * @param id the stored ID
+         * @return the type, or null if the ID is unknown
+         */
+        @Nullable
+        public static Type byId(int id) {
+            for (Type type : values()) {
+                if (type.id == id) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Packs the header field.
+     *
+     * @param type          what happened
+     * @param tier          the tier index (0-based)
+     * @param questSlot     the quest slot (0-based)
+     * @param rewardStacks  number of reward stacks, capped at 255
+     * @param dimensionHash hash code of the dimension ID
+     * @return the header field
+     */
+    public static long packHeader(Type type, int tier, int questSlot, int rewardStacks, int dimensionHash) {
+        long flags = (long) type.id << 24 | (tier & BYTE_MASK) << 16 | (questSlot & BYTE_MASK) << 8
+                | Math.min(rewardStacks, BYTE_MASK);
+        return flags << 32 | (dimensionHash & INT_MASK);
+    }
+
+    /**
+     * Packs an item field.
+     *
+     * @param itemId raw registry ID of the item
+     * @param count  the item count
+     * @return the item field
+     */
+    public static long packItem(int itemId, int count) {
+        return (long) itemId << 32 | (count & INT_MASK);
+    }
+
+    /**
+     * Reads a record from a segment.
+     *
+     * @param segment the segment contents
+     * @param index   the record index within the segment
+     * @return the record, or null if the slot is unused or of an unknown type
+     */
+    @Nullable
+    public static JournalRecord read(ByteBuffer segment, int index) {
+        int offset = index * RECORD_BYTES;
+        long epochMillis = segment.getLong(offset + FIELD_EPOCH_MILLIS * Long.BYTES);
+        long header = segment.getLong(offset + FIELD_HEADER * Long.BYTES);
+        Type type = Type.byId((int) (header >>> 56));
+        if (epochMillis == 0L || type == null) {
+            return null;
+        }
+
+        long most = segment.getLong(offset + FIELD_PLAYER_MOST * Long.BYTES);
+        long least = segment.getLong(offset + FIELD_PLAYER_LEAST * Long.BYTES);
+        long item = segment.getLong(offset + FIELD_ITEM * Long.BYTES);
+        long reward = segment.getLong(offset + FIELD_REWARD * Long.BYTES);
+
+        return new JournalRecord(
+                type,
+                epochMillis,
+                segment.getLong(offset + FIELD_GAME_TIME * Long.BYTES),
+                (int) header,
+                BlockPos.of(segment.getLong(offset + FIELD_POS * Long.BYTES)),
+                most == 0L && least == 0L ? null : new UUID(most, least),
+                (int) (header >>> 48) & BYTE_MASK,
+                (int) (header >>> 40) & BYTE_MASK,
+                (int) (item >>> 32),
+                (int) item,
+                (int) (reward >>> 32),
+                (int) reward,
+                (int) (header >>> 32) & BYTE_MASK
+        );
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Gets the ID of the item given.
+     *
+     * @return the item ID, e.g. "minecraft:dirt"
+     */
+    public String itemName() {
+        return BuiltInRegistries.ITEM.getKey(BuiltInRegistries.ITEM.byId(itemId)).toString();
+    }
+
+    /**
+     * Gets the ID of the first reward item.
+     *
+     * @return the item ID, e.g. "minecraft:diamond"
+     */
+    public String rewardName() {
+        return BuiltInRegistries.ITEM.getKey(BuiltInRegistries.ITEM.byId(rewardItemId)).toString();
+    }
+}
@@ -0,0 +1,139 @@
+package net.firsttimegaming.tetomod.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of fixed-width journal records.
+ * <p>
+ * Records are stored as {@link JournalRecord#RECORD_LONGS} longs each in one
+ * preallocated array, so appending allocates nothing. Each slot carries a sequence
+ * number, following the bounded queue design by Dmitry Vyukov: a producer claims a slot
+ * with one compare-and-set on the tail, fills it with plain writes and publishes it by
+ * advancing the slot's sequence. The single consumer reads a slot once its sequence says
+ * it has been published and hands it back by advancing the sequence by one lap.
+ * <p>
+ * When the queue is full, records are dropped and counted rather than blocking the
+ * server thread.
+ */
+public final class JournalRingBuffer {
+
+    // ==================== Class Variables ====================
+
+    /** Number of record slots, a power of two. */
+    private final int capacity;
+
+    /** Mask turning a sequence number into a slot index. */
+    private final int mask;
+
+    /** Record fields, {@link JournalRecord#RECORD_LONGS} per slot. */
+    private final long[] data;
+
+    /** Per-slot sequence number telling producers and the consumer whose turn it is. */
+    private final AtomicLongArray sequences;
+
+    /** Sequence number of the next slot to claim. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Sequence number of the next slot to read; only touched by the consumer. */
+    private long head = 0L;
+
+    /** Number of records dropped because the queue was full. */
+    private final AtomicLong dropped = new AtomicLong();
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new JournalRingBuffer.
+     *
+     * @param capacity the number of record slots, a power of two
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    public JournalRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.data = new long[capacity * JournalRecord.RECORD_LONGS];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the number of records dropped because the queue was full.
+     *
+     * @return the dropped record count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Claims a slot for a new record. Safe to call from any thread.
+     *
+     * @return the claimed sequence number, or -1 if the queue is full and the record was dropped
+     */
+    public long claim() {
+        long sequence = tail.get();
+        while (true) {
+            long available = sequences.get((int) sequence & mask) - sequence;
+            if (available == 0) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+                sequence = tail.get();
+            } else if (available < 0) {
+                dropped.incrementAndGet();
+                return -1L;
+            } else {
+                sequence = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Writes one field of a claimed record.
+     *
+     * @param sequence the sequence number returned by {@link #claim()}
+     * @param field    the field index, one of the FIELD_* constants of {@link JournalRecord}
+     * @param value    the field value
+     */
+    public void put(long sequence, int field, long value) {
+        data[((int) sequence & mask) * JournalRecord.RECORD_LONGS + field] = value;
+    }
+
+    /**
+     * Publishes a claimed record to the consumer.
+     *
+     * @param sequence the sequence number returned by {@link #claim()}
+     */
+    public void publish(long sequence) {
+        sequences.lazySet((int) sequence & mask, sequence + 1);
+    }
+
+    /**
+     * Takes the oldest published record. Must only be called by the single consumer.
+     *
+     * @param out the array receiving the record's {@link JournalRecord#RECORD_LONGS} fields
+     * @return true if a record was taken, false if none is published yet
+     */
+    public boolean poll(long[] out) {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return false;
+        }
+
+        System.arraycopy(data, index * JournalRecord.RECORD_LONGS, out, 0, JournalRecord.RECORD_LONGS);
+        sequences.lazySet(index, head + capacity);
+        head++;
+        return true;
+    }
+}
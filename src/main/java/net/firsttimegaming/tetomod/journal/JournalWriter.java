@@ -0,0 +1,314 @@
+package net.firsttimegaming.tetomod.journal;
+
+import net.firsttimegaming.tetomod.TetoMod;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer draining a {@link JournalRingBuffer} into memory-mapped segment files.
+ * <p>
+ * Each segment is a fixed-size file of {@link #SEGMENT_RECORDS} records, mapped once and
+ * filled with plain memory writes, so appending a record never makes a system call.
+ * Unused space is zero, so the write position of the newest segment is found again after
+ * a restart by searching for the first record whose time is 0. When a segment is full it
+ * is forced to disk and the next one is started; only the newest {@link #MAX_SEGMENTS}
+ * segments are kept.
+ * <p>
+ * Readers on other threads must not trust the zero marker of the newest segment, since
+ * a record being copied may already have a non-zero time. The writer therefore publishes
+ * a committed position through a volatile field after each record is complete, and
+ * readers only read up to it.
+ */
+public final class JournalWriter implements Runnable {
+
+    // ==================== Class Variables ====================
+
+    /** Number of records per segment file (1 MiB). */
+    public static final int SEGMENT_RECORDS = 16384;
+
+    /** Number of segment files kept before the oldest is deleted. */
+    private static final int MAX_SEGMENTS = 32;
+
+    /** Segment file name prefix, followed by the zero-padded segment number. */
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    /** Segment file name suffix. */
+    private static final String SEGMENT_SUFFIX = ".bin";
+
+    /** Committed position before the writer has found its place in the newest segment. */
+    public static final long NOTHING_COMMITTED = -1L;
+
+    /** Maximum records written before checking whether to stop. */
+    private static final int MAX_BATCH = 1024;
+
+    /** Time the writer sleeps when the queue is empty. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /** Directory holding the segment files. */
+    private final Path dir;
+
+    /** The queue this writer drains. */
+    private final JournalRingBuffer buffer;
+
+    /** Cleared to make the writer drain what is queued and exit. */
+    private volatile boolean running = true;
+
+    /** The mapped segment being filled, or null if none is open. */
+    private MappedByteBuffer segment;
+
+    /** Number of the segment being filled. */
+    private long segmentNumber = -1L;
+
+    /** Index of the next record to write in the current segment. */
+    private int position = 0;
+
+    /**
+     * Number of records before the write position, counted over all segments
+     * ({@code segmentNumber * SEGMENT_RECORDS + position}). Written with release
+     * semantics after a record is complete, so every record below it is fully visible
+     * to a reader that reads this field first.
+     */
+    private volatile long committed = NOTHING_COMMITTED;
+
+    /** Whether a write failure was already logged, so a full disk does not flood the log. */
+    private boolean failureLogged = false;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new JournalWriter.
+     *
+     * @param dir    the directory holding the segment files
+     * @param buffer the queue to drain
+     */
+    public JournalWriter(Path dir, JournalRingBuffer buffer) {
+        this.dir = dir;
+        this.buffer = buffer;
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Lists the segment files in a directory, oldest first.
+     *
+     * @param dir the journal directory
+     * @return the segment files, empty if the directory does not exist
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> listSegments(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return segments;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                segments.add(file);
+            }
+        }
+        // Segment numbers are zero-padded, so name order is numeric order
+        segments.sort(null);
+        return segments;
+    }
+
+    /**
+     * Counts the records in a segment by searching for the first unused record.
+     *
+     * @param segment the segment contents
+     * @return the number of records written
+     */
+    public static int countRecords(ByteBuffer segment) {
+        int low = 0;
+        int high = segment.capacity() / JournalRecord.RECORD_BYTES;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segment.getLong(mid * JournalRecord.RECORD_BYTES + JournalRecord.FIELD_EPOCH_MILLIS * Long.BYTES) != 0L) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Parses the number of a segment file.
+     *
+     * @param file the segment file
+     * @return the segment number
+     * @throws NumberFormatException if the file name is not a segment name
+     */
+    public static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the committed position: every record before it, counted over all segments, is
+     * completely written. Records at or after it may still be in progress.
+     *
+     * @return the committed position, or {@link #NOTHING_COMMITTED} if the writer has
+     *         not opened its segment yet
+     */
+    public long getCommitted() {
+        return committed;
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Makes the writer drain the remaining queued records and exit. The writer notices
+     * within {@link #IDLE_PARK_NANOS} unless its thread is unparked.
+     */
+    public void requestStop() {
+        running = false;
+    }
+
+    /**
+     * Writes one record to the current segment, rotating to a new segment when it is full.
+     *
+     * @param record the record's fields
+     */
+    private void write(long[] record) {
+        if (!prepareSegment()) {
+            return;
+        }
+
+        int offset = position * JournalRecord.RECORD_BYTES;
+        for (int i = 0; i < JournalRecord.RECORD_LONGS; i++) {
+            segment.putLong(offset + i * Long.BYTES, record[i]);
+        }
+        position++;
+        commit();
+    }
+
+    /**
+     * Makes sure a segment with room for one more record is open.
+     *
+     * @return true if a record can be written, false if the segment could not be opened
+     */
+    private boolean prepareSegment() {
+        try {
+            if (segment == null) {
+                openNewestSegment();
+            }
+            if (position == SEGMENT_RECORDS) {
+                rotate();
+            }
+            return true;
+        } catch (IOException | NumberFormatException e) {
+            if (!failureLogged) {
+                failureLogged = true;
+                TetoMod.LOGGER.error("Failed to open trade journal segment in {}, dropping records", dir, e);
+            }
+            segment = null;
+            return false;
+        }
+    }
+
+    /**
+     * Publishes the write position, making every record before it visible to readers.
+     */
+    private void commit() {
+        committed = segmentNumber * SEGMENT_RECORDS + position;
+    }
+
+    /**
+     * Opens the newest segment for appending, or the first one if none exists yet.
+     *
+     * @throws IOException           if the segment cannot be created or mapped
+     * @throws NumberFormatException if a file in the directory only looks like a segment
+     */
+    private void openNewestSegment() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> segments = listSegments(dir);
+        long number = segments.isEmpty() ? 0L : segmentNumber(segments.get(segments.size() - 1));
+
+        map(number);
+        position = countRecords(segment);
+        commit();
+    }
+
+    /**
+     * Forces the full segment to disk and starts the next one, deleting the oldest
+     * segment if too many are kept.
+     *
+     * @throws IOException if the next segment cannot be created or mapped
+     */
+    private void rotate() throws IOException {
+        segment.force();
+        map(segmentNumber + 1);
+        position = 0;
+
+        Files.deleteIfExists(segmentPath(segmentNumber - MAX_SEGMENTS));
+    }
+
+    /**
+     * Maps a segment file, creating it at full size if absent.
+     *
+     * @param number the segment number
+     * @throws IOException if the segment cannot be created or mapped
+     */
+    private void map(long number) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    (long) SEGMENT_RECORDS * JournalRecord.RECORD_BYTES);
+        }
+        segmentNumber = number;
+    }
+
+    /**
+     * Gets the path of a segment file.
+     *
+     * @param number the segment number
+     * @return the segment path
+     */
+    private Path segmentPath(long number) {
+        return dir.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    // ==================== Overridden Methods ====================
+
+    @Override
+    public void run() {
+        long[] record = new long[JournalRecord.RECORD_LONGS];
+        // Find the write position right away, so readers can list older records before the first write
+        prepareSegment();
+
+        while (true) {
+            // Read the flag before draining, so records queued before stop() are still written
+            boolean stopping = !running;
+            int written = 0;
+            while (written < MAX_BATCH && buffer.poll(record)) {
+                write(record);
+                written++;
+            }
+
+            if (written == 0) {
+                if (stopping) {
+                    break;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+
+        if (segment != null) {
+            segment.force();
+        }
+    }
+}
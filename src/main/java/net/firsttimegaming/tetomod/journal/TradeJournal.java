@@ -0,0 +1,261 @@
+package net.firsttimegaming.tetomod.journal;
+
+import net.firsttimegaming.tetomod.TetoMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-world, append-only journal of plush trades, rerolls and upgrades.
+ * <p>
+ * Recording a trade only claims a slot in a {@link JournalRingBuffer} and fills in eight
+ * longs, so the trade path neither allocates nor blocks. A {@link JournalWriter} on its
+ * own daemon thread copies the records into memory-mapped segment files under the
+ * world's {@code tetomod_journal} directory. The journal is open while a server runs;
+ * records made while it is closed are ignored.
+ */
+public final class TradeJournal {
+
+    // ==================== Class Variables ====================
+
+    /** Directory under the world folder holding the segment files. */
+    private static final String JOURNAL_DIR = "tetomod_journal";
+
+    /** Number of records the queue holds before new records are dropped. */
+    private static final int QUEUE_CAPACITY = 8192;
+
+    /** Maximum time to wait for the writer to drain the queue on shutdown, in milliseconds. */
+    private static final long STOP_TIMEOUT_MILLIS = 10_000L;
+
+    /** The queue of the open journal, or null while no server is running. */
+    @Nullable
+    private static volatile JournalRingBuffer buffer;
+
+    /** Directory of the open journal. */
+    @Nullable
+    private static Path directory;
+
+    /** The writer of the open journal. */
+    @Nullable
+    private static JournalWriter writer;
+
+    /** The thread running {@link #writer}. */
+    @Nullable
+    private static Thread writerThread;
+
+    // ==================== Constructor ====================
+
+    private TradeJournal() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Opens the journal of a server's world and starts its writer.
+     *
+     * @param server the starting server
+     */
+    public static synchronized void open(MinecraftServer server) {
+        close();
+
+        directory = server.getWorldPath(LevelResource.ROOT).resolve(JOURNAL_DIR);
+        JournalRingBuffer queue = new JournalRingBuffer(QUEUE_CAPACITY);
+        writer = new JournalWriter(directory, queue);
+        writerThread = new Thread(writer, "TetoMod Journal Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        buffer = queue;
+    }
+
+    /**
+     * Stops recording and waits for the writer to store what is queued.
+     */
+    public static synchronized void close() {
+        JournalRingBuffer queue = buffer;
+        if (queue == null) {
+            return;
+        }
+
+        buffer = null;
+        writer.requestStop();
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (queue.getDropped() > 0) {
+            TetoMod.LOGGER.warn("Trade journal dropped {} records because its queue was full", queue.getDropped());
+        }
+        writer = null;
+        writerThread = null;
+    }
+
+    /**
+     * Records a completed trade.
+     *
+     * @param level     the level the plush is in
+     * @param pos       the plush position
+     * @param player    the trading player, or null for automation and redstone
+     * @param automated whether the reward went to the output slot
+     * @param tier      the tier index (0-based)
+     * @param questSlot the completed quest slot (0-based)
+     * @param given     the item given
+     * @param count     the number of items given
+     * @param rewards   the reward stacks
+     */
+    public static void recordTrade(Level level, BlockPos pos, @Nullable Player player, boolean automated,
+                                   int tier, int questSlot, Item given, int count, List<ItemStack> rewards) {
+        ItemStack firstReward = rewards.isEmpty() ? ItemStack.EMPTY : rewards.get(0);
+        append(automated ? JournalRecord.Type.AUTOMATED_TRADE : JournalRecord.Type.TRADE, level, pos, player,
+                tier, questSlot, given, count, firstReward.getItem(), firstReward.getCount(), rewards.size());
+    }
+
+    /**
+     * Records a reroll of a tier's quests.
+     *
+     * @param level  the level the plush is in
+     * @param pos    the plush position
+     * @param player the rerolling player
+     * @param tier   the tier index (0-based)
+     */
+    public static void recordReroll(Level level, BlockPos pos, Player player, int tier) {
+        append(JournalRecord.Type.REROLL, level, pos, player, tier, 0, Items.AIR, 0, Items.AIR, 0, 0);
+    }
+
+    /**
+     * Records a tier unlock.
+     *
+     * @param level  the level the plush is in
+     * @param pos    the plush position
+     * @param player the upgrading player
+     * @param tier   the unlocked tier index (0-based)
+     * @param item   the upgrade item consumed
+     * @param count  the number of upgrade items consumed
+     */
+    public static void recordUpgrade(Level level, BlockPos pos, Player player, int tier, Item item, int count) {
+        append(JournalRecord.Type.UPGRADE, level, pos, player, tier, 0, item, count, Items.AIR, 0, 0);
+    }
+
+    /**
+     * Appends a record to the queue, or drops it if the journal is closed or the queue is full.
+     *
+     * @param type         what happened
+     * @param level        the level the plush is in
+     * @param pos          the plush position
+     * @param player       the acting player, or null for automation and redstone
+     * @param tier         the tier index (0-based)
+     * @param questSlot    the quest slot (0-based)
+     * @param item         the item given
+     * @param count        the number of items given
+     * @param rewardItem   the first reward item
+     * @param rewardCount  the count of the first reward stack
+     * @param rewardStacks the number of reward stacks
+     */
+    private static void append(JournalRecord.Type type, Level level, BlockPos pos, @Nullable Player player,
+                               int tier, int questSlot, Item item, int count, Item rewardItem, int rewardCount,
+                               int rewardStacks) {
+        JournalRingBuffer queue = buffer;
+        if (queue == null) {
+            return;
+        }
+
+        long sequence = queue.claim();
+        if (sequence < 0) {
+            return;
+        }
+
+        UUID playerId = player == null ? null : player.getUUID();
+        queue.put(sequence, JournalRecord.FIELD_EPOCH_MILLIS, System.currentTimeMillis());
+        queue.put(sequence, JournalRecord.FIELD_GAME_TIME, level.getGameTime());
+        queue.put(sequence, JournalRecord.FIELD_POS, pos.asLong());
+        queue.put(sequence, JournalRecord.FIELD_PLAYER_MOST, playerId == null ? 0L : playerId.getMostSignificantBits());
+        queue.put(sequence, JournalRecord.FIELD_PLAYER_LEAST, playerId == null ? 0L : playerId.getLeastSignificantBits());
+        queue.put(sequence, JournalRecord.FIELD_HEADER, JournalRecord.packHeader(type, tier, questSlot, rewardStacks,
+                level.dimension().location().hashCode()));
+        queue.put(sequence, JournalRecord.FIELD_ITEM, JournalRecord.packItem(BuiltInRegistries.ITEM.getId(item), count));
+        queue.put(sequence, JournalRecord.FIELD_REWARD,
+                JournalRecord.packItem(BuiltInRegistries.ITEM.getId(rewardItem), rewardCount));
+        queue.publish(sequence);
+    }
+
+    /**
+     * Reads the most recent records, newest first.
+     * <p>
+     * Records reach the segment files a few milliseconds after they are made, so the very
+     * latest ones may not be listed yet. Only records below the writer's committed position
+     * are read, so a record the writer is still copying is never listed half written.
+     *
+     * @param skip  the number of newest records to skip
+     * @param limit the maximum number of records to return
+     * @return the records, newest first
+     * @throws IOException if a segment cannot be read
+     */
+    public static List<JournalRecord> readRecent(int skip, int limit) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        Path dir = directory;
+        if (dir == null) {
+            return records;
+        }
+
+        // Read the committed position before any segment contents
+        JournalWriter journalWriter = writer;
+        long committed = journalWriter == null ? JournalWriter.NOTHING_COMMITTED : journalWriter.getCommitted();
+        if (committed == JournalWriter.NOTHING_COMMITTED) {
+            return records;
+        }
+
+        List<Path> segments = JournalWriter.listSegments(dir);
+        for (int s = segments.size() - 1; s >= 0 && records.size() < limit; s--) {
+            long firstRecord;
+            try {
+                firstRecord = JournalWriter.segmentNumber(segments.get(s)) * JournalWriter.SEGMENT_RECORDS;
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            long committedInSegment = committed - firstRecord;
+            if (committedInSegment <= 0) {
+                continue;
+            }
+
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(segments.get(s), StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+
+            int count = (int) Math.min(JournalWriter.countRecords(segment), committedInSegment);
+            if (skip >= count) {
+                skip -= count;
+                continue;
+            }
+
+            for (int i = count - 1 - skip; i >= 0 && records.size() < limit; i--) {
+                JournalRecord record = JournalRecord.read(segment, i);
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+            skip = 0;
+        }
+        return records;
+    }
+}
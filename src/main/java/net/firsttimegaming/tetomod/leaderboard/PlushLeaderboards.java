@@ -0,0 +1,223 @@
+package net.firsttimegaming.tetomod.leaderboard;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.firsttimegaming.tetomod.block.entity.PlushBlockEntity;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Rarity;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Server-wide leaderboards of plush trades, stored with the overworld.
+ * <p>
+ * Every board keeps a counter per player plus a {@link TopKTracker} of the leading
+ * players. A trade bumps a few counters and updates each tracker in O(log K), so
+ * listing a board reads at most {@link #TOP_SIZE} entries and never scans all players
+ * or plushes. Trades made by automation have no player and are not counted.
+ */
+public class PlushLeaderboards extends SavedData {
+
+    // ==================== Class Variables ====================
+
+    /** Number of players listed per board. */
+    public static final int TOP_SIZE = 10;
+
+    /** Name of the saved data file. */
+    private static final String DATA_NAME = "tetomod_leaderboards";
+
+    /** NBT key for a player's UUID. */
+    private static final String NBT_PLAYER = "Player";
+
+    /** NBT key for a player's score. */
+    private static final String NBT_SCORE = "Score";
+
+    /** Factory creating or loading the leaderboards. */
+    private static final SavedData.Factory<PlushLeaderboards> FACTORY =
+            new SavedData.Factory<>(PlushLeaderboards::new, PlushLeaderboards::load, null);
+
+    /**
+     * The tracked leaderboards.
+     */
+    public enum Board {
+        /** Quests completed at any tier. */
+        TRADES("trades", "Most trades"),
+
+        /** Quests completed at the highest tier. */
+        TOP_TIER("top_tier", "Most tier " + PlushBlockEntity.MAX_TIER + " trades"),
+
+        /** Reward stacks of rare or epic rarity received. */
+        RARE_REWARDS("rare_rewards", "Most rare rewards");
+
+        /** Name used in commands and as NBT key. */
+        private final String id;
+
+        /** Title shown above the board. */
+        private final String title;
+
+        Board(String id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+
+        /**
+         * Gets the name used in commands and as NBT key.
+         *
+         * @return the board ID
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Gets the title shown above the board.
+         *
+         * @return the board title
+         */
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    /** Score of every player that has one, per board. */
+    private final Object2IntOpenHashMap<UUID>[] counters;
+
+    /** Leading players, per board. */
+    private final TopKTracker[] leaders;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs new, empty leaderboards.
+     */
+    @SuppressWarnings("unchecked")
+    public PlushLeaderboards() {
+        Board[] boards = Board.values();
+        counters = new Object2IntOpenHashMap[boards.length];
+        leaders = new TopKTracker[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            counters[i] = new Object2IntOpenHashMap<>();
+            leaders[i] = new TopKTracker(TOP_SIZE);
+        }
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Gets the leaderboards of a server, creating them if needed.
+     *
+     * @param server the server
+     * @return the server's leaderboards
+     */
+    public static PlushLeaderboards get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(FACTORY, DATA_NAME);
+    }
+
+    /**
+     * Loads the leaderboards, rebuilding the leading players from the counters.
+     *
+     * @param tag        the saved tag
+     * @param registries the registry lookup, unused
+     * @return the leaderboards
+     */
+    private static PlushLeaderboards load(CompoundTag tag, HolderLookup.Provider registries) {
+        PlushLeaderboards data = new PlushLeaderboards();
+        for (Board board : Board.values()) {
+            ListTag scores = tag.getList(board.getId(), Tag.TAG_COMPOUND);
+            for (int i = 0; i < scores.size(); i++) {
+                CompoundTag entry = scores.getCompound(i);
+                if (!entry.hasUUID(NBT_PLAYER)) {
+                    continue;
+                }
+                data.add(board, entry.getUUID(NBT_PLAYER), entry.getInt(NBT_SCORE));
+            }
+        }
+        return data;
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the leading players of a board.
+     *
+     * @param board the board
+     * @return at most {@link #TOP_SIZE} entries, highest score first
+     */
+    public List<TopKTracker.Entry> getTop(Board board) {
+        return leaders[board.ordinal()].getSorted();
+    }
+
+    /**
+     * Gets a player's score on a board.
+     *
+     * @param board  the board
+     * @param player the player's UUID
+     * @return the score, 0 if the player has none
+     */
+    public int getScore(Board board, UUID player) {
+        return counters[board.ordinal()].getInt(player);
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Counts a completed quest.
+     *
+     * @param player  the trading player's UUID
+     * @param tier    the tier index (0-based)
+     * @param rewards the reward stacks received
+     */
+    public void recordTrade(UUID player, int tier, List<ItemStack> rewards) {
+        add(Board.TRADES, player, 1);
+        if (tier == PlushBlockEntity.MAX_TIER - 1) {
+            add(Board.TOP_TIER, player, 1);
+        }
+
+        int rare = 0;
+        for (ItemStack reward : rewards) {
+            if (reward.getRarity().ordinal() >= Rarity.RARE.ordinal()) {
+                rare++;
+            }
+        }
+        if (rare > 0) {
+            add(Board.RARE_REWARDS, player, rare);
+        }
+        setDirty();
+    }
+
+    /**
+     * Raises a player's score on a board.
+     *
+     * @param board  the board
+     * @param player the player's UUID
+     * @param amount the non-negative amount to add
+     */
+    private void add(Board board, UUID player, int amount) {
+        int score = counters[board.ordinal()].addTo(player, amount) + amount;
+        leaders[board.ordinal()].update(player, score);
+    }
+
+    // ==================== Overridden Methods ====================
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        for (Board board : Board.values()) {
+            ListTag scores = new ListTag();
+            for (Object2IntMap.Entry<UUID> e : counters[board.ordinal()].object2IntEntrySet()) {
+                CompoundTag entry = new CompoundTag();
+                entry.putUUID(NBT_PLAYER, e.getKey());
+                entry.putInt(NBT_SCORE, e.getIntValue());
+                scores.add(entry);
+            }
+            tag.put(board.getId(), scores);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,169 @@
+package net.firsttimegaming.tetomod.leaderboard;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bounded set of the players with the highest scores.
+ * <p>
+ * The tracked players form a binary min-heap on their score, with an index from player
+ * to heap position. Scores only ever grow, so a tracked player's entry can only sink
+ * towards the leaves, and an untracked player only enters by beating the lowest tracked
+ * score at the root. Either way an update costs O(log K) and never looks at players
+ * outside the top K.
+ */
+public final class TopKTracker {
+
+    // ==================== Class Variables ====================
+
+    /** Marker for players not in {@link #indexByPlayer}. */
+    private static final int NOT_TRACKED = -1;
+
+    /** Maximum number of tracked players. */
+    private final int capacity;
+
+    /** Player of each heap position. */
+    private final UUID[] players;
+
+    /** Score of each heap position. */
+    private final int[] scores;
+
+    /** Heap position of each tracked player. */
+    private final Object2IntOpenHashMap<UUID> indexByPlayer;
+
+    /** Number of tracked players. */
+    private int size = 0;
+
+    /**
+     * A player and their score.
+     *
+     * @param player the player's UUID
+     * @param score  the player's score
+     */
+    public record Entry(UUID player, int score) {
+    }
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new, empty TopKTracker.
+     *
+     * @param capacity the maximum number of tracked players
+     */
+    public TopKTracker(int capacity) {
+        this.capacity = capacity;
+        this.players = new UUID[capacity];
+        this.scores = new int[capacity];
+        this.indexByPlayer = new Object2IntOpenHashMap<>(capacity);
+        this.indexByPlayer.defaultReturnValue(NOT_TRACKED);
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the tracked players, highest score first.
+     *
+     * @return a new list of at most K entries
+     */
+    public List<Entry> getSorted() {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(players[i], scores[i]));
+        }
+        entries.sort(Comparator.comparingInt(Entry::score).reversed());
+        return entries;
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Reports a player's new score, which must not be lower than any score reported
+     * for them before.
+     *
+     * @param player the player's UUID
+     * @param score  the player's new score
+     */
+    public void update(UUID player, int score) {
+        int index = indexByPlayer.getInt(player);
+        if (index != NOT_TRACKED) {
+            scores[index] = score;
+            siftDown(index);
+            return;
+        }
+
+        if (size < capacity) {
+            place(size, player, score);
+            siftUp(size++);
+            return;
+        }
+
+        if (capacity == 0 || score <= scores[0]) {
+            return;
+        }
+
+        indexByPlayer.removeInt(players[0]);
+        place(0, player, score);
+        siftDown(0);
+    }
+
+    /**
+     * Stores a player at a heap position.
+     *
+     * @param index  the heap position
+     * @param player the player's UUID
+     * @param score  the player's score
+     */
+    private void place(int index, UUID player, int score) {
+        players[index] = player;
+        scores[index] = score;
+        indexByPlayer.put(player, index);
+    }
+
+    /**
+     * Moves an entry up until its parent's score is not higher.
+     *
+     * @param index the heap position of the entry
+     */
+    private void siftUp(int index) {
+        UUID player = players[index];
+        int score = scores[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= score) {
+                break;
+            }
+            place(index, players[parent], scores[parent]);
+            index = parent;
+        }
+        place(index, player, score);
+    }
+
+    /**
+     * Moves an entry down until neither child's score is lower.
+     *
+     * @param index the heap position of the entry
+     */
+    private void siftDown(int index) {
+        UUID player = players[index];
+        int score = scores[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[child + 1] < scores[child]) {
+                child++;
+            }
+            if (score <= scores[child]) {
+                break;
+            }
+            place(index, players[child], scores[child]);
+            index = child;
+        }
+        place(index, player, score);
+    }
+}
@@ -0,0 +1,38 @@
+package net.firsttimegaming.tetomod.network;
+
+import net.firsttimegaming.tetomod.config.PlushTierConfigManager;
+import net.minecraft.client.Minecraft;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Client-side handlers for mod payloads.
+ * <p>
+ * Kept separate from the payload classes so client-only code is never loaded on a
+ * dedicated server.
+ */
+public final class ClientPayloadHandler {
+
+    // ==================== Constructor ====================
+
+    private ClientPayloadHandler() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Applies the tier configuration received from the server.
+     * <p>
+     * In singleplayer the client shares the server's configuration already, so the
+     * payload is ignored there.
+     *
+     * @param payload the received payload
+     * @param context the payload context
+     */
+    public static void handleSyncPlushTiers(SyncPlushTiersPayload payload, IPayloadContext context) {
+        if (Minecraft.getInstance().hasSingleplayerServer()) {
+            return;
+        }
+        PlushTierConfigManager.applySyncedConfig(payload.json(), context.player().registryAccess());
+    }
+}
@@ -0,0 +1,66 @@
+package net.firsttimegaming.tetomod.network;
+
+import net.firsttimegaming.tetomod.config.PlushTierConfigManager;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.event.OnDatapackSyncEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+
+/**
+ * Registry class for all mod network payloads.
+ */
+public class ModPayloads {
+
+    /** Network protocol version, bumped whenever a payload layout changes. */
+    private static final String PROTOCOL_VERSION = "1";
+
+    /**
+     * Registers all payload types and their handlers.
+     *
+     * @param event the payload registration event
+     */
+    private static void registerPayloads(RegisterPayloadHandlersEvent event) {
+        PayloadRegistrar registrar = event.registrar(PROTOCOL_VERSION);
+
+        registrar.playToClient(
+                SyncPlushTiersPayload.TYPE,
+                SyncPlushTiersPayload.STREAM_CODEC,
+                SyncPlushTiersPayload::handle
+        );
+    }
+
+    /**
+     * Sends the active tier configuration when datapacks are synchronized.
+     *
+     * @param event the datapack sync event
+     */
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        SyncPlushTiersPayload payload = new SyncPlushTiersPayload(PlushTierConfigManager.toJson());
+
+        ServerPlayer player = event.getPlayer();
+        if (player != null) {
+            PacketDistributor.sendToPlayer(player, payload);
+        } else {
+            PacketDistributor.sendToAllPlayers(payload);
+        }
+    }
+
+    /**
+     * Sends the active tier configuration to every connected player, used when the
+     * configuration changes outside of a datapack reload.
+     */
+    public static void syncToAllPlayers() {
+        PacketDistributor.sendToAllPlayers(new SyncPlushTiersPayload(PlushTierConfigManager.toJson()));
+    }
+
+    /**
+     * Registers payload handlers to the event bus.
+     *
+     * @param eventBus the mod event bus
+     */
+    public static void register(IEventBus eventBus) {
+        eventBus.addListener(ModPayloads::registerPayloads);
+    }
+}
@@ -0,0 +1,54 @@
+package net.firsttimegaming.tetomod.network;
+
+import io.netty.buffer.ByteBuf;
+import net.firsttimegaming.tetomod.TetoMod;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Server-to-client payload carrying the plush tier configuration in effect on the server.
+ * <p>
+ * Sent whenever datapacks are synchronized (on join and after {@code /reload}), so the
+ * plush screen shows the same pools the server trades with.
+ *
+ * @param json the JSON representation of the server configuration
+ */
+public record SyncPlushTiersPayload(String json) implements CustomPacketPayload {
+
+    // ==================== Class Variables ====================
+
+    /** Maximum accepted JSON length in characters. */
+    private static final int MAX_JSON_LENGTH = 1 << 21;
+
+    /** The payload type identifier. */
+    public static final Type<SyncPlushTiersPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(TetoMod.MOD_ID, "sync_plush_tiers"));
+
+    /** Codec for encoding and decoding the payload. */
+    public static final StreamCodec<ByteBuf, SyncPlushTiersPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.stringUtf8(MAX_JSON_LENGTH), SyncPlushTiersPayload::json,
+            SyncPlushTiersPayload::new
+    );
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Handles the payload on the client.
+     *
+     * @param payload the received payload
+     * @param context the payload context
+     */
+    public static void handle(SyncPlushTiersPayload payload, IPayloadContext context) {
+        ClientPayloadHandler.handleSyncPlushTiers(payload, context);
+    }
+
+    // ==================== Overridden Methods ====================
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
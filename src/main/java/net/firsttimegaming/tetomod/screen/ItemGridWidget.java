@@ -0,0 +1,202 @@
+package net.firsttimegaming.tetomod.screen;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.components.AbstractWidget;
+import net.minecraft.client.gui.narration.NarratedElementType;
+import net.minecraft.client.gui.narration.NarrationElementOutput;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.FormattedCharSequence;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * A scrollable grid of item stacks.
+ * <p>
+ * Only the rows currently in view are rendered and hit-tested, so the cost per frame
+ * depends on the visible area rather than the number of items. The grid scrolls by
+ * whole rows using the mouse wheel or by clicking the scrollbar track.
+ */
+public class ItemGridWidget extends AbstractWidget {
+
+    // ==================== Class Variables ====================
+
+    /** Size of each grid cell in pixels. */
+    private static final int SLOT_SIZE = 18;
+
+    /** Item hover detection size. */
+    private static final int ITEM_HOVER_SIZE = 16;
+
+    /** Gap between the grid and the scrollbar. */
+    private static final int SCROLLBAR_GAP = 2;
+
+    /** Width of the scrollbar in pixels. */
+    private static final int SCROLLBAR_WIDTH = 6;
+
+    /** Minimum height of the scrollbar thumb in pixels. */
+    private static final int SCROLLBAR_MIN_THUMB = 8;
+
+    /** Scrollbar track color (dark grey). */
+    private static final int COLOR_TRACK = 0xFF373737;
+
+    /** Scrollbar thumb color (light grey). */
+    private static final int COLOR_THUMB = 0xFFC6C6C6;
+
+    /** Number of columns in the grid. */
+    private final int columns;
+
+    /** Number of rows visible at once. */
+    private final int visibleRows;
+
+    /** Builds the tooltip for the item at a given index, only called for the hovered item. */
+    private final IntFunction<List<Component>> tooltipFactory;
+
+    /** The items displayed in the grid. */
+    private List<ItemStack> items = new ArrayList<>();
+
+    /** Index of the first visible row. */
+    private int scrollRow = 0;
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new ItemGridWidget.
+     *
+     * @param x              the X position
+     * @param y              the Y position
+     * @param columns        the number of columns
+     * @param visibleRows    the number of rows visible at once
+     * @param tooltipFactory builds tooltip lines for an item index, may be null
+     */
+    public ItemGridWidget(int x, int y, int columns, int visibleRows,
+                          IntFunction<List<Component>> tooltipFactory) {
+        super(x, y, columns * SLOT_SIZE + SCROLLBAR_GAP + SCROLLBAR_WIDTH, visibleRows * SLOT_SIZE, Component.empty());
+        this.columns = columns;
+        this.visibleRows = visibleRows;
+        this.tooltipFactory = tooltipFactory;
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the index of the item under the mouse.
+     *
+     * @param mouseX the mouse X position
+     * @param mouseY the mouse Y position
+     * @return the item index, or -1 if no item is under the mouse
+     */
+    public int getIndexAt(double mouseX, double mouseY) {
+        int localX = (int) Math.floor(mouseX) - getX();
+        int localY = (int) Math.floor(mouseY) - getY();
+        if (localX < 0 || localY < 0 || localX >= columns * SLOT_SIZE || localY >= visibleRows * SLOT_SIZE) {
+            return -1;
+        }
+        if (localX % SLOT_SIZE >= ITEM_HOVER_SIZE || localY % SLOT_SIZE >= ITEM_HOVER_SIZE) {
+            return -1;
+        }
+
+        int index = (scrollRow + localY / SLOT_SIZE) * columns + localX / SLOT_SIZE;
+        return index < items.size() ? index : -1;
+    }
+
+    /** Gets the total number of rows needed for all items. */
+    private int getTotalRows() {
+        return (items.size() + columns - 1) / columns;
+    }
+
+    /** Gets the highest valid scroll row. */
+    private int getMaxScrollRow() {
+        return Math.max(0, getTotalRows() - visibleRows);
+    }
+
+    // ==================== Setter Methods ====================
+
+    /**
+     * Sets the items shown in the grid. Scrolling resets when a different list is set.
+     *
+     * @param newItems the items to display
+     */
+    public void setItems(List<ItemStack> newItems) {
+        if (newItems == this.items) {
+            return;
+        }
+        this.items = newItems == null ? new ArrayList<>() : newItems;
+        this.scrollRow = 0;
+    }
+
+    // ==================== Overridden Methods ====================
+
+    @Override
+    protected void renderWidget(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
+        Font font = Minecraft.getInstance().font;
+
+        int first = scrollRow * columns;
+        int last = Math.min(items.size(), first + visibleRows * columns);
+
+        for (int i = first; i < last; i++) {
+            int cell = i - first;
+            int x = getX() + (cell % columns) * SLOT_SIZE;
+            int y = getY() + (cell / columns) * SLOT_SIZE;
+
+            ItemStack stack = items.get(i);
+            guiGraphics.renderItem(stack, x, y);
+            guiGraphics.renderItemDecorations(font, stack, x, y);
+        }
+
+        int maxScroll = getMaxScrollRow();
+        if (maxScroll > 0) {
+            int trackX = getX() + columns * SLOT_SIZE + SCROLLBAR_GAP;
+            int trackHeight = visibleRows * SLOT_SIZE;
+            int thumbHeight = Math.max(SCROLLBAR_MIN_THUMB, trackHeight * visibleRows / getTotalRows());
+            int thumbY = getY() + (trackHeight - thumbHeight) * scrollRow / maxScroll;
+
+            guiGraphics.fill(trackX, getY(), trackX + SCROLLBAR_WIDTH, getY() + trackHeight, COLOR_TRACK);
+            guiGraphics.fill(trackX, thumbY, trackX + SCROLLBAR_WIDTH, thumbY + thumbHeight, COLOR_THUMB);
+        }
+
+        int hovered = getIndexAt(mouseX, mouseY);
+        if (hovered >= 0 && tooltipFactory != null) {
+            List<FormattedCharSequence> visualLines = tooltipFactory.apply(hovered).stream()
+                    .map(Component::getVisualOrderText)
+                    .toList();
+            guiGraphics.renderTooltip(font, visualLines, mouseX, mouseY);
+        }
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
+        if (!isMouseOver(mouseX, mouseY) || getMaxScrollRow() == 0) {
+            return false;
+        }
+        scrollRow = Mth.clamp(scrollRow - (int) Math.signum(scrollY), 0, getMaxScrollRow());
+        return true;
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (!this.active || !this.visible || button != 0) {
+            return false;
+        }
+
+        int trackX = getX() + columns * SLOT_SIZE + SCROLLBAR_GAP;
+        int maxScroll = getMaxScrollRow();
+        if (maxScroll == 0 || mouseX < trackX || mouseX >= trackX + SCROLLBAR_WIDTH
+                || mouseY < getY() || mouseY >= getY() + height) {
+            return false;
+        }
+
+        double fraction = (mouseY - getY()) / height;
+        scrollRow = Mth.clamp((int) Math.round(fraction * maxScroll), 0, maxScroll);
+        return true;
+    }
+
+    @Override
+    protected void updateWidgetNarration(NarrationElementOutput narrationElementOutput) {
+        narrationElementOutput.add(NarratedElementType.TITLE, Component.literal(items.size() + " items"));
+    }
+}
@@ -3,17 +3,27 @@ package net.firsttimegaming.tetomod.screen;
 import net.firsttimegaming.tetomod.TetoMod;
 import net.firsttimegaming.tetomod.block.ModBlocks;
 import net.firsttimegaming.tetomod.block.entity.PlushBlockEntity;
+import net.firsttimegaming.tetomod.config.PlushConfigRoot;
+import net.firsttimegaming.tetomod.config.PlushTierConfig;
+import net.firsttimegaming.tetomod.config.PlushTierConfigManager;
+import net.firsttimegaming.tetomod.util.WeightExpression;
+import it.unimi.dsi.fastutil.booleans.BooleanConsumer;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.ContainerData;
 import net.minecraft.world.inventory.ContainerLevelAccess;
-import net.minecraft.world.inventory.DataSlot;
+import net.minecraft.world.inventory.SimpleContainerData;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.neoforge.items.SlotItemHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Container menu for the Plush block interface.
@@ -46,6 +56,12 @@ public class PlushMenu extends AbstractContainerMenu {
     /** Y position for the requirement slot in the GUI. */
     private static final int REQUIREMENT_SLOT_Y = 26;
 
+    /** X position of the slot showing quest slot 1; further quest slots follow to the right. */
+    private static final int QUEST_SLOT_X = 116;
+
+    /** Y position of the additional quest slots in the GUI. */
+    private static final int QUEST_SLOT_Y = REQUIREMENT_SLOT_Y;
+
     /** X position for the submit slot in the GUI. */
     private static final int SUBMIT_SLOT_X = 81;
 
@@ -97,26 +113,27 @@ public class PlushMenu extends AbstractContainerMenu {
     /** Y position for the player hotbar. */
     private static final int PLAYER_HOTBAR_Y = 142 + INVENTORY_OFFSET_Y;
 
+    /** Ticks per second, used to convert the reroll cooldown for display. */
+    private static final int TICKS_PER_SECOND = 20;
+
     /** The block entity this menu is connected to. */
     public final PlushBlockEntity blockEntity;
 
     /** The level (world) this menu is in. */
     public final Level level;
 
-    /** Data slot for synchronizing the selected tier between server and client. */
-    private final DataSlot selectedTierData = new DataSlot() {
-        @Override
-        public int get() {
-            // SERVER -> send to client
-            return blockEntity.getSelectedTier();
-        }
+    /** Menu state synchronized from the server, only to players viewing this menu. */
+    private final ContainerData data;
 
-        @Override
-        public void set(int value) {
-            // CLIENT -> receive updated value from server
-            blockEntity.clientSetSelectedTier(value);
-        }
-    };
+    /** The slot showing the requirement of quest slot 0. */
+    private final Slot requirementSlot;
+
+    /** The slots showing quest slots 1 and up, in quest slot order. */
+    private final List<Slot> extraQuestSlots = new ArrayList<>();
+
+    /** Told whether rerolling is possible whenever the server flips the ready flag, or null. */
+    @Nullable
+    private BooleanConsumer rerollReadyListener;
 
     // ==================== Constructors ====================
 
@@ -129,7 +146,8 @@ public class PlushMenu extends AbstractContainerMenu {
      * @param extraData   the network buffer containing the block position
      */
     public PlushMenu(int containerId, Inventory inv, FriendlyByteBuf extraData) {
-        this(containerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()));
+        this(containerId, inv, inv.player.level().getBlockEntity(extraData.readBlockPos()),
+                new SimpleContainerData(PlushBlockEntity.DATA_COUNT));
     }
 
     /**
@@ -138,16 +156,19 @@ public class PlushMenu extends AbstractContainerMenu {
      * @param containerId the container ID
      * @param inv         the player inventory
      * @param blockEntity the plush block entity
+     * @param data        the menu state, backed by the block entity on the server
      */
-    public PlushMenu(int containerId, Inventory inv, BlockEntity blockEntity) {
+    public PlushMenu(int containerId, Inventory inv, BlockEntity blockEntity, ContainerData data) {
         super(ModMenuTypes.PLUSH_MENU.get(), containerId);
+        checkContainerDataCount(data, PlushBlockEntity.DATA_COUNT);
         this.blockEntity = (PlushBlockEntity) blockEntity;
         this.level = inv.player.level();
+        this.data = data;
 
         addPlayerInventory(inv);
         addPlayerHotbar(inv);
 
-        this.addSlot(new SlotItemHandler(this.blockEntity.inventory, PlushBlockEntity.SLOT_REQUIREMENT, REQUIREMENT_SLOT_X, REQUIREMENT_SLOT_Y) {
+        this.requirementSlot = this.addSlot(new SlotItemHandler(this.blockEntity.getInventory(), PlushBlockEntity.SLOT_REQUIREMENT, REQUIREMENT_SLOT_X, REQUIREMENT_SLOT_Y) {
             @Override
             public boolean mayPlace(ItemStack stack) {
                 return false;
@@ -159,7 +180,7 @@ public class PlushMenu extends AbstractContainerMenu {
             }
         });
 
-        this.addSlot(new SlotItemHandler(this.blockEntity.inventory, PlushBlockEntity.SLOT_SUBMIT, SUBMIT_SLOT_X, SUBMIT_SLOT_Y) {
+        this.addSlot(new SlotItemHandler(this.blockEntity.getInventory(), PlushBlockEntity.SLOT_SUBMIT, SUBMIT_SLOT_X, SUBMIT_SLOT_Y) {
             @Override
             public boolean mayPlace(ItemStack stack) {
                 return true;
@@ -171,7 +192,7 @@ public class PlushMenu extends AbstractContainerMenu {
             }
         });
 
-        this.addSlot(new SlotItemHandler(this.blockEntity.inventory, PlushBlockEntity.SLOT_UPGRADE, UPGRADE_SLOT_X, UPGRADE_SLOT_Y) {
+        this.addSlot(new SlotItemHandler(this.blockEntity.getInventory(), PlushBlockEntity.SLOT_UPGRADE, UPGRADE_SLOT_X, UPGRADE_SLOT_Y) {
             @Override
             public boolean mayPlace(ItemStack stack) {
                 return true;
@@ -183,11 +204,43 @@ public class PlushMenu extends AbstractContainerMenu {
             }
         });
 
-        this.addDataSlot(selectedTierData);
+        for (int questSlot = 1; questSlot < PlushTierConfig.MAX_QUEST_SLOTS; questSlot++) {
+            addExtraQuestSlot(questSlot);
+        }
+
+        this.addDataSlots(data);
     }
 
     // ==================== Custom Methods ====================
 
+    /**
+     * Adds a display-only slot for an additional quest, hidden while the selected tier
+     * offers fewer quests.
+     *
+     * @param questSlot the quest slot (1-based among the additional ones)
+     */
+    private void addExtraQuestSlot(int questSlot) {
+        int x = QUEST_SLOT_X + (questSlot - 1) * SLOT_SIZE;
+        Slot slot = this.addSlot(new SlotItemHandler(this.blockEntity.getInventory(),
+                PlushBlockEntity.getQuestInventorySlot(questSlot), x, QUEST_SLOT_Y) {
+            @Override
+            public boolean mayPlace(ItemStack stack) {
+                return false;
+            }
+
+            @Override
+            public boolean mayPickup(Player playerIn) {
+                return false;
+            }
+
+            @Override
+            public boolean isActive() {
+                return questSlot < getActiveQuestSlots();
+            }
+        });
+        extraQuestSlots.add(slot);
+    }
+
     /**
      * Adds the player's main inventory slots to the container.
      *
@@ -242,15 +295,159 @@ public class PlushMenu extends AbstractContainerMenu {
                 return true;
             }
             this.blockEntity.setSelectedTier(tier);
-            this.blockEntity.setChanged();
             return true;
         }
 
         return false;
     }
 
+    /**
+     * Gets the configuration root for the plush's dimension and biome.
+     *
+     * @return the plush's configuration root
+     */
+    public PlushConfigRoot getConfigRoot() {
+        return blockEntity.getConfigRoot();
+    }
+
+    /**
+     * Gets the slot showing the requirement of quest slot 0.
+     *
+     * @return the requirement slot
+     */
+    public Slot getRequirementSlot() {
+        return requirementSlot;
+    }
+
+    /**
+     * Gets the slots showing quest slots 1 and up, including inactive ones.
+     *
+     * @return the additional quest slots, in quest slot order
+     */
+    public List<Slot> getExtraQuestSlots() {
+        return extraQuestSlots;
+    }
+
+    /**
+     * Gets the number of quests the selected tier offers at the same time.
+     *
+     * @return the number of active quest slots
+     */
+    public int getActiveQuestSlots() {
+        return PlushTierConfigManager.getTierConfig(getConfigRoot(), getSelectedTier()).questSlots;
+    }
+
+    /**
+     * Gets the selected tier as last synchronized from the server.
+     *
+     * @return the selected tier index (0-based)
+     */
     public int getSelectedTier() {
-        return selectedTierData.get();
+        return data.get(PlushBlockEntity.DATA_SELECTED_TIER);
+    }
+
+    /**
+     * Gets the highest unlocked tier as last synchronized from the server.
+     *
+     * @return the maximum unlocked tier index (0-based)
+     */
+    public int getMaxUnlockedTier() {
+        return data.get(PlushBlockEntity.DATA_MAX_UNLOCKED_TIER);
+    }
+
+    /**
+     * Checks if the specified tier is unlocked.
+     *
+     * @param tierIndex the tier index to check (0-based)
+     * @return true if the tier is unlocked
+     */
+    public boolean isTierUnlocked(int tierIndex) {
+        return tierIndex >= 0 && tierIndex <= getMaxUnlockedTier();
+    }
+
+    /**
+     * Gets the completion count for a tier as last synchronized from the server.
+     *
+     * @param tierIndex the tier index (0-based)
+     * @return the completion count, or 0 if out of range
+     */
+    public int getTierCompletions(int tierIndex) {
+        if (tierIndex < 0 || tierIndex >= PlushBlockEntity.MAX_TIER) {
+            return 0;
+        }
+        return data.get(PlushBlockEntity.DATA_COMPLETIONS_BASE + tierIndex);
+    }
+
+    /**
+     * Captures the values weight expressions are evaluated with for a tier, from the
+     * synchronized completion counts and this side's level.
+     *
+     * @param tierIndex the tier index (0-based)
+     * @return the weight context
+     */
+    public WeightExpression.Context createWeightContext(int tierIndex) {
+        int totalCompletions = 0;
+        for (int tier = 0; tier < PlushBlockEntity.MAX_TIER; tier++) {
+            totalCompletions += getTierCompletions(tier);
+        }
+        return new WeightExpression.Context(tierIndex, getTierCompletions(tierIndex), totalCompletions,
+                level.getMoonPhase(), level.getDayTime() / Level.TICKS_PER_DAY, level.isNight());
+    }
+
+    /**
+     * Checks if the plush can reroll, as last synchronized from the server.
+     *
+     * @return true if the reroll cooldown is over
+     */
+    public boolean isRerollReady() {
+        return data.get(PlushBlockEntity.DATA_REROLL_READY) != 0;
+    }
+
+    /**
+     * Gets the game time the reroll cooldown ends, as synchronized from the server.
+     *
+     * @return the ready game time
+     */
+    public long getRerollReadyGameTime() {
+        long readyAt = 0L;
+        for (int part = 0; part < PlushBlockEntity.DATA_REROLL_READY_AT_PARTS; part++) {
+            long bits = data.get(PlushBlockEntity.DATA_REROLL_READY_AT_BASE + part) & PlushBlockEntity.DATA_PART_MASK;
+            readyAt |= bits << (part * PlushBlockEntity.DATA_PART_BITS);
+        }
+        return readyAt;
+    }
+
+    /**
+     * Gets the remaining reroll cooldown, counted down against this side's game time so
+     * the server only has to send the ready time once per reroll.
+     *
+     * @return the remaining cooldown in seconds, or 0 if ready
+     */
+    public long getRerollCooldownRemainingSeconds() {
+        if (isRerollReady()) {
+            return 0L;
+        }
+        long remaining = getRerollReadyGameTime() - level.getGameTime();
+        return Math.max(0L, (remaining + TICKS_PER_SECOND - 1) / TICKS_PER_SECOND);
+    }
+
+    /**
+     * Sets the listener told whenever the server flips the reroll ready flag, so screens
+     * react to the change instead of checking the cooldown every frame.
+     *
+     * @param listener the listener receiving whether rerolling is possible, or null to remove it
+     */
+    public void setRerollReadyListener(@Nullable BooleanConsumer listener) {
+        this.rerollReadyListener = listener;
+    }
+
+    @Override
+    public void setData(int id, int value) {
+        super.setData(id, value);
+
+        if (id == PlushBlockEntity.DATA_REROLL_READY && rerollReadyListener != null) {
+            rerollReadyListener.accept(value != 0);
+        }
     }
 
     @Override
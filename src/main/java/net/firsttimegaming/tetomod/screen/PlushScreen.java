@@ -1,5 +1,6 @@
 package net.firsttimegaming.tetomod.screen;
 
+import com.mojang.blaze3d.platform.InputConstants;
 import com.mojang.blaze3d.systems.RenderSystem;
 import net.firsttimegaming.tetomod.TetoMod;
 import net.firsttimegaming.tetomod.block.entity.PlushBlockEntity;
@@ -7,17 +8,24 @@ import net.firsttimegaming.tetomod.config.PlushItemEntry;
 import net.firsttimegaming.tetomod.config.PlushTierConfig;
 import net.firsttimegaming.tetomod.config.PlushTierConfigManager;
 import net.firsttimegaming.tetomod.util.ItemStackUtils;
+import net.firsttimegaming.tetomod.util.TagMembershipCache;
 import net.firsttimegaming.tetomod.util.WeightedRandomUtils;
 import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.locale.Language;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
 import net.minecraft.util.FormattedCharSequence;
 import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.ArrayList;
@@ -62,12 +70,45 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
     /** Item display X offset. */
     private static final int INFO_X = 30;
 
+    /** Gap kept between the item display text and the first additional quest slot. */
+    private static final int INFO_QUEST_SLOT_GAP = 4;
+
+    /** Size of a slot frame drawn behind additional quest slots, in pixels. */
+    private static final int SLOT_FRAME_SIZE = 18;
+
+    /** Color of the top and left edges of a slot frame. */
+    private static final int SLOT_FRAME_SHADOW = 0xFF373737;
+
+    /** Color of the bottom and right edges of a slot frame. */
+    private static final int SLOT_FRAME_HIGHLIGHT = 0xFFFFFFFF;
+
+    /** Color of the inside of a slot frame. */
+    private static final int SLOT_FRAME_FILL = 0xFF8B8B8B;
+
     /** Item display Y offset. */
     private static final int INFO_Y = 30;
 
+    /** Reward pool label X position. */
+    private static final int REWARD_LABEL_X = 9;
+
     /** Reward pool label Y position. */
     private static final int REWARD_LABEL_Y = 47;
 
+    /** Search box X position. */
+    private static final int SEARCH_X = 80;
+
+    /** Search box Y position. */
+    private static final int SEARCH_Y = 45;
+
+    /** Search box width. */
+    private static final int SEARCH_WIDTH = 87;
+
+    /** Search box height. */
+    private static final int SEARCH_HEIGHT = 12;
+
+    /** Maximum search query length. */
+    private static final int SEARCH_MAX_LENGTH = 50;
+
     /** Inventory label Y offset from first row. */
     private static final int INV_LABEL_OFFSET = 12;
 
@@ -110,18 +151,18 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
     /** Reward pool starting Y position. */
     private static final int REWARD_POOL_START_Y = 60;
 
-    /** Size of each reward pool item slot. */
-    private static final int REWARD_SLOT_SIZE = 18;
-
     /** Number of columns in the reward pool display. */
     private static final int REWARD_POOL_COLS = 7;
 
-    /** Item hover detection size. */
-    private static final int ITEM_HOVER_SIZE = 16;
+    /** Number of reward pool rows visible before scrolling. */
+    private static final int REWARD_POOL_VISIBLE_ROWS = 3;
 
     /** Percentage multiplier for tooltip. */
     private static final double PERCENTAGE_MULTIPLIER = 100.0;
 
+    /** Time each member of a tag requirement is shown before cycling, in milliseconds. */
+    private static final long TAG_CYCLE_MILLIS = 1000L;
+
     /** Maximum tier index for clamping. */
     private static final int MAX_TIER_INDEX = 4;
 
@@ -131,6 +172,36 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
     /** The tier selection dropdown widget. */
     private DropdownWidget tierDropdown;
 
+    /** The last synchronized unlocked tier, used to refresh dropdown labels. */
+    private int lastMaxUnlockedTier = -1;
+
+    /** The scrollable reward pool grid. */
+    private ItemGridWidget rewardGrid;
+
+    /** The reward list the grid was last built from, compared by identity. */
+    private List<PlushItemEntry> displayedRewardSource;
+
+    /** Reward entries shown in the grid, aligned with {@link #displayedRewardStacks}. */
+    private final List<PlushItemEntry> displayedRewardEntries = new ArrayList<>();
+
+    /** Prebuilt stacks for the reward entries shown in the grid. */
+    private List<ItemStack> displayedRewardStacks = new ArrayList<>();
+
+    /** Total weight of the displayed reward pool. */
+    private int displayedRewardTotalWeight = 0;
+
+    /** The pool search box. */
+    private EditBox searchBox;
+
+    /** Entries matching the current search, or null when not searching. */
+    private List<PoolSearchIndex.Entry> searchResults;
+
+    /** The tag the current requirement was rolled from, or null for a plain item requirement. */
+    private TagKey<Item> requirementTag;
+
+    /** The requirement stack {@link #requirementTag} was resolved for. */
+    private ItemStack resolvedRequirement = ItemStack.EMPTY;
+
     // ==================== Constructor ====================
 
     /**
@@ -178,66 +249,229 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
     }
 
     /**
-     * Renders the reward pool items and their tooltips.
-     *
-     * @param guiGraphics the graphics context
-     * @param mouseX      the mouse X position
-     * @param mouseY      the mouse Y position
+     * Rebuilds the reward grid contents when the selected tier's reward pool changes.
+     * <p>
+     * Stacks are converted once per pool, so rendering does not touch the registry.
      */
-    private void renderRewardPool(GuiGraphics guiGraphics, int mouseX, int mouseY) {
-        int tierIndex = this.menu.blockEntity.getSelectedTier();
+    private void refreshRewardPool() {
+        if (this.searchResults != null) {
+            return;
+        }
 
-        PlushTierConfig tierConfig = PlushTierConfigManager.getTierConfig(tierIndex);
+        int tierIndex = this.menu.getSelectedTier();
+
+        PlushTierConfig tierConfig = PlushTierConfigManager.getTierConfig(this.menu.getConfigRoot(), tierIndex);
         List<PlushItemEntry> rewards = tierConfig.itemsToReceive;
-        if (rewards == null || rewards.isEmpty()) {
+        if (rewards == this.displayedRewardSource) {
+            return;
+        }
+        this.displayedRewardSource = rewards;
+
+        this.displayedRewardEntries.clear();
+        List<ItemStack> stacks = new ArrayList<>();
+        this.displayedRewardTotalWeight = WeightedRandomUtils.calculateTotalWeight(rewards);
+
+        if (rewards != null && this.displayedRewardTotalWeight > 0) {
+            for (PlushItemEntry entry : rewards) {
+                ItemStack stack = ItemStackUtils.toStack(entry);
+                if (stack.isEmpty()) {
+                    continue;
+                }
+                this.displayedRewardEntries.add(entry);
+                stacks.add(stack);
+            }
+        }
+
+        this.displayedRewardStacks = stacks;
+        if (this.rewardGrid != null) {
+            this.rewardGrid.setItems(stacks);
+        }
+    }
+
+    /**
+     * Gets the menu slot showing the current requirement.
+     *
+     * @return the requirement slot
+     */
+    private Slot getRequirementSlot() {
+        return this.menu.getRequirementSlot();
+    }
+
+    /**
+     * Resolves which tag, if any, the requirement shown in the slot was rolled from.
+     * <p>
+     * The lookup runs against the client's copy of the tier configuration, so tag
+     * requirements can be displayed without extra server traffic. It is only repeated
+     * when the requirement slot changes.
+     */
+    private void refreshRequirementTag() {
+        ItemStack required = getRequirementSlot().getItem();
+        if (ItemStack.matches(required, this.resolvedRequirement)) {
             return;
         }
+        this.resolvedRequirement = required.copy();
+        this.requirementTag = null;
 
-        int startX = this.leftPos + REWARD_POOL_START_X;
-        int startY = this.topPos + REWARD_POOL_START_Y;
+        if (required.isEmpty()) {
+            return;
+        }
 
-        int totalWeight = WeightedRandomUtils.calculateTotalWeight(rewards);
-        if (totalWeight <= 0) {
+        PlushTierConfig tierConfig = PlushTierConfigManager.getTierConfig(
+                this.menu.getConfigRoot(), this.menu.getSelectedTier());
+        if (tierConfig.itemsToGive == null) {
             return;
         }
 
-        for (int i = 0; i < rewards.size(); i++) {
-            PlushItemEntry entry = rewards.get(i);
+        TagKey<Item> candidate = null;
+        for (PlushItemEntry entry : tierConfig.itemsToGive) {
+            if (entry == null || entry.count != required.getCount()) {
+                continue;
+            }
 
-            ItemStack stack = ItemStackUtils.toStack(entry);
-            if (stack.isEmpty()) {
+            if (!TagMembershipCache.isTagId(entry.id)) {
+                if (ItemStack.isSameItemSameComponents(ItemStackUtils.toStack(entry), required)) {
+                    // An exact item entry matches, so this is not a tag requirement
+                    return;
+                }
                 continue;
             }
 
-            int col = i % REWARD_POOL_COLS;
-            int row = i / REWARD_POOL_COLS;
+            TagKey<Item> tag = TagMembershipCache.parseTag(entry.id);
+            if (candidate == null && tag != null && TagMembershipCache.contains(tag, required.getItem())) {
+                candidate = tag;
+            }
+        }
+
+        this.requirementTag = candidate;
+    }
+
+    /**
+     * Gets the stack to display for the requirement, cycling through tag members.
+     *
+     * @param required the actual requirement stack
+     * @return the stack to display
+     */
+    private ItemStack getDisplayedRequirement(ItemStack required) {
+        if (this.requirementTag == null || required.isEmpty()) {
+            return required;
+        }
+
+        List<Item> members = TagMembershipCache.get(this.requirementTag).members();
+        if (members.isEmpty()) {
+            return required;
+        }
 
-            int x = startX + col * REWARD_SLOT_SIZE;
-            int y = startY + row * REWARD_SLOT_SIZE;
+        int index = (int) ((Util.getMillis() / TAG_CYCLE_MILLIS) % members.size());
+        return new ItemStack(members.get(index), required.getCount());
+    }
 
-            guiGraphics.renderItem(stack, x, y);
-            guiGraphics.renderItemDecorations(this.font, stack, x, y);
+    /**
+     * Updates the grid to show entries from every tier matching the search text.
+     *
+     * @param text the current search text
+     */
+    private void onSearchChanged(String text) {
+        if (text == null || text.isBlank()) {
+            this.searchResults = null;
+            this.displayedRewardSource = null;
+            refreshRewardPool();
+            return;
+        }
 
-            if (mouseX >= x && mouseX < x + ITEM_HOVER_SIZE &&
-                    mouseY >= y && mouseY < y + ITEM_HOVER_SIZE) {
+        String language = this.minecraft != null
+                ? this.minecraft.getLanguageManager().getSelected()
+                : "";
+        PoolSearchIndex index = PoolSearchIndex.get(this.menu.getConfigRoot(), language);
+        this.searchResults = index.search(text);
 
-                double chance = (entry.weight * PERCENTAGE_MULTIPLIER) / totalWeight;
-                String chanceText = String.format(Locale.ROOT, "%.1f%% chance", chance);
+        List<ItemStack> stacks = new ArrayList<>(this.searchResults.size());
+        for (PoolSearchIndex.Entry entry : this.searchResults) {
+            stacks.add(entry.stack());
+        }
+        if (this.rewardGrid != null) {
+            this.rewardGrid.setItems(stacks);
+        }
+    }
 
-                List<Component> tooltip = new ArrayList<>();
-                tooltip.add(stack.getHoverName());
-                tooltip.add(Component.literal("x" + entry.count)
-                        .withStyle(ChatFormatting.GRAY));
-                tooltip.add(Component.literal(chanceText)
-                        .withStyle(ChatFormatting.DARK_GREEN));
+    /**
+     * Builds the tooltip for an item shown in the grid.
+     *
+     * @param index the index within the grid
+     * @return the tooltip lines
+     */
+    private List<Component> buildGridTooltip(int index) {
+        if (this.searchResults == null) {
+            return buildRewardTooltip(index);
+        }
 
-                List<FormattedCharSequence> visualLines = tooltip.stream()
-                        .map(Component::getVisualOrderText)
-                        .toList();
+        PoolSearchIndex.Entry entry = this.searchResults.get(index);
+        List<Component> tooltip = new ArrayList<>();
+        tooltip.add(entry.stack().getHoverName());
+        tooltip.add(Component.literal("x" + entry.source().count)
+                .withStyle(ChatFormatting.GRAY));
 
-                guiGraphics.renderTooltip(this.font, visualLines, mouseX, mouseY);
-            }
+        if (entry.reward()) {
+            String chanceText = String.format(Locale.ROOT, "Tier %d reward (%.1f%% chance)",
+                    entry.tier() + 1, getRewardChance(entry.tier(), entry.source()));
+            tooltip.add(Component.literal(chanceText).withStyle(ChatFormatting.DARK_GREEN));
+        } else {
+            tooltip.add(Component.literal("Tier " + (entry.tier() + 1) + " requirement")
+                    .withStyle(ChatFormatting.YELLOW));
+        }
+        return tooltip;
+    }
+
+    /**
+     * Builds the tooltip for a reward shown in the grid.
+     *
+     * @param index the index within the displayed rewards
+     * @return the tooltip lines
+     */
+    private List<Component> buildRewardTooltip(int index) {
+        PlushItemEntry entry = this.displayedRewardEntries.get(index);
+        ItemStack stack = this.displayedRewardStacks.get(index);
+
+        double chance = getRewardChance(this.menu.getSelectedTier(), entry);
+        String chanceText = String.format(Locale.ROOT, "%.1f%% chance", chance);
+
+        List<Component> tooltip = new ArrayList<>();
+        tooltip.add(stack.getHoverName());
+        tooltip.add(Component.literal("x" + entry.count)
+                .withStyle(ChatFormatting.GRAY));
+        tooltip.add(Component.literal(chanceText)
+                .withStyle(ChatFormatting.DARK_GREEN));
+        return tooltip;
+    }
+
+    /**
+     * Calculates the chance of a reward being rolled right now, evaluating weight
+     * expressions with the plush's synchronized progress.
+     *
+     * @param tierIndex the tier index (0-based)
+     * @param entry     the reward entry
+     * @return the chance in percent
+     */
+    private double getRewardChance(int tierIndex, PlushItemEntry entry) {
+        PlushTierConfig tierConfig = PlushTierConfigManager.getTierConfig(this.menu.getConfigRoot(), tierIndex);
+        return WeightedRandomUtils.calculateChance(tierConfig.itemsToReceive, entry, this.menu.createWeightContext(tierIndex))
+                * PERCENTAGE_MULTIPLIER;
+    }
+
+    /**
+     * Renders the reward pool items and their tooltips.
+     *
+     * @param guiGraphics the graphics context
+     * @param mouseX      the mouse X position
+     * @param mouseY      the mouse Y position
+     * @param partialTick the partial tick
+     */
+    private void renderRewardPool(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
+        if (this.rewardGrid == null) {
+            return;
         }
+
+        refreshRewardPool();
+        this.rewardGrid.render(guiGraphics, mouseX, mouseY, partialTick);
     }
 
     /**
@@ -279,13 +513,14 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
             return;
         }
 
-        PlushTierConfig tierCfg = PlushTierConfigManager.getTierConfig(hoveredTierIndex);
+        PlushTierConfig tierCfg = PlushTierConfigManager.getTierConfig(this.menu.getConfigRoot(), hoveredTierIndex);
         if (tierCfg == null) {
             return;
         }
 
         // New: unlock requirement is an item, not completions
-        PlushItemEntry unlockReq = PlushTierConfigManager.getUnlockRequirementForTier(hoveredTierIndex);
+        PlushItemEntry unlockReq = PlushTierConfigManager.getUnlockRequirementForTier(
+                this.menu.getConfigRoot(), hoveredTierIndex);
         boolean unlocked = isTierUnlockedClient(hoveredTierIndex);
 
         List<Component> lines = new ArrayList<>();
@@ -362,7 +597,7 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
      */
     private boolean isTierUnlockedClient(int tierIndex) {
         tierIndex = Math.max(0, Math.min(tierIndex, PlushBlockEntity.MAX_TIER - 1));
-        boolean unlocked = this.menu.blockEntity.isTierUnlocked(tierIndex);
+        boolean unlocked = this.menu.isTierUnlocked(tierIndex);
 
         return unlocked;
     }
@@ -391,7 +626,7 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
         int tierCount = 5; // or your constant
         List<Component> labels = new ArrayList<>();
 
-        int beTier = this.menu.blockEntity.getSelectedTier();
+        int beTier = this.menu.getSelectedTier();
 
         for (int i = 0; i < tierCount; i++) {
             boolean unlocked = isTierUnlockedClient(i);
@@ -454,6 +689,8 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
                 .build();
 
         this.addRenderableWidget(this.refreshButton);
+        this.refreshButton.active = this.menu.isRerollReady();
+        this.menu.setRerollReadyListener(ready -> this.refreshButton.active = ready);
 
         this.addRenderableWidget(
                 Button.builder(Component.literal("✓"), b -> onSubmitClicked())
@@ -472,6 +709,26 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
 
         this.addRenderableWidget(this.tierDropdown);
 
+        this.rewardGrid = new ItemGridWidget(
+                left + REWARD_POOL_START_X,
+                top + REWARD_POOL_START_Y,
+                REWARD_POOL_COLS,
+                REWARD_POOL_VISIBLE_ROWS,
+                this::buildGridTooltip
+        );
+        this.rewardGrid.setItems(this.displayedRewardStacks);
+        this.addWidget(this.rewardGrid);
+
+        String previousQuery = this.searchBox != null ? this.searchBox.getValue() : "";
+        this.searchBox = new EditBox(this.font, left + SEARCH_X, top + SEARCH_Y, SEARCH_WIDTH, SEARCH_HEIGHT,
+                Component.literal("Search"));
+        this.searchBox.setMaxLength(SEARCH_MAX_LENGTH);
+        this.searchBox.setHint(Component.literal("Search pools").withStyle(ChatFormatting.DARK_GRAY));
+        this.searchBox.setValue(previousQuery);
+        this.searchBox.setResponder(this::onSearchChanged);
+        this.addRenderableWidget(this.searchBox);
+        onSearchChanged(previousQuery);
+
         rebuildTierDropdownOptions();
     }
 
@@ -479,6 +736,8 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
     protected void containerTick() {
         super.containerTick();
 
+        refreshRequirementTag();
+
         int serverTier = this.menu.getSelectedTier();
 
         if (this.tierDropdown != null && this.tierDropdown.getSelectedIndex() != serverTier) {
@@ -486,7 +745,7 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
 
             rebuildTierDropdownOptions();
 
-            int beTier = this.menu.blockEntity.getSelectedTier();
+            int beTier = this.menu.getSelectedTier();
             int dropdownIndex = this.tierDropdown.getSelectedIndex();
             if (beTier != lastLoggedBeTier || dropdownIndex != lastLoggedDropdownIndex) {
                 lastLoggedBeTier = beTier;
@@ -494,10 +753,32 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
             }
         }
 
-        if (this.refreshButton != null) {
-            long remaining = this.menu.blockEntity.getRerollCooldownRemainingTicks();
-            this.refreshButton.active = (remaining <= 0);
+        int maxUnlockedTier = this.menu.getMaxUnlockedTier();
+        if (maxUnlockedTier != this.lastMaxUnlockedTier) {
+            this.lastMaxUnlockedTier = maxUnlockedTier;
+            rebuildTierDropdownOptions();
+        }
+    }
+
+    @Override
+    protected void renderSlot(GuiGraphics guiGraphics, Slot slot) {
+        if (this.requirementTag != null && slot == getRequirementSlot() && slot.hasItem()) {
+            ItemStack displayed = getDisplayedRequirement(slot.getItem());
+            guiGraphics.renderItem(displayed, slot.x, slot.y);
+            guiGraphics.renderItemDecorations(this.font, displayed, slot.x, slot.y);
+            return;
+        }
+        super.renderSlot(guiGraphics, slot);
+    }
+
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        // Keep typed characters, including the inventory key, inside the search box
+        if (this.searchBox != null && this.searchBox.isFocused() && keyCode != InputConstants.KEY_ESCAPE) {
+            this.searchBox.keyPressed(keyCode, scanCode, modifiers);
+            return true;
         }
+        return super.keyPressed(keyCode, scanCode, modifiers);
     }
 
     @Override
@@ -510,26 +791,54 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
         int y = (height - this.imageHeight) / 2;
 
         guiGraphics.blit(GUI_TEXTURE, x, y, 0, 0, this.imageWidth, this.imageHeight, TEXTURE_SIZE, TEXTURE_SIZE);
+
+        // The texture only has a frame for the first quest, so frames for the others are drawn here
+        for (Slot slot : this.menu.getExtraQuestSlots()) {
+            if (slot.isActive()) {
+                drawSlotFrame(guiGraphics, x + slot.x - 1, y + slot.y - 1);
+            }
+        }
+    }
+
+    /**
+     * Draws a frame matching the texture's slot frames.
+     *
+     * @param guiGraphics the graphics context
+     * @param x           the left edge of the frame
+     * @param y           the top edge of the frame
+     */
+    private void drawSlotFrame(GuiGraphics guiGraphics, int x, int y) {
+        int right = x + SLOT_FRAME_SIZE;
+        int bottom = y + SLOT_FRAME_SIZE;
+        guiGraphics.fill(x, y, right, bottom, SLOT_FRAME_HIGHLIGHT);
+        guiGraphics.fill(x, y, right - 1, bottom - 1, SLOT_FRAME_SHADOW);
+        guiGraphics.fill(x + 1, y + 1, right - 1, bottom - 1, SLOT_FRAME_FILL);
     }
 
     @Override
     protected void renderLabels(GuiGraphics guiGraphics, int mouseX, int mouseY) {
         guiGraphics.drawString(this.font, this.title, TITLE_X, TITLE_Y, LABEL_COLOR, false);
 
-        int menuSlotIndex = this.menu.slots.size() - 3;
-        ItemStack testItem = this.menu.getSlot(menuSlotIndex).getItem();
+        ItemStack testItem = getRequirementSlot().getItem();
 
         Component info;
         if (testItem.isEmpty()) {
             info = Component.literal("No Item Selected");
+        } else if (this.requirementTag != null) {
+            info = Component.literal(testItem.getCount() + "x #" + this.requirementTag.location());
         } else {
             info = Component.literal(testItem.getCount() + "x " + testItem.getHoverName().getString());
         }
-        guiGraphics.drawString(this.font, info, INFO_X, INFO_Y, LABEL_COLOR, false);
+        int infoWidth = this.imageWidth - INFO_X;
+        Slot firstExtraQuest = this.menu.getExtraQuestSlots().get(0);
+        if (firstExtraQuest.isActive()) {
+            infoWidth = firstExtraQuest.x - INFO_QUEST_SLOT_GAP - INFO_X;
+        }
+        guiGraphics.drawString(this.font, Language.getInstance().getVisualOrder(
+                this.font.substrByWidth(info, infoWidth)), INFO_X, INFO_Y, LABEL_COLOR, false);
 
-        String rewardText = "Reward Pool";
-        int rewardX = (this.imageWidth - this.font.width(rewardText)) / 2;
-        guiGraphics.drawString(this.font, rewardText, rewardX, REWARD_LABEL_Y, LABEL_COLOR, false);
+        String rewardText = this.searchResults == null ? "Reward Pool" : "Results";
+        guiGraphics.drawString(this.font, rewardText, REWARD_LABEL_X, REWARD_LABEL_Y, LABEL_COLOR, false);
 
         int firstInvRowY = 84 + PlushMenu.INVENTORY_OFFSET_Y;
         int invLabelY = firstInvRowY - INV_LABEL_OFFSET;
@@ -548,16 +857,14 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
         if (this.refreshButton != null &&
                 this.isMouseOverRefresh(mouseX, mouseY)) {
 
-            long remaining = this.menu.blockEntity.getRerollCooldownRemainingTicks();
-
-            if (remaining <= 0) {
+            if (this.menu.isRerollReady()) {
                 guiGraphics.renderTooltip(
                         this.font,
                         Component.literal("Reroll requirement"),
                         mouseX, mouseY
                 );
             } else {
-                long seconds = remaining / 20L;
+                long seconds = this.menu.getRerollCooldownRemainingSeconds();
                 long minutes = seconds / 60L;
                 long secR = seconds % 60L;
 
@@ -572,7 +879,7 @@ public class PlushScreen extends AbstractContainerScreen<PlushMenu> {
             }
         }
 
-        renderRewardPool(guiGraphics, mouseX, mouseY);
+        renderRewardPool(guiGraphics, mouseX, mouseY, partialTick);
         renderTierPreviewTooltip(guiGraphics, mouseX, mouseY);
         this.renderTooltip(guiGraphics, mouseX, mouseY);
     }
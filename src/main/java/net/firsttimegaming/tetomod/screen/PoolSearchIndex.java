@@ -0,0 +1,192 @@
+package net.firsttimegaming.tetomod.screen;
+
+import net.firsttimegaming.tetomod.block.entity.PlushBlockEntity;
+import net.firsttimegaming.tetomod.config.PlushConfigRoot;
+import net.firsttimegaming.tetomod.config.PlushItemEntry;
+import net.firsttimegaming.tetomod.config.PlushTierConfig;
+import net.firsttimegaming.tetomod.config.PlushTierConfigManager;
+import net.firsttimegaming.tetomod.util.ItemStackUtils;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * N-gram search index over every tier's requirement and reward pools.
+ * <p>
+ * Each entry is indexed by its localized name and registry ID, split into all
+ * substrings of up to {@link #MAX_GRAM} characters. A query of that length or less
+ * is a single map lookup; longer queries intersect the sets of their trigrams and
+ * verify the few remaining candidates. The index is built once per configuration
+ * snapshot and language, so typing never re-localizes or rescans the pools.
+ */
+public final class PoolSearchIndex {
+
+    // ==================== Class Variables ====================
+
+    /** Longest n-gram stored in the index. */
+    private static final int MAX_GRAM = 3;
+
+    /** Separator between name and ID, never present in a query. */
+    private static final char FIELD_SEPARATOR = '\n';
+
+    /** The most recently built index, reused while the snapshot and language match. */
+    private static PoolSearchIndex cached;
+
+    /** The configuration snapshot this index was built from. */
+    private final PlushConfigRoot root;
+
+    /** The language code this index was localized with. */
+    private final String language;
+
+    /** All indexed entries. */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /** Lowercase searchable text per entry, aligned with {@link #entries}. */
+    private final List<String> texts = new ArrayList<>();
+
+    /** Entry sets keyed by n-gram. */
+    private final Map<String, BitSet> grams = new HashMap<>();
+
+    /**
+     * A single indexed pool entry.
+     *
+     * @param tier   the tier index (0-based)
+     * @param reward true if the entry is a reward, false if it is a requirement
+     * @param source the configuration entry
+     * @param stack  the prebuilt display stack
+     */
+    public record Entry(int tier, boolean reward, PlushItemEntry source, ItemStack stack) {
+    }
+
+    // ==================== Constructor ====================
+
+    private PoolSearchIndex(PlushConfigRoot root, String language) {
+        this.root = root;
+        this.language = language;
+
+        for (int tier = 0; tier < PlushBlockEntity.MAX_TIER; tier++) {
+            PlushTierConfig tierConfig = PlushTierConfigManager.getTierConfig(root, tier);
+            addPool(tier, false, tierConfig.itemsToGive);
+            addPool(tier, true, tierConfig.itemsToReceive);
+        }
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Gets the index for the given snapshot and language, building it if needed.
+     *
+     * @param root     the current configuration root
+     * @param language the current language code
+     * @return the search index
+     */
+    public static PoolSearchIndex get(PlushConfigRoot root, String language) {
+        PoolSearchIndex index = cached;
+        if (index == null || index.root != root || !Objects.equals(index.language, language)) {
+            index = new PoolSearchIndex(root, language);
+            cached = index;
+        }
+        return index;
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Finds all entries whose name or ID contains the query.
+     *
+     * @param query the search text
+     * @return matching entries in tier order, empty if none match
+     */
+    public List<Entry> search(String query) {
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        List<Entry> results = new ArrayList<>();
+        if (q.isEmpty()) {
+            return results;
+        }
+
+        if (q.length() <= MAX_GRAM) {
+            BitSet hits = grams.get(q);
+            if (hits != null) {
+                for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+                    results.add(entries.get(i));
+                }
+            }
+            return results;
+        }
+
+        BitSet candidates = null;
+        for (int start = 0; start + MAX_GRAM <= q.length(); start++) {
+            BitSet hits = grams.get(q.substring(start, start + MAX_GRAM));
+            if (hits == null) {
+                return results;
+            }
+            if (candidates == null) {
+                candidates = (BitSet) hits.clone();
+            } else {
+                candidates.and(hits);
+            }
+            if (candidates.isEmpty()) {
+                return results;
+            }
+        }
+
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (texts.get(i).contains(q)) {
+                results.add(entries.get(i));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Adds every valid entry of a pool to the index.
+     *
+     * @param tier   the tier index
+     * @param reward whether the pool is a reward pool
+     * @param pool   the pool entries, may be null
+     */
+    private void addPool(int tier, boolean reward, List<PlushItemEntry> pool) {
+        if (pool == null) {
+            return;
+        }
+
+        for (PlushItemEntry entry : pool) {
+            ItemStack stack = ItemStackUtils.toStack(entry);
+            if (stack.isEmpty()) {
+                continue;
+            }
+
+            int index = entries.size();
+            entries.add(new Entry(tier, reward, entry, stack));
+
+            String text = stack.getHoverName().getString().toLowerCase(Locale.ROOT)
+                    + FIELD_SEPARATOR + entry.id.toLowerCase(Locale.ROOT);
+            texts.add(text);
+            indexText(index, text);
+        }
+    }
+
+    /**
+     * Records every n-gram of the text for the given entry.
+     *
+     * @param index the entry index
+     * @param text  the searchable text
+     */
+    private void indexText(int index, String text) {
+        for (int start = 0; start < text.length(); start++) {
+            for (int len = 1; len <= MAX_GRAM && start + len <= text.length(); len++) {
+                String gram = text.substring(start, start + len);
+                if (gram.indexOf(FIELD_SEPARATOR) >= 0) {
+                    break;
+                }
+                grams.computeIfAbsent(gram, k -> new BitSet()).set(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package net.firsttimegaming.tetomod.sound;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.protocol.game.ClientboundSoundPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Budgeted ambient sounds for plushes.
+ * <p>
+ * Plushes have no block entity ticker; a plush only asks to make a sound from its
+ * random tick, which already spreads requests out and only happens near players. A
+ * request then has to pass three checks, cheapest first:
+ * <ul>
+ *   <li>its chunk played no ambient sound in the last {@link #CHUNK_COOLDOWN_TICKS} ticks</li>
+ *   <li>some player is within {@link #HEARING_RANGE} blocks</li>
+ *   <li>that player has not heard {@link #PLAYER_BURST} ambient sounds within the last
+ *       {@link #PLAYER_INTERVAL_TICKS} ticks each</li>
+ * </ul>
+ * The sound is sent only to the players passing the last two checks, so a spawn
+ * covered in hundreds of plushes still sends each player at most one ambient sound
+ * every {@link #PLAYER_INTERVAL_TICKS} ticks on average.
+ * <p>
+ * Chunk budgets live in a fixed-size table indexed by a hash of the chunk, so memory
+ * stays bounded no matter how many chunks hold plushes. Chunks sharing a table entry
+ * share a budget, which only makes them quieter.
+ */
+public final class PlushAmbientSounds {
+
+    // ==================== Class Variables ====================
+
+    /** Minimum time between ambient sounds from the same chunk (10 seconds). */
+    private static final long CHUNK_COOLDOWN_TICKS = 200L;
+
+    /** Average time between ambient sounds heard by one player (15 seconds). */
+    private static final long PLAYER_INTERVAL_TICKS = 300L;
+
+    /** Number of ambient sounds a player may hear in quick succession after a quiet period. */
+    private static final long PLAYER_BURST = 2L;
+
+    /** Distance in blocks within which players hear an ambient sound. */
+    private static final double HEARING_RANGE = 16.0D;
+
+    /** Offset from a block corner to its center. */
+    private static final double BLOCK_CENTER_OFFSET = 0.5D;
+
+    /** Game time marking a chunk table entry as never used; game time starts at 0. */
+    private static final long NEVER = -CHUNK_COOLDOWN_TICKS;
+
+    /** Number of chunk budget entries, a power of two. */
+    private static final int CHUNK_TABLE_SIZE = 4096;
+
+    /** Volume of ambient sounds. */
+    private static final float VOLUME = 0.6F;
+
+    /** Lowest pitch of ambient sounds. */
+    private static final float MIN_PITCH = 0.9F;
+
+    /** Pitch range above {@link #MIN_PITCH}. */
+    private static final float PITCH_RANGE = 0.2F;
+
+    /** Game time of the last ambient sound per chunk table entry. */
+    private static final long[] LAST_SOUND_BY_CHUNK = new long[CHUNK_TABLE_SIZE];
+
+    /**
+     * Per-player budget as the earliest game time the player's budget would be full
+     * again. A player may hear a sound while this is at most
+     * {@code (PLAYER_BURST - 1) * PLAYER_INTERVAL_TICKS} ahead of the current time.
+     */
+    private static final Object2LongOpenHashMap<UUID> PLAYER_BUDGETS = new Object2LongOpenHashMap<>();
+
+    static {
+        Arrays.fill(LAST_SOUND_BY_CHUNK, NEVER);
+    }
+
+    // ==================== Constructor ====================
+
+    private PlushAmbientSounds() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Plays an ambient sound at a plush if the chunk and player budgets allow it.
+     * Called from the plush's random tick on the server thread.
+     *
+     * @param level  the level the plush is in
+     * @param pos    the plush position
+     * @param random the random source of the tick
+     */
+    public static void tryPlay(ServerLevel level, BlockPos pos, RandomSource random) {
+        long now = level.getGameTime();
+        int chunkSlot = chunkSlot(level, pos);
+        if (now - LAST_SOUND_BY_CHUNK[chunkSlot] < CHUNK_COOLDOWN_TICKS) {
+            return;
+        }
+
+        double x = pos.getX() + BLOCK_CENTER_OFFSET;
+        double y = pos.getY() + BLOCK_CENTER_OFFSET;
+        double z = pos.getZ() + BLOCK_CENTER_OFFSET;
+        ClientboundSoundPacket packet = null;
+
+        for (ServerPlayer player : level.players()) {
+            if (player.distanceToSqr(x, y, z) > HEARING_RANGE * HEARING_RANGE || !takePlayerBudget(player, now)) {
+                continue;
+            }
+
+            if (packet == null) {
+                Holder<SoundEvent> sound = BuiltInRegistries.SOUND_EVENT.wrapAsHolder(ModSounds.PLUSH_AMBIENT_1.get());
+                packet = new ClientboundSoundPacket(sound, SoundSource.BLOCKS, x, y, z, VOLUME,
+                        MIN_PITCH + random.nextFloat() * PITCH_RANGE, random.nextLong());
+            }
+            player.connection.send(packet);
+        }
+
+        if (packet != null) {
+            LAST_SOUND_BY_CHUNK[chunkSlot] = now;
+        }
+    }
+
+    /**
+     * Forgets all budgets, used when the server stops.
+     */
+    public static void clear() {
+        Arrays.fill(LAST_SOUND_BY_CHUNK, NEVER);
+        PLAYER_BUDGETS.clear();
+    }
+
+    /**
+     * Forgets the budget of a player who logs out.
+     *
+     * @param event the logout event
+     */
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        PLAYER_BUDGETS.removeLong(event.getEntity().getUUID());
+    }
+
+    /**
+     * Takes one sound from a player's budget if any is left.
+     * <p>
+     * The budget is a token bucket stored as a single time stamp (the generic cell rate
+     * algorithm): every sound pushes the time stamp {@link #PLAYER_INTERVAL_TICKS} ahead,
+     * and sounds are refused while it runs too far ahead of the current time.
+     *
+     * @param player the listening player
+     * @param now    the current game time
+     * @return true if the player may hear the sound
+     */
+    private static boolean takePlayerBudget(ServerPlayer player, long now) {
+        long full = Math.max(PLAYER_BUDGETS.getLong(player.getUUID()), now);
+        if (full - now > (PLAYER_BURST - 1) * PLAYER_INTERVAL_TICKS) {
+            return false;
+        }
+
+        PLAYER_BUDGETS.put(player.getUUID(), full + PLAYER_INTERVAL_TICKS);
+        return true;
+    }
+
+    /**
+     * Gets the chunk budget table entry of a position.
+     *
+     * @param level the level
+     * @param pos   the position
+     * @return the table index
+     */
+    private static int chunkSlot(ServerLevel level, BlockPos pos) {
+        long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4) ^ level.dimension().location().hashCode();
+        return (int) HashCommon.mix(key) & (CHUNK_TABLE_SIZE - 1);
+    }
+}
@@ -0,0 +1,111 @@
+package net.firsttimegaming.tetomod.util;
+
+import net.firsttimegaming.tetomod.config.PlushItemEntry;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Precompiled item predicate used to validate submissions against a requirement.
+ * <p>
+ * A matcher is built once whenever the requirement changes, so checking an offered
+ * stack is a reference comparison on the item plus, only when the requirement carries
+ * data components, a component comparison. Tag requirements are checked with a single
+ * lookup in the tag's precomputed membership set.
+ */
+public final class ItemMatcher implements Predicate<ItemStack> {
+
+    // ==================== Class Variables ====================
+
+    /** Matcher that never accepts anything, used when no requirement is set. */
+    public static final ItemMatcher NONE = new ItemMatcher(null, null, ItemStack.EMPTY, false);
+
+    /** The required item, or null if nothing matches or a tag is required. */
+    private final Item item;
+
+    /** The required item tag, or null if a single item is required. */
+    private final TagKey<Item> tag;
+
+    /** The prototype stack used for component comparison. */
+    private final ItemStack prototype;
+
+    /** Whether the prototype carries a non-default component patch. */
+    private final boolean checkComponents;
+
+    // ==================== Constructor ====================
+
+    private ItemMatcher(Item item, TagKey<Item> tag, ItemStack prototype, boolean checkComponents) {
+        this.item = item;
+        this.tag = tag;
+        this.prototype = prototype;
+        this.checkComponents = checkComponents;
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Builds a matcher accepting stacks of the same item and components as the given stack.
+     *
+     * @param stack the requirement stack, may be empty
+     * @return the matcher, or {@link #NONE} if the stack is empty
+     */
+    public static ItemMatcher of(ItemStack stack) {
+        if (stack == null || stack.isEmpty()) {
+            return NONE;
+        }
+        return new ItemMatcher(stack.getItem(), null, stack.copyWithCount(1), !stack.getComponentsPatch().isEmpty());
+    }
+
+    /**
+     * Builds a matcher accepting any item in the given tag, regardless of components.
+     *
+     * @param tag the item tag
+     * @return the matcher
+     */
+    public static ItemMatcher ofTag(TagKey<Item> tag) {
+        return new ItemMatcher(null, tag, ItemStack.EMPTY, false);
+    }
+
+    /**
+     * Builds a matcher for a configuration entry, which may name an item or a tag.
+     *
+     * @param entry the configuration entry, may be null
+     * @return the matcher, or {@link #NONE} if the entry is invalid
+     */
+    public static ItemMatcher forEntry(@Nullable PlushItemEntry entry) {
+        if (entry == null) {
+            return NONE;
+        }
+
+        if (TagMembershipCache.isTagId(entry.id)) {
+            TagKey<Item> tag = TagMembershipCache.parseTag(entry.id);
+            return tag == null ? NONE : ofTag(tag);
+        }
+        return of(ItemStackUtils.toStack(entry));
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Checks whether the given stack satisfies this matcher, ignoring its count.
+     *
+     * @param stack the stack to check
+     * @return true if the stack matches
+     */
+    @Override
+    public boolean test(ItemStack stack) {
+        if (tag != null) {
+            return !stack.isEmpty() && TagMembershipCache.contains(tag, stack.getItem());
+        }
+        if (item == null || stack.isEmpty() || stack.getItem() != item) {
+            return false;
+        }
+        if (!checkComponents) {
+            return stack.getComponentsPatch().isEmpty();
+        }
+        return ItemStack.isSameItemSameComponents(prototype, stack);
+    }
+}
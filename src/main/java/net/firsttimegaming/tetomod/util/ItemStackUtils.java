@@ -1,12 +1,20 @@
 package net.firsttimegaming.tetomod.util;
 
+import com.mojang.serialization.JsonOps;
+import net.firsttimegaming.tetomod.TetoMod;
 import net.firsttimegaming.tetomod.config.PlushItemEntry;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.component.DataComponentPatch;
 import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.RegistryOps;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 
+import java.util.List;
+
 /**
  * Utility class for common ItemStack operations used throughout the mod.
  * Provides helper methods for converting configuration entries to ItemStack objects.
@@ -25,7 +33,8 @@ public final class ItemStackUtils {
      * Converts a {@link PlushItemEntry} configuration object into an {@link ItemStack}.
      * <p>
      * This method safely handles invalid or missing item IDs by returning an empty stack.
-     * The count is clamped to a minimum of 1.
+     * The count is clamped to a minimum of 1. Entries with a decoded prototype are
+     * copied from it, so data components are never re-parsed on the trade path.
      *
      * @param entry the configuration entry containing item ID and count, may be null
      * @return the corresponding ItemStack, or {@link ItemStack#EMPTY} if the entry is invalid
@@ -35,6 +44,14 @@ public final class ItemStackUtils {
             return ItemStack.EMPTY;
         }
 
+        if (entry.prototype != null) {
+            return entry.prototype.copy();
+        }
+
+        if (TagMembershipCache.isTagId(entry.id)) {
+            return toTagStack(entry);
+        }
+
         try {
             ResourceLocation resourceLocation = ResourceLocation.parse(entry.id);
             Item item = BuiltInRegistries.ITEM.get(resourceLocation);
@@ -50,6 +67,70 @@ public final class ItemStackUtils {
         }
     }
 
+    /**
+     * Decodes an entry's data component patch into its prototype stack.
+     * <p>
+     * Runs once when a configuration is compiled; afterwards {@link #toStack(PlushItemEntry)}
+     * only copies the prototype. Entries without components, and tag entries, are left as-is.
+     *
+     * @param entry      the configuration entry, may be null
+     * @param registries the registry lookup used to resolve component values such as enchantments
+     */
+    public static void decodePrototype(PlushItemEntry entry, HolderLookup.Provider registries) {
+        if (entry == null || entry.components == null || entry.prototype != null
+                || TagMembershipCache.isTagId(entry.id)) {
+            return;
+        }
+
+        ItemStack stack = toStack(entry);
+        if (stack.isEmpty()) {
+            return;
+        }
+
+        DataComponentPatch.CODEC.parse(RegistryOps.create(JsonOps.INSTANCE, registries), entry.components)
+                .resultOrPartial(error -> TetoMod.LOGGER.warn("Invalid components for '{}': {}", entry.id, error))
+                .ifPresent(patch -> {
+                    stack.applyComponents(patch);
+                    entry.prototype = stack;
+                });
+    }
+
+    /**
+     * Converts a tag entry into a stack of the tag's first member, used for display
+     * and as the requirement slot contents.
+     *
+     * @param entry the configuration entry whose ID is a tag reference
+     * @return a stack of the first tag member, or {@link ItemStack#EMPTY} if the tag is empty or invalid
+     */
+    private static ItemStack toTagStack(PlushItemEntry entry) {
+        TagKey<Item> tag = TagMembershipCache.parseTag(entry.id);
+        if (tag == null) {
+            return ItemStack.EMPTY;
+        }
+
+        List<Item> members = TagMembershipCache.get(tag).members();
+        if (members.isEmpty()) {
+            return ItemStack.EMPTY;
+        }
+        return new ItemStack(members.get(0), Math.max(1, entry.count));
+    }
+
+    /**
+     * Checks if the given configuration ID is valid.
+     * <p>
+     * Item IDs must refer to a registered item. Tag IDs only need to be well-formed,
+     * since tag contents are not bound yet while datapacks are being loaded.
+     *
+     * @param id the item or tag ID to validate (e.g., "minecraft:diamond" or "#c:ingots/iron")
+     * @return true if the ID is valid, false otherwise
+     */
+    public static boolean isValidEntryId(String id) {
+        if (TagMembershipCache.isTagId(id)) {
+            return TagMembershipCache.parseTag(id) != null;
+        }
+        return isValidItemId(id);
+    }
+
     /**
      * Checks if the given item ID is valid and corresponds to a registered item.
      *
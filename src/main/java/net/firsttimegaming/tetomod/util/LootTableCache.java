@@ -0,0 +1,95 @@
+package net.firsttimegaming.tetomod.util;
+
+import net.firsttimegaming.tetomod.TetoMod;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.ReloadableServerRegistries;
+import net.minecraft.world.level.storage.loot.LootTable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache of loot tables referenced by tier reward pools.
+ * <p>
+ * Each referenced table is resolved once and reused until the server's reloadable
+ * registries are replaced by a {@code /reload}, at which point the whole cache is
+ * dropped and tables are resolved again on next use. Only accessed from the server thread.
+ */
+public final class LootTableCache {
+
+    // ==================== Class Variables ====================
+
+    /** Resolved tables keyed by their configuration ID. */
+    private static final Map<String, LootTable> CACHE = new HashMap<>();
+
+    /** The registry holder the cached tables were resolved from. */
+    private static ReloadableServerRegistries.Holder cachedRegistries;
+
+    // ==================== Constructor ====================
+
+    private LootTableCache() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Checks whether a configuration value is a well-formed loot table ID.
+     *
+     * @param id the loot table ID, may be null
+     * @return true if the ID parses as a resource location
+     */
+    public static boolean isValidId(@Nullable String id) {
+        return id != null && !id.isEmpty() && ResourceLocation.tryParse(id) != null;
+    }
+
+    /**
+     * Gets the loot table for the given ID, resolving it on first use after each reload.
+     *
+     * @param server the server whose loot tables to use
+     * @param id     the loot table ID (e.g. "minecraft:chests/simple_dungeon")
+     * @return the loot table, or null if the ID is invalid or no such table exists
+     */
+    @Nullable
+    public static LootTable get(MinecraftServer server, String id) {
+        ReloadableServerRegistries.Holder registries = server.reloadableRegistries();
+        if (registries != cachedRegistries) {
+            CACHE.clear();
+            cachedRegistries = registries;
+        }
+
+        LootTable table = CACHE.get(id);
+        if (table == null && !CACHE.containsKey(id)) {
+            table = resolve(registries, id);
+            CACHE.put(id, table);
+        }
+        return table;
+    }
+
+    /**
+     * Looks up a loot table in the given registries.
+     *
+     * @param registries the reloadable server registries
+     * @param id         the loot table ID
+     * @return the loot table, or null if it does not exist
+     */
+    @Nullable
+    private static LootTable resolve(ReloadableServerRegistries.Holder registries, String id) {
+        ResourceLocation location = ResourceLocation.tryParse(id);
+        if (location == null) {
+            TetoMod.LOGGER.warn("Invalid loot table ID '{}'", id);
+            return null;
+        }
+
+        LootTable table = registries.getLootTable(ResourceKey.create(Registries.LOOT_TABLE, location));
+        if (table == LootTable.EMPTY) {
+            TetoMod.LOGGER.warn("Loot table '{}' does not exist", id);
+            return null;
+        }
+        return table;
+    }
+}
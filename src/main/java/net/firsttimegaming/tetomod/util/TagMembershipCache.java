@@ -0,0 +1,126 @@
+package net.firsttimegaming.tetomod.util;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of expanded item tag memberships.
+ * <p>
+ * Each tag is expanded once into a bitset over numeric item registry IDs, so checking
+ * whether an item belongs to a tag is a single bit lookup rather than a walk over the
+ * tag's holders. The cache is cleared whenever tags are reloaded.
+ */
+public final class TagMembershipCache {
+
+    // ==================== Class Variables ====================
+
+    /** Prefix marking a configuration ID as an item tag (e.g. "#c:ingots/iron"). */
+    public static final String TAG_PREFIX = "#";
+
+    /** Expanded memberships keyed by tag. */
+    private static final Map<TagKey<Item>, Membership> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The expanded contents of a single tag.
+     *
+     * @param ids     bitset of numeric item registry IDs in the tag
+     * @param members the tag members in tag order, used for display
+     */
+    public record Membership(BitSet ids, List<Item> members) {
+    }
+
+    // ==================== Constructor ====================
+
+    private TagMembershipCache() {
+        // Utility class - prevent instantiation
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Checks whether a configuration ID refers to a tag rather than a single item.
+     *
+     * @param id the configuration ID, may be null
+     * @return true if the ID starts with {@link #TAG_PREFIX}
+     */
+    public static boolean isTagId(@Nullable String id) {
+        return id != null && id.startsWith(TAG_PREFIX);
+    }
+
+    /**
+     * Parses a tag configuration ID such as {@code #c:ingots/iron}.
+     *
+     * @param id the configuration ID
+     * @return the item tag key, or null if the ID is not a valid tag reference
+     */
+    @Nullable
+    public static TagKey<Item> parseTag(@Nullable String id) {
+        if (!isTagId(id)) {
+            return null;
+        }
+
+        ResourceLocation location = ResourceLocation.tryParse(id.substring(TAG_PREFIX.length()));
+        return location == null ? null : TagKey.create(Registries.ITEM, location);
+    }
+
+    /**
+     * Gets the expanded membership of a tag, expanding it on first use.
+     *
+     * @param tag the item tag
+     * @return the tag membership
+     */
+    public static Membership get(TagKey<Item> tag) {
+        return CACHE.computeIfAbsent(tag, TagMembershipCache::expand);
+    }
+
+    /**
+     * Checks whether an item belongs to a tag.
+     *
+     * @param tag  the item tag
+     * @param item the item to check
+     * @return true if the item is a member of the tag
+     */
+    public static boolean contains(TagKey<Item> tag, Item item) {
+        return get(tag).ids().get(BuiltInRegistries.ITEM.getId(item));
+    }
+
+    /**
+     * Clears all expanded tags so they are rebuilt from the new tag contents.
+     *
+     * @param event the tag update event
+     */
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        CACHE.clear();
+    }
+
+    /**
+     * Expands a tag into its membership bitset and member list.
+     *
+     * @param tag the item tag
+     * @return the expanded membership
+     */
+    private static Membership expand(TagKey<Item> tag) {
+        BitSet ids = new BitSet();
+        List<Item> members = new ArrayList<>();
+
+        for (Holder<Item> holder : BuiltInRegistries.ITEM.getTagOrEmpty(tag)) {
+            Item item = holder.value();
+            ids.set(BuiltInRegistries.ITEM.getId(item));
+            members.add(item);
+        }
+
+        return new Membership(ids, List.copyOf(members));
+    }
+}
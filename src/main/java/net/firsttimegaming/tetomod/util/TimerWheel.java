@@ -0,0 +1,139 @@
+package net.firsttimegaming.tetomod.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for long delays measured in ticks.
+ * <p>
+ * Timers are hashed by deadline into a ring of buckets, each covering
+ * {@code ticksPerBucket} ticks. Advancing the wheel only visits the bucket whose turn
+ * it is, once every {@code ticksPerBucket} ticks. Timers due in a later revolution stay
+ * in their bucket until then, so scheduling is O(1) and a timer is looked at once per
+ * revolution, no matter how many are pending. Deadlines are rounded up to the bucket
+ * resolution, so timers fire up to {@code ticksPerBucket - 1} ticks late but never early.
+ * <p>
+ * Not thread-safe; schedule and advance from the same thread.
+ *
+ * @param <T> the type of the value carried by each timer
+ */
+public final class TimerWheel<T> {
+
+    // ==================== Class Variables ====================
+
+    /** Number of buckets, a power of two. */
+    private final int bucketCount;
+
+    /** Number of ticks covered by each bucket. */
+    private final int ticksPerBucket;
+
+    /** Pending timers, hashed by rounded deadline. */
+    private final List<List<Timer<T>>> buckets;
+
+    /** Ticks the wheel has advanced. */
+    private long now = 0L;
+
+    /** Number of pending timers. */
+    private int size = 0;
+
+    /**
+     * A pending timer.
+     *
+     * @param deadline the tick at which the timer is due
+     * @param value    the value handed to the expiry callback
+     * @param <T>      the type of the value
+     */
+    private record Timer<T>(long deadline, T value) {
+    }
+
+    // ==================== Constructor ====================
+
+    /**
+     * Constructs a new, empty TimerWheel.
+     *
+     * @param bucketCount    the number of buckets, a power of two
+     * @param ticksPerBucket the number of ticks covered by each bucket
+     * @throws IllegalArgumentException if the bucket count is not a positive power of two
+     *                                  or the resolution is not positive
+     */
+    public TimerWheel(int bucketCount, int ticksPerBucket) {
+        if (bucketCount <= 0 || Integer.bitCount(bucketCount) != 1) {
+            throw new IllegalArgumentException("Bucket count must be a power of two: " + bucketCount);
+        }
+        if (ticksPerBucket <= 0) {
+            throw new IllegalArgumentException("Ticks per bucket must be positive: " + ticksPerBucket);
+        }
+
+        this.bucketCount = bucketCount;
+        this.ticksPerBucket = ticksPerBucket;
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the number of pending timers.
+     *
+     * @return the pending timer count
+     */
+    public int size() {
+        return size;
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Schedules a timer.
+     *
+     * @param delayTicks the delay in ticks; values below 1 fire on the next bucket turn
+     * @param value      the value handed to the expiry callback
+     */
+    public void schedule(long delayTicks, T value) {
+        long deadline = now + Math.max(1L, delayTicks);
+        long turn = (deadline + ticksPerBucket - 1) / ticksPerBucket;
+        buckets.get((int) turn & (bucketCount - 1)).add(new Timer<>(deadline, value));
+        size++;
+    }
+
+    /**
+     * Advances the wheel by one tick, handing the value of every timer that came due
+     * to a callback. The callback may schedule new timers.
+     *
+     * @param expired the callback receiving expired values
+     */
+    public void advance(Consumer<T> expired) {
+        now++;
+        if (size == 0 || now % ticksPerBucket != 0) {
+            return;
+        }
+
+        List<Timer<T>> bucket = buckets.get((int) (now / ticksPerBucket) & (bucketCount - 1));
+        // Walk backwards with swap-removal, so timers added by the callback are not visited
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            Timer<T> timer = bucket.get(i);
+            if (timer.deadline() > now) {
+                continue;
+            }
+
+            int last = bucket.size() - 1;
+            bucket.set(i, bucket.get(last));
+            bucket.remove(last);
+            size--;
+            expired.accept(timer.value());
+        }
+    }
+
+    /**
+     * Drops every pending timer.
+     */
+    public void clear() {
+        for (List<Timer<T>> bucket : buckets) {
+            bucket.clear();
+        }
+        size = 0;
+    }
+}
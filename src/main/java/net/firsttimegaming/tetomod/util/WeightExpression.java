@@ -0,0 +1,446 @@
+package net.firsttimegaming.tetomod.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A weight formula compiled from a small expression language.
+ * <p>
+ * Expressions are compiled once, when the configuration is loaded, into a tree of
+ * lambdas over a {@link Context}; rolling a weight is a plain call with no parsing or
+ * interpretation. Subexpressions without variables are folded into constants while
+ * compiling, so an expression such as {@code 2 * 3 + 1} becomes the constant 7 and
+ * can be sampled like an ordinary fixed weight.
+ * <p>
+ * Supported syntax:
+ * <ul>
+ *   <li>Numbers, parentheses, {@code + - * / %}, unary {@code -} and {@code !}</li>
+ *   <li>Comparisons {@code < <= > >= == !=} and logic {@code && ||}, yielding 1 or 0</li>
+ *   <li>The conditional {@code condition ? a : b}</li>
+ *   <li>Functions {@code min(a, b)}, {@code max(a, b)}, {@code clamp(x, lo, hi)},
+ *       {@code floor(x)} and {@code pow(a, b)}</li>
+ *   <li>Variables {@code tier}, {@code completions}, {@code totalCompletions},
+ *       {@code moonPhase}, {@code day} and {@code night}</li>
+ * </ul>
+ * Example: {@code 1 + min(completions, 20) / 4} makes an entry more likely the more
+ * often the tier has been completed.
+ */
+public final class WeightExpression {
+
+    // ==================== Class Variables ====================
+
+    /**
+     * Largest weight an expression yields; larger results, including infinity, are
+     * clamped to it so weight sums stay finite and fit an int.
+     */
+    public static final double MAX_WEIGHT = 1_000_000.0;
+
+    /** The source text, for error messages and debugging. */
+    private final String source;
+
+    /** The compiled expression tree. */
+    private final ToDoubleFunction<Context> function;
+
+    /** Whether the expression folded down to a constant. */
+    private final boolean constant;
+
+    /** The folded value, if {@link #constant}. */
+    private final double constantValue;
+
+    /**
+     * Values an expression can refer to, captured once per roll.
+     *
+     * @param tier             the tier being rolled (0-based)
+     * @param completions      how many times the plush has completed this tier
+     * @param totalCompletions how many trades the plush has completed across all tiers
+     * @param moonPhase        the current moon phase (0 = full moon, 4 = new moon)
+     * @param day              the number of in-game days elapsed
+     * @param night            whether it is currently night
+     */
+    public record Context(int tier, int completions, int totalCompletions, int moonPhase, long day, boolean night) {
+    }
+
+    // ==================== Constructor ====================
+
+    private WeightExpression(String source, Node root) {
+        this.source = source;
+        this.function = root.function;
+        this.constant = root.constant;
+        this.constantValue = root.value;
+    }
+
+    // ==================== Static Methods ====================
+
+    /**
+     * Compiles an expression.
+     *
+     * @param source the expression text
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is malformed, with the offending position,
+     *                                  or is a constant that is not finite (e.g. {@code 1 / 0})
+     */
+    public static WeightExpression compile(String source) {
+        Parser parser = new Parser(source);
+        Node root = parser.parseExpression();
+        parser.expectEnd();
+        if (root.constant && !Double.isFinite(root.value)) {
+            throw new IllegalArgumentException("Expression '" + source + "' evaluates to " + root.value);
+        }
+        return new WeightExpression(source, root);
+    }
+
+    // ==================== Getter Methods ====================
+
+    /**
+     * Gets the source text of the expression.
+     *
+     * @return the source text
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Checks whether the expression folded down to a constant.
+     *
+     * @return true if the expression has no variables
+     */
+    public boolean isConstant() {
+        return constant;
+    }
+
+    /**
+     * Gets the folded value of a constant expression.
+     *
+     * @return the constant value
+     */
+    public double getConstantValue() {
+        return constantValue;
+    }
+
+    // ==================== Custom Methods ====================
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param context the roll context
+     * @return the weight between 0 and {@link #MAX_WEIGHT}; NaN and negative results count
+     *         as 0, infinite results as {@link #MAX_WEIGHT}
+     */
+    public double evaluate(Context context) {
+        double value = function.applyAsDouble(context);
+        if (!Double.isFinite(value)) {
+            return value > 0.0 ? MAX_WEIGHT : 0.0;
+        }
+        return Math.max(0.0, Math.min(value, MAX_WEIGHT));
+    }
+
+    /**
+     * A compiled subexpression, remembering whether it folded to a constant.
+     */
+    private static final class Node {
+
+        /** The compiled function. */
+        final ToDoubleFunction<Context> function;
+
+        /** Whether the node is a constant. */
+        final boolean constant;
+
+        /** The constant value, if {@link #constant}. */
+        final double value;
+
+        private Node(ToDoubleFunction<Context> function, boolean constant, double value) {
+            this.function = function;
+            this.constant = constant;
+            this.value = value;
+        }
+
+        static Node constant(double value) {
+            return new Node(context -> value, true, value);
+        }
+
+        static Node variable(ToDoubleFunction<Context> function) {
+            return new Node(function, false, 0.0);
+        }
+
+        static Node unary(DoubleUnaryOperator op, Node a) {
+            if (a.constant) {
+                return constant(op.applyAsDouble(a.value));
+            }
+            ToDoubleFunction<Context> fa = a.function;
+            return variable(context -> op.applyAsDouble(fa.applyAsDouble(context)));
+        }
+
+        static Node binary(DoubleBinaryOperator op, Node a, Node b) {
+            if (a.constant && b.constant) {
+                return constant(op.applyAsDouble(a.value, b.value));
+            }
+            ToDoubleFunction<Context> fa = a.function;
+            ToDoubleFunction<Context> fb = b.function;
+            return variable(context -> op.applyAsDouble(fa.applyAsDouble(context), fb.applyAsDouble(context)));
+        }
+
+        static Node and(Node a, Node b) {
+            if (a.constant) {
+                return a.value != 0.0 ? truth(b) : constant(0.0);
+            }
+            ToDoubleFunction<Context> fa = a.function;
+            ToDoubleFunction<Context> fb = b.function;
+            return variable(context ->
+                    fa.applyAsDouble(context) != 0.0 && fb.applyAsDouble(context) != 0.0 ? 1.0 : 0.0);
+        }
+
+        static Node or(Node a, Node b) {
+            if (a.constant) {
+                return a.value != 0.0 ? constant(1.0) : truth(b);
+            }
+            ToDoubleFunction<Context> fa = a.function;
+            ToDoubleFunction<Context> fb = b.function;
+            return variable(context ->
+                    fa.applyAsDouble(context) != 0.0 || fb.applyAsDouble(context) != 0.0 ? 1.0 : 0.0);
+        }
+
+        static Node conditional(Node condition, Node a, Node b) {
+            if (condition.constant) {
+                return condition.value != 0.0 ? a : b;
+            }
+            ToDoubleFunction<Context> fc = condition.function;
+            ToDoubleFunction<Context> fa = a.function;
+            ToDoubleFunction<Context> fb = b.function;
+            return variable(context ->
+                    fc.applyAsDouble(context) != 0.0 ? fa.applyAsDouble(context) : fb.applyAsDouble(context));
+        }
+
+        private static Node truth(Node a) {
+            return unary(x -> x != 0.0 ? 1.0 : 0.0, a);
+        }
+    }
+
+    /**
+     * Recursive-descent parser producing compiled nodes directly.
+     */
+    private static final class Parser {
+
+        /** The expression text. */
+        private final String source;
+
+        /** The current position in {@link #source}. */
+        private int pos = 0;
+
+        Parser(String source) {
+            this.source = source == null ? "" : source;
+        }
+
+        Node parseExpression() {
+            Node condition = parseOr();
+            if (accept("?")) {
+                Node a = parseExpression();
+                expect(":");
+                Node b = parseExpression();
+                return Node.conditional(condition, a, b);
+            }
+            return condition;
+        }
+
+        private Node parseOr() {
+            Node node = parseAnd();
+            while (accept("||")) {
+                node = Node.or(node, parseAnd());
+            }
+            return node;
+        }
+
+        private Node parseAnd() {
+            Node node = parseComparison();
+            while (accept("&&")) {
+                node = Node.and(node, parseComparison());
+            }
+            return node;
+        }
+
+        private Node parseComparison() {
+            Node node = parseAdditive();
+            if (accept("<=")) {
+                return Node.binary((a, b) -> a <= b ? 1.0 : 0.0, node, parseAdditive());
+            } else if (accept(">=")) {
+                return Node.binary((a, b) -> a >= b ? 1.0 : 0.0, node, parseAdditive());
+            } else if (accept("==")) {
+                return Node.binary((a, b) -> a == b ? 1.0 : 0.0, node, parseAdditive());
+            } else if (accept("!=")) {
+                return Node.binary((a, b) -> a != b ? 1.0 : 0.0, node, parseAdditive());
+            } else if (accept("<")) {
+                return Node.binary((a, b) -> a < b ? 1.0 : 0.0, node, parseAdditive());
+            } else if (accept(">")) {
+                return Node.binary((a, b) -> a > b ? 1.0 : 0.0, node, parseAdditive());
+            }
+            return node;
+        }
+
+        private Node parseAdditive() {
+            Node node = parseMultiplicative();
+            while (true) {
+                if (accept("+")) {
+                    node = Node.binary(Double::sum, node, parseMultiplicative());
+                } else if (accept("-")) {
+                    node = Node.binary((a, b) -> a - b, node, parseMultiplicative());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseMultiplicative() {
+            Node node = parseUnary();
+            while (true) {
+                if (accept("*")) {
+                    node = Node.binary((a, b) -> a * b, node, parseUnary());
+                } else if (accept("/")) {
+                    node = Node.binary((a, b) -> a / b, node, parseUnary());
+                } else if (accept("%")) {
+                    node = Node.binary((a, b) -> a % b, node, parseUnary());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            if (accept("-")) {
+                return Node.unary(a -> -a, parseUnary());
+            }
+            if (peek() == '!' && !lookingAt("!=")) {
+                pos++;
+                return Node.unary(a -> a == 0.0 ? 1.0 : 0.0, parseUnary());
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            skipWhitespace();
+            if (accept("(")) {
+                Node node = parseExpression();
+                expect(")");
+                return node;
+            }
+
+            char c = peek();
+            if (Character.isDigit(c) || c == '.') {
+                return parseNumber();
+            }
+            if (Character.isLetter(c)) {
+                String name = parseIdentifier();
+                if (accept("(")) {
+                    return parseFunction(name);
+                }
+                return parseVariable(name);
+            }
+            throw error(c == 0 ? "Unexpected end of expression" : "Unexpected '" + c + "'");
+        }
+
+        private Node parseNumber() {
+            int start = pos;
+            while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+                pos++;
+            }
+            try {
+                return Node.constant(Double.parseDouble(source.substring(start, pos)));
+            } catch (NumberFormatException e) {
+                pos = start;
+                throw error("Malformed number");
+            }
+        }
+
+        private String parseIdentifier() {
+            int start = pos;
+            while (pos < source.length() && Character.isLetterOrDigit(source.charAt(pos))) {
+                pos++;
+            }
+            return source.substring(start, pos);
+        }
+
+        private Node parseVariable(String name) {
+            return switch (name) {
+                case "tier" -> Node.variable(Context::tier);
+                case "completions" -> Node.variable(Context::completions);
+                case "totalCompletions" -> Node.variable(Context::totalCompletions);
+                case "moonPhase" -> Node.variable(Context::moonPhase);
+                case "day" -> Node.variable(Context::day);
+                case "night" -> Node.variable(context -> context.night() ? 1.0 : 0.0);
+                default -> throw error("Unknown variable '" + name + "'");
+            };
+        }
+
+        private Node parseFunction(String name) {
+            List<Node> args = new ArrayList<>();
+            if (!accept(")")) {
+                do {
+                    args.add(parseExpression());
+                } while (accept(","));
+                expect(")");
+            }
+
+            return switch (name.toLowerCase(Locale.ROOT)) {
+                case "min" -> Node.binary(Math::min, arg(args, 0, 2, name), arg(args, 1, 2, name));
+                case "max" -> Node.binary(Math::max, arg(args, 0, 2, name), arg(args, 1, 2, name));
+                case "pow" -> Node.binary(Math::pow, arg(args, 0, 2, name), arg(args, 1, 2, name));
+                case "floor" -> Node.unary(Math::floor, arg(args, 0, 1, name));
+                case "clamp" -> Node.binary(Math::min,
+                        Node.binary(Math::max, arg(args, 0, 3, name), arg(args, 1, 3, name)),
+                        arg(args, 2, 3, name));
+                default -> throw error("Unknown function '" + name + "'");
+            };
+        }
+
+        private Node arg(List<Node> args, int index, int expected, String name) {
+            if (args.size() != expected) {
+                throw error(name + " expects " + expected + " argument(s) but got " + args.size());
+            }
+            return args.get(index);
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (pos < source.length()) {
+                throw error("Unexpected '" + source.charAt(pos) + "'");
+            }
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw error("Expected '" + token + "'");
+            }
+        }
+
+        private boolean accept(String token) {
+            skipWhitespace();
+            if (lookingAt(token)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean lookingAt(String token) {
+            return source.startsWith(token, pos);
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return pos < source.length() ? source.charAt(pos) : 0;
+        }
+
+        private void skipWhitespace() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + (pos + 1) + " in '" + source + "'");
+        }
+    }
+}
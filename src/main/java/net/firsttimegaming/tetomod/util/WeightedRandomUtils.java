@@ -58,6 +58,96 @@ public final class WeightedRandomUtils {
         return null;
     }
 
+    /**
+     * Selects a random {@link PlushItemEntry} from a list whose weights may be expressions.
+     * <p>
+     * Lists with only fixed weights are sampled by {@link #pickWeighted(List, RandomSource)};
+     * otherwise every compiled weight expression is evaluated once against the context.
+     *
+     * @param list      the list of entries to select from, may be null or empty
+     * @param random    the random source to use for selection
+     * @param context   the values weight expressions are evaluated with
+     * @param minWeight the lowest weight any entry gets, e.g. 1 so every entry stays possible
+     * @return a randomly selected entry, or null if the list is empty or all weights are non-positive
+     */
+    @Nullable
+    public static PlushItemEntry pickWeighted(List<PlushItemEntry> list, RandomSource random,
+                                              WeightExpression.Context context, int minWeight) {
+        if (list == null || list.isEmpty()) {
+            return null;
+        }
+        if (minWeight <= 0 && !hasDynamicWeights(list)) {
+            return pickWeighted(list, random);
+        }
+
+        double[] weights = new double[list.size()];
+        double totalWeight = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            PlushItemEntry entry = list.get(i);
+            if (entry == null) {
+                continue;
+            }
+            double weight = entry.compiledWeight != null ? entry.compiledWeight.evaluate(context) : entry.weight;
+            weights[i] = Math.max(minWeight, weight);
+            totalWeight += weights[i];
+        }
+
+        if (totalWeight <= 0.0) {
+            return null;
+        }
+
+        double roll = random.nextDouble() * totalWeight;
+        double accumulator = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] <= 0.0) {
+                continue;
+            }
+
+            accumulator += weights[i];
+            if (roll < accumulator) {
+                return list.get(i);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks whether any entry in the list has a weight expression.
+     *
+     * @param list the list of entries to check
+     * @return true if at least one entry has a compiled weight expression
+     */
+    public static boolean hasDynamicWeights(List<PlushItemEntry> list) {
+        for (PlushItemEntry entry : list) {
+            if (entry != null && entry.compiledWeight != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles an entry's weight expression, folding constant expressions into its fixed weight.
+     *
+     * @param entry the entry to compile
+     * @throws IllegalArgumentException if the expression is malformed or a non-finite constant
+     */
+    public static void compileWeight(PlushItemEntry entry) {
+        entry.compiledWeight = null;
+        if (entry.weightExpression == null) {
+            return;
+        }
+
+        WeightExpression expression = WeightExpression.compile(entry.weightExpression);
+        if (expression.isConstant()) {
+            entry.weight = (int) Math.round(Math.max(0.0,
+                    Math.min(expression.getConstantValue(), WeightExpression.MAX_WEIGHT)));
+        } else {
+            entry.compiledWeight = expression;
+        }
+    }
+
     /**
      * Calculates the total weight of all entries in the list.
      * Entries with null values or weight <= 0 are excluded.
@@ -79,6 +169,43 @@ public final class WeightedRandomUtils {
         return totalWeight;
     }
 
+    /**
+     * Calculates the chance of an entry being selected by
+     * {@link #pickWeighted(List, RandomSource, WeightExpression.Context, int)} without a
+     * minimum weight, evaluating weight expressions against the context.
+     *
+     * @param list    the list the entry is selected from, may be null or empty
+     * @param entry   the entry
+     * @param context the values weight expressions are evaluated with
+     * @return the chance between 0 and 1, or 0 if all weights are non-positive
+     */
+    public static double calculateChance(List<PlushItemEntry> list, PlushItemEntry entry,
+                                         WeightExpression.Context context) {
+        if (list == null || list.isEmpty()) {
+            return 0.0;
+        }
+
+        double totalWeight = 0.0;
+        for (PlushItemEntry candidate : list) {
+            if (candidate != null) {
+                totalWeight += evaluateWeight(candidate, context);
+            }
+        }
+        return totalWeight > 0.0 ? evaluateWeight(entry, context) / totalWeight : 0.0;
+    }
+
+    /**
+     * Gets the weight of an entry, evaluating its weight expression if it has one.
+     *
+     * @param entry   the entry
+     * @param context the values weight expressions are evaluated with
+     * @return the weight, at least 0
+     */
+    private static double evaluateWeight(PlushItemEntry entry, WeightExpression.Context context) {
+        double weight = entry.compiledWeight != null ? entry.compiledWeight.evaluate(context) : entry.weight;
+        return Math.max(0.0, weight);
+    }
+
     /**
      * Creates a copy of the given {@link PlushItemEntry}.
      *
@@ -90,6 +217,10 @@ public final class WeightedRandomUtils {
         if (entry == null) {
             return null;
         }
-        return new PlushItemEntry(entry.id, entry.count, entry.weight);
+        PlushItemEntry copy = new PlushItemEntry(entry.id, entry.count, entry.weight, entry.components);
+        copy.weightExpression = entry.weightExpression;
+        copy.compiledWeight = entry.compiledWeight;
+        copy.prototype = entry.prototype;
+        return copy;
     }
 }